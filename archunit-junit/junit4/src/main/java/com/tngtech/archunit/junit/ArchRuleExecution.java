@@ -56,4 +56,9 @@ class ArchRuleExecution extends ArchTestExecution {
     String getName() {
         return ruleField.getName();
     }
+
+    @Override
+    String getFullName() {
+        return ruleField.getDeclaringClass().getName() + "." + ruleField.getName();
+    }
 }
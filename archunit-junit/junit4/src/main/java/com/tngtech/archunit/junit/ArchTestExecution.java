@@ -45,6 +45,11 @@ abstract class ArchTestExecution {
 
     abstract String getName();
 
+    /**
+     * @return the fully qualified name of the class declaring the rule or method together with {@link #getName()}
+     */
+    abstract String getFullName();
+
     boolean ignore() {
         return ignore;
     }
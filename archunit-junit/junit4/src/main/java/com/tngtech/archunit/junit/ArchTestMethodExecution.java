@@ -61,4 +61,9 @@ class ArchTestMethodExecution extends ArchTestExecution {
         return testMethod.getName();
     }
 
+    @Override
+    String getFullName() {
+        return testMethod.getDeclaringClass().getName() + "." + testMethod.getName();
+    }
+
 }
@@ -28,6 +28,7 @@ import com.tngtech.archunit.Internal;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.lang.ArchRule;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
@@ -63,6 +64,7 @@ import static com.tngtech.archunit.junit.ArchTestExecution.getValue;
 @PublicAPI(usage = ACCESS)
 public class ArchUnitRunner extends ParentRunner<ArchTestExecution> {
     private SharedCache cache = new SharedCache(); // NOTE: We want to change this in tests -> no static/final reference
+    private final ExecutionDurations durations = new ExecutionDurations();
 
     @Internal
     public ArchUnitRunner(Class<?> testClass) throws InitializationError {
@@ -88,6 +90,8 @@ public class ArchUnitRunner extends ParentRunner<ArchTestExecution> {
                     statement.evaluate();
                 } finally {
                     cache.clear(getTestClass().getJavaClass());
+                    durations.logSlowestTests();
+                    ArchRule.Assertions.flushExtensions();
                 }
             }
         };
@@ -149,9 +153,16 @@ public class ArchUnitRunner extends ParentRunner<ArchTestExecution> {
             notifier.fireTestIgnored(describeChild(child));
         } else {
             notifier.fireTestStarted(describeChild(child));
-            Class<?> testClass = getTestClass().getJavaClass();
-            JavaClasses classes = cache.get().getClassesToAnalyzeFor(testClass, new JUnit4ClassAnalysisRequest(testClass));
+            final Class<?> testClass = getTestClass().getJavaClass();
+            JavaClasses classes = cache.get().getClassesToAnalyzeFor(testClass, new JUnit4ClassAnalysisRequest(testClass), new ImportListener() {
+                @Override
+                public void onClassesRequested(long durationNanos, boolean fromCache) {
+                    durations.logImport(testClass, durationNanos, fromCache);
+                }
+            });
+            long start = System.nanoTime();
             child.evaluateOn(classes).notify(notifier);
+            durations.logEvaluation(child.getFullName(), System.nanoTime() - start);
             notifier.fireTestFinished(describeChild(child));
         }
     }
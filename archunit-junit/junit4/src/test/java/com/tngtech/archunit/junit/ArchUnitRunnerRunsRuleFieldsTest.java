@@ -5,6 +5,7 @@ import java.lang.annotation.Retention;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.junit.ArchUnitRunner.SharedCache;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import org.junit.Before;
@@ -71,7 +72,7 @@ public class ArchUnitRunnerRunsRuleFieldsTest {
     @Before
     public void setUp() {
         when(cache.get()).thenReturn(classCache);
-        when(classCache.getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class))).thenReturn(cachedClasses);
+        when(classCache.getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class), any(ImportListener.class))).thenReturn(cachedClasses);
     }
 
     @Test
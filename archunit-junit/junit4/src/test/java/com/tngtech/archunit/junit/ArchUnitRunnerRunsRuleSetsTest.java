@@ -6,6 +6,7 @@ import java.util.Collection;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.junit.ArchUnitRunner.SharedCache;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
@@ -74,7 +75,7 @@ public class ArchUnitRunnerRunsRuleSetsTest {
     @Before
     public void setUp() {
         when(cache.get()).thenReturn(classCache);
-        when(classCache.getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class))).thenReturn(cachedClasses);
+        when(classCache.getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class), any(ImportListener.class))).thenReturn(cachedClasses);
     }
 
     @Test
@@ -2,15 +2,20 @@ package com.tngtech.archunit.junit;
 
 import java.util.Set;
 
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.importer.ImportOption;
 import com.tngtech.archunit.core.importer.Location;
 import com.tngtech.archunit.core.importer.Locations;
 import com.tngtech.archunit.junit.ArchUnitRunner.SharedCache;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import com.tngtech.archunit.testutil.LogTestRule;
+import org.apache.logging.log4j.Level;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,10 +27,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 
 import static com.tngtech.archunit.core.domain.TestUtils.importClasses;
+import static com.tngtech.archunit.junit.ArchUnitRunnerTestUtils.BE_SATISFIED;
+import static com.tngtech.archunit.junit.ArchUnitRunnerTestUtils.newRunnerFor;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +47,10 @@ public class ArchUnitRunnerTest {
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
     @Rule
     public final ExpectedException thrown = ExpectedException.none();
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
+    @Rule
+    public final LogTestRule logTest = new LogTestRule();
 
     @Mock
     private ClassCache cache;
@@ -59,7 +73,7 @@ public class ArchUnitRunnerTest {
     public void runner_creates_correct_analysis_request() {
         runnerOfMaxTest.run(new RunNotifier());
 
-        verify(cache).getClassesToAnalyzeFor(eq(MaxAnnotatedTest.class), analysisRequestCaptor.capture());
+        verify(cache).getClassesToAnalyzeFor(eq(MaxAnnotatedTest.class), analysisRequestCaptor.capture(), any(ImportListener.class));
 
         AnalyzeClasses analyzeClasses = MaxAnnotatedTest.class.getAnnotation(AnalyzeClasses.class);
         ClassAnalysisRequest analysisRequest = analysisRequestCaptor.getValue();
@@ -71,18 +85,41 @@ public class ArchUnitRunnerTest {
 
     @Test
     public void runner_clears_cache_after_test_run() {
-        when(cache.getClassesToAnalyzeFor(eq(SomeArchTest.class), any(ClassAnalysisRequest.class))).thenReturn(importClasses());
+        when(cache.getClassesToAnalyzeFor(eq(SomeArchTest.class), any(ClassAnalysisRequest.class), any(ImportListener.class))).thenReturn(importClasses());
         runner.run(new RunNotifier());
         verify(sharedCache).clear(SomeArchTest.class);
     }
 
     @Test
     public void runner_clears_cache_after_exception_during_test_run() {
-        when(cache.getClassesToAnalyzeFor(eq(SomeArchTest.class), any(ClassAnalysisRequest.class))).thenThrow(new RuntimeException("Bummer"));
+        when(cache.getClassesToAnalyzeFor(eq(SomeArchTest.class), any(ClassAnalysisRequest.class), any(ImportListener.class))).thenThrow(new RuntimeException("Bummer"));
         runner.run(new RunNotifier());
         verify(sharedCache).clear(SomeArchTest.class);
     }
 
+    @Test
+    public void runner_reports_import_and_evaluation_durations_separately() {
+        ArchConfiguration.get().setProperty("junit.reportDurations", "true");
+        ArchConfiguration.get().setProperty("junit.reportSlowestTests", "10");
+        logTest.watch(ExecutionDurations.class, Level.INFO);
+        when(cache.getClassesToAnalyzeFor(eq(ArchTestWithRulesOfSameName.class), any(ClassAnalysisRequest.class), any(ImportListener.class)))
+                .thenAnswer(new Answer<JavaClasses>() {
+                    @Override
+                    public JavaClasses answer(InvocationOnMock invocation) {
+                        ImportListener importListener = invocation.getArgument(2);
+                        importListener.onClassesRequested(MILLISECONDS.toNanos(42), false);
+                        return importClasses();
+                    }
+                });
+
+        newRunnerFor(ArchTestWithRulesOfSameName.class, sharedCache).run(new RunNotifier());
+
+        logTest.assertLogMessage(Level.INFO, "Obtained classes to analyze for " + ArchTestWithRulesOfSameName.class.getName() + " in 42 ms (import)");
+        logTest.assertLogMessage(Level.INFO, "Evaluated " + ArchTestWithRulesOfSameName.class.getName() + ".rule in ");
+        logTest.assertLogMessage(Level.INFO, "Evaluated " + RulesOfSameName.class.getName() + ".rule in ");
+        logTest.assertLogMessage(Level.INFO, "Slowest 2 of 2 ArchUnit tests:");
+    }
+
     @Test
     public void rejects_missing_analyze_annotation() throws InitializationError {
         thrown.expect(ArchTestInitializationException.class);
@@ -117,6 +154,19 @@ public class ArchUnitRunnerTest {
         }
     }
 
+    @AnalyzeClasses(locations = DummyLocation.class)
+    public static class ArchTestWithRulesOfSameName {
+        @ArchTest
+        public static ArchRule rule = classes().should(BE_SATISFIED);
+        @ArchTest
+        public static ArchTests rules = ArchTests.in(RulesOfSameName.class);
+    }
+
+    public static class RulesOfSameName {
+        @ArchTest
+        public static ArchRule rule = classes().should(BE_SATISFIED);
+    }
+
     static class DummyLocation implements LocationProvider {
         @Override
         public Set<Location> get(Class<?> testClass) {
@@ -15,6 +15,7 @@
  */
 package com.tngtech.archunit.junit;
 
+import com.tngtech.archunit.lang.ArchRule;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
 import org.junit.platform.engine.support.hierarchical.Node;
@@ -23,4 +24,10 @@ class ArchUnitEngineDescriptor extends EngineDescriptor implements Node<ArchUnit
     ArchUnitEngineDescriptor(UniqueId uniqueId) {
         super(uniqueId, "ArchUnit JUnit 5");
     }
+
+    @Override
+    public void after(ArchUnitEngineExecutionContext context) {
+        context.logSlowestTests();
+        ArchRule.Assertions.flushExtensions();
+    }
 }
@@ -15,7 +15,45 @@
  */
 package com.tngtech.archunit.junit;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.engine.support.hierarchical.EngineExecutionContext;
 
+import static com.tngtech.archunit.junit.ExecutionDurations.EVALUATION_DURATION_KEY;
+import static com.tngtech.archunit.junit.ExecutionDurations.IMPORT_DURATION_KEY;
+import static com.tngtech.archunit.junit.ExecutionDurations.IMPORT_SOURCE_KEY;
+import static com.tngtech.archunit.junit.ExecutionDurations.formatDuration;
+import static com.tngtech.archunit.junit.ExecutionDurations.formatImportSource;
+
 class ArchUnitEngineExecutionContext implements EngineExecutionContext {
+    private final EngineExecutionListener executionListener;
+    private final ExecutionDurations durations = new ExecutionDurations();
+
+    ArchUnitEngineExecutionContext(EngineExecutionListener executionListener) {
+        this.executionListener = executionListener;
+    }
+
+    void reportImport(TestDescriptor testClassDescriptor, long durationNanos, boolean fromCache) {
+        if (durations.isReportingEnabled()) {
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put(IMPORT_DURATION_KEY, formatDuration(durationNanos));
+            entry.put(IMPORT_SOURCE_KEY, formatImportSource(fromCache));
+            executionListener.reportingEntryPublished(testClassDescriptor, ReportEntry.from(entry));
+        }
+    }
+
+    void reportEvaluation(TestDescriptor testDescriptor, String testName, long durationNanos) {
+        durations.recordTest(testName, durationNanos);
+        if (durations.isReportingEnabled()) {
+            executionListener.reportingEntryPublished(testDescriptor, ReportEntry.from(EVALUATION_DURATION_KEY, formatDuration(durationNanos)));
+        }
+    }
+
+    void logSlowestTests() {
+        durations.logSlowestTests();
+    }
 }
@@ -49,6 +49,7 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
     private final Class<?> testClass;
     @SuppressWarnings("FieldMayBeFinal") // We want to change this in tests
     private ClassCache classCache;
+    private volatile ArchUnitEngineExecutionContext executionContext;
 
     private ArchUnitTestDescriptor(ElementResolver resolver, Class<?> testClass, ClassCache classCache) {
         super(resolver.getUniqueId(), testClass.getSimpleName(), ClassSource.from(testClass), testClass);
@@ -79,7 +80,7 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
 
     @Override
     public void createChildren(ElementResolver resolver) {
-        Supplier<JavaClasses> classes = () -> classCache.getClassesToAnalyzeFor(testClass, new JUnit5ClassAnalysisRequest(testClass));
+        Supplier<JavaClasses> classes = () -> classCache.getClassesToAnalyzeFor(testClass, new JUnit5ClassAnalysisRequest(testClass), this::reportImport);
 
         getAllFields(testClass, withAnnotation(ArchTest.class))
                 .forEach(field -> resolveField(resolver, classes, field));
@@ -134,6 +135,18 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
         return Type.CONTAINER;
     }
 
+    @Override
+    public ArchUnitEngineExecutionContext before(ArchUnitEngineExecutionContext context) {
+        executionContext = context;
+        return context;
+    }
+
+    private void reportImport(long durationNanos, boolean fromCache) {
+        if (executionContext != null) {
+            executionContext.reportImport(this, durationNanos, fromCache);
+        }
+    }
+
     @Override
     public void after(ArchUnitEngineExecutionContext context) {
         classCache.clear(testClass);
@@ -142,11 +155,13 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
     private static class ArchUnitRuleDescriptor extends AbstractArchUnitTestDescriptor {
         private final ArchRule rule;
         private final Supplier<JavaClasses> classes;
+        private final String testName;
 
         ArchUnitRuleDescriptor(UniqueId uniqueId, ArchRule rule, Supplier<JavaClasses> classes, Field field) {
             super(uniqueId, determineDisplayName(field.getName()), FieldSource.from(field), field);
             this.rule = rule;
             this.classes = classes;
+            this.testName = field.getDeclaringClass().getName() + "." + field.getName();
         }
 
         @Override
@@ -156,7 +171,13 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
 
         @Override
         public ArchUnitEngineExecutionContext execute(ArchUnitEngineExecutionContext context, DynamicTestExecutor dynamicTestExecutor) {
-            rule.check(classes.get());
+            JavaClasses classesToCheck = classes.get();
+            long start = System.nanoTime();
+            try {
+                rule.check(classesToCheck);
+            } finally {
+                context.reportEvaluation(this, testName, System.nanoTime() - start);
+            }
             return context;
         }
     }
@@ -189,7 +210,13 @@ class ArchUnitTestDescriptor extends AbstractArchUnitTestDescriptor implements C
 
         @Override
         public ArchUnitEngineExecutionContext execute(ArchUnitEngineExecutionContext context, DynamicTestExecutor dynamicTestExecutor) {
-            invokeMethod(method, method.getDeclaringClass(), classes.get());
+            JavaClasses classesToCheck = classes.get();
+            long start = System.nanoTime();
+            try {
+                invokeMethod(method, method.getDeclaringClass(), classesToCheck);
+            } finally {
+                context.reportEvaluation(this, method.getDeclaringClass().getName() + "." + method.getName(), System.nanoTime() - start);
+            }
             return context;
         }
     }
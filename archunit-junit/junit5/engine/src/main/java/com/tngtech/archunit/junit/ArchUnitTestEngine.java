@@ -190,7 +190,7 @@ public final class ArchUnitTestEngine extends HierarchicalTestEngine<ArchUnitEng
 
     @Override
     protected ArchUnitEngineExecutionContext createExecutionContext(ExecutionRequest request) {
-        return new ArchUnitEngineExecutionContext();
+        return new ArchUnitEngineExecutionContext(request.getEngineExecutionListener());
     }
 
     static class SharedCache {
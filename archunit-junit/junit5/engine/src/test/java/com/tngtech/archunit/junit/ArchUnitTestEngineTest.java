@@ -14,6 +14,7 @@ import java.util.stream.Stream;
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.junit.ArchUnitTestEngine.SharedCache;
 import com.tngtech.archunit.junit.testexamples.ClassWithPrivateTests;
 import com.tngtech.archunit.junit.testexamples.ComplexMetaTags;
@@ -873,7 +874,7 @@ class ArchUnitTestEngineTest {
         void passes_AnalyzeClasses_to_cache() {
             execute(createEngineId(), FullAnalyzeClassesSpec.class);
 
-            verify(classCache).getClassesToAnalyzeFor(eq(FullAnalyzeClassesSpec.class), classAnalysisRequestCaptor.capture());
+            verify(classCache).getClassesToAnalyzeFor(eq(FullAnalyzeClassesSpec.class), classAnalysisRequestCaptor.capture(), any(ImportListener.class));
             ClassAnalysisRequest request = classAnalysisRequestCaptor.getValue();
             AnalyzeClasses expected = FullAnalyzeClassesSpec.class.getAnnotation(AnalyzeClasses.class);
             assertThat(request.getPackageNames()).isEqualTo(expected.packages());
@@ -887,9 +888,40 @@ class ArchUnitTestEngineTest {
             execute(createEngineId(), SimpleRuleLibrary.class);
 
             verify(classCache, times(1)).clear(SimpleRuleLibrary.class);
-            verify(classCache, atLeastOnce()).getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class));
+            verify(classCache, atLeastOnce()).getClassesToAnalyzeFor(any(Class.class), any(ClassAnalysisRequest.class), any(ImportListener.class));
             verifyNoMoreInteractions(classCache);
         }
+
+        @Test
+        void reports_import_and_evaluation_durations_if_enabled() {
+            ArchConfiguration.get().setProperty(ExecutionDurations.JUNIT_REPORT_DURATIONS_PROPERTY_NAME, "true");
+            when(classCache.getClassesToAnalyzeFor(eq(SimpleRuleField.class), classAnalysisRequestOf(SimpleRuleField.class), any(ImportListener.class)))
+                    .thenAnswer(invocation -> {
+                        invocation.<ImportListener>getArgument(2).onClassesRequested(0, true);
+                        return importClasses(UnwantedClass.CLASS_SATISFYING_RULES);
+                    });
+
+            EngineExecutionTestListener testListener = execute(engineId, SimpleRuleField.class);
+
+            UniqueId testClassId = engineId.append(CLASS_SEGMENT_TYPE, SimpleRuleField.class.getName());
+            assertThat(testListener.getReportEntries(testClassId)).containsEntry("archunit.import.duration", "0 ms")
+                    .containsEntry("archunit.import.source", "cache");
+            assertThat(testListener.getReportEntries(simpleRuleFieldTestId(engineId))).containsKey("archunit.evaluation.duration");
+        }
+
+        @Test
+        void does_not_report_durations_by_default() {
+            simulateCachedClassesForTest(SimpleRuleField.class, UnwantedClass.CLASS_SATISFYING_RULES);
+
+            EngineExecutionTestListener testListener = execute(engineId, SimpleRuleField.class);
+
+            assertThat(testListener.getReportEntries(simpleRuleFieldTestId(engineId))).isEmpty();
+        }
+
+        @AfterEach
+        void tearDown() {
+            ArchConfiguration.get().reset();
+        }
     }
 
     @Nested
@@ -1255,7 +1287,7 @@ class ArchUnitTestEngineTest {
     }
 
     private void simulateCachedClassesForTest(Class<?> testClass, Class<?> classToReturn) {
-        when(classCache.getClassesToAnalyzeFor(eq(testClass), classAnalysisRequestOf(testClass)))
+        when(classCache.getClassesToAnalyzeFor(eq(testClass), classAnalysisRequestOf(testClass), any(ImportListener.class)))
                 .thenReturn(importClasses(classToReturn));
     }
 
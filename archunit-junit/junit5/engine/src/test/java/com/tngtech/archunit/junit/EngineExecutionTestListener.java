@@ -2,7 +2,9 @@ package com.tngtech.archunit.junit;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -24,6 +26,7 @@ class EngineExecutionTestListener implements EngineExecutionListener {
     private final List<TestDescriptor> startedTests = new ArrayList<>();
     private final List<FinishedTest> finishedTests = new ArrayList<>();
     private final List<SkippedTest> skippedTests = new ArrayList<>();
+    private final List<PublishedReportEntry> reportEntries = new ArrayList<>();
 
     @Override
     public void dynamicTestRegistered(TestDescriptor testDescriptor) {
@@ -46,6 +49,13 @@ class EngineExecutionTestListener implements EngineExecutionListener {
 
     @Override
     public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+        reportEntries.add(new PublishedReportEntry(testDescriptor, entry));
+    }
+
+    Map<String, String> getReportEntries(UniqueId testId) {
+        Map<String, String> result = new HashMap<>();
+        reportEntries.stream().filter(entry -> entry.hasId(testId)).forEach(entry -> result.putAll(entry.entry.getKeyValuePairs()));
+        return result;
     }
 
     void verifySuccessful(UniqueId testId) {
@@ -142,6 +152,20 @@ class EngineExecutionTestListener implements EngineExecutionListener {
         }
     }
 
+    private static class PublishedReportEntry {
+        final TestDescriptor testDescriptor;
+        final ReportEntry entry;
+
+        PublishedReportEntry(TestDescriptor testDescriptor, ReportEntry entry) {
+            this.testDescriptor = testDescriptor;
+            this.entry = entry;
+        }
+
+        boolean hasId(UniqueId testId) {
+            return testDescriptor.getUniqueId().equals(testId);
+        }
+    }
+
     static <T> Collector<T, Collection<T>, T> onlyElement() {
         Supplier<Collection<T>> supplier = ArrayList::new;
         BiConsumer<Collection<T>, T> accumulator = Collection::add;
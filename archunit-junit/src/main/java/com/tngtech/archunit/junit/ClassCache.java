@@ -66,18 +66,31 @@ class ClassCache {
     private CacheClassFileImporter cacheClassFileImporter = new CacheClassFileImporter();
 
     JavaClasses getClassesToAnalyzeFor(Class<?> testClass, ClassAnalysisRequest classAnalysisRequest) {
+        return getClassesToAnalyzeFor(testClass, classAnalysisRequest, ImportListener.NO_OP);
+    }
+
+    /**
+     * Like {@link #getClassesToAnalyzeFor(Class, ClassAnalysisRequest)}, but additionally notifies the passed {@link ImportListener}
+     * the first time classes are requested for the test class, i.e. at most once until the test class is {@link #clear(Class) cleared}.
+     */
+    JavaClasses getClassesToAnalyzeFor(Class<?> testClass, ClassAnalysisRequest classAnalysisRequest, ImportListener importListener) {
         checkNotNull(testClass);
         checkNotNull(classAnalysisRequest);
+        checkNotNull(importListener);
 
         if (cachedByTest.containsKey(testClass)) {
             return cachedByTest.get(testClass);
         }
 
+        long start = System.nanoTime();
         LocationsKey locations = RequestedLocations.by(classAnalysisRequest, testClass).asKey();
 
-        JavaClasses classes = classAnalysisRequest.getCacheMode() == FOREVER
-                ? cachedByLocations.getUnchecked(locations).get()
-                : new LazyJavaClasses(locations.locations, locations.importOptionTypes).get();
+        LazyJavaClasses lazyClasses = classAnalysisRequest.getCacheMode() == FOREVER
+                ? cachedByLocations.getUnchecked(locations)
+                : new LazyJavaClasses(locations.locations, locations.importOptionTypes);
+        boolean imported = lazyClasses.initialize();
+        JavaClasses classes = lazyClasses.get();
+        importListener.onClassesRequested(System.nanoTime() - start, !imported);
 
         cachedByTest.put(testClass, classes);
         return classes;
@@ -104,17 +117,36 @@ class ClassCache {
             return javaClasses;
         }
 
-        private synchronized void initialize() {
-            if (javaClasses == null) {
-                ImportOptions importOptions = new ImportOptions();
-                for (Class<? extends ImportOption> optionClass : importOptionTypes) {
-                    importOptions = importOptions.with(newInstanceOf(optionClass));
-                }
-                javaClasses = cacheClassFileImporter.importClasses(importOptions, locations);
+        /**
+         * @return true, if the classes were imported by this call, false if they had already been imported before
+         */
+        private synchronized boolean initialize() {
+            if (javaClasses != null) {
+                return false;
+            }
+            ImportOptions importOptions = new ImportOptions();
+            for (Class<? extends ImportOption> optionClass : importOptionTypes) {
+                importOptions = importOptions.with(newInstanceOf(optionClass));
             }
+            javaClasses = cacheClassFileImporter.importClasses(importOptions, locations);
+            return true;
         }
     }
 
+    interface ImportListener {
+        ImportListener NO_OP = new ImportListener() {
+            @Override
+            public void onClassesRequested(long durationNanos, boolean fromCache) {
+            }
+        };
+
+        /**
+         * @param durationNanos The time it took to obtain the classes, including the import if they were not cached
+         * @param fromCache Whether the classes had already been imported before, e.g. for another test class analyzing the same locations
+         */
+        void onClassesRequested(long durationNanos, boolean fromCache);
+    }
+
     // Used for testing -> that's also the reason it's declared top level
     static class CacheClassFileImporter {
         JavaClasses importClasses(ImportOptions importOptions, Collection<Location> locations) {
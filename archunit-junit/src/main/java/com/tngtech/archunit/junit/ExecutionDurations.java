@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tngtech.archunit.ArchConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.System.lineSeparator;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Keeps track of how long the import of classes and the execution of ArchUnit tests take, so test engines can report
+ * import and evaluation time separately instead of attributing the import to the first test of a test class.
+ * Reporting is disabled by default and can be enabled via
+ * {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}:
+ *
+ * <pre><code>
+ * junit.reportDurations=true
+ * # optionally log the N slowest tests at the end of the test run
+ * junit.reportSlowestTests=10
+ * </code></pre>
+ */
+class ExecutionDurations {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionDurations.class);
+
+    static final String JUNIT_REPORT_DURATIONS_PROPERTY_NAME = "junit.reportDurations";
+    static final String JUNIT_REPORT_SLOWEST_TESTS_PROPERTY_NAME = "junit.reportSlowestTests";
+
+    static final String IMPORT_DURATION_KEY = "archunit.import.duration";
+    static final String IMPORT_SOURCE_KEY = "archunit.import.source";
+    static final String EVALUATION_DURATION_KEY = "archunit.evaluation.duration";
+
+    private final boolean reportDurations;
+    private final int numberOfSlowestTestsToReport;
+    private final Map<String, Long> durationNanosByTest = new ConcurrentHashMap<>();
+
+    ExecutionDurations() {
+        ArchConfiguration configuration = ArchConfiguration.get();
+        reportDurations = Boolean.parseBoolean(configuration.getPropertyOrDefault(JUNIT_REPORT_DURATIONS_PROPERTY_NAME, Boolean.FALSE.toString()));
+        numberOfSlowestTestsToReport = Integer.parseInt(configuration.getPropertyOrDefault(JUNIT_REPORT_SLOWEST_TESTS_PROPERTY_NAME, "0"));
+    }
+
+    boolean isReportingEnabled() {
+        return reportDurations;
+    }
+
+    void recordTest(String testName, long durationNanos) {
+        if (numberOfSlowestTestsToReport > 0) {
+            durationNanosByTest.put(testName, durationNanos);
+        }
+    }
+
+    /**
+     * For test engines without a dedicated reporting mechanism, logs how long it took to obtain the classes for the test class.
+     */
+    void logImport(Class<?> testClass, long durationNanos, boolean fromCache) {
+        if (reportDurations) {
+            LOG.info("Obtained classes to analyze for {} in {} ({})", testClass.getName(), formatDuration(durationNanos), formatImportSource(fromCache));
+        }
+    }
+
+    /**
+     * For test engines without a dedicated reporting mechanism, records and logs how long the evaluation of the test took.
+     */
+    void logEvaluation(String testName, long durationNanos) {
+        recordTest(testName, durationNanos);
+        if (reportDurations) {
+            LOG.info("Evaluated {} in {}", testName, formatDuration(durationNanos));
+        }
+    }
+
+    void logSlowestTests() {
+        if (durationNanosByTest.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> tests = new ArrayList<>(durationNanosByTest.entrySet());
+        Collections.sort(tests, new Comparator<Map.Entry<String, Long>>() {
+            @Override
+            public int compare(Map.Entry<String, Long> first, Map.Entry<String, Long> second) {
+                return Long.compare(second.getValue(), first.getValue());
+            }
+        });
+        StringBuilder summary = new StringBuilder(String.format("Slowest %d of %d ArchUnit tests:",
+                Math.min(numberOfSlowestTestsToReport, tests.size()), tests.size()));
+        for (Map.Entry<String, Long> test : tests.subList(0, Math.min(numberOfSlowestTestsToReport, tests.size()))) {
+            summary.append(lineSeparator()).append(String.format("  %s: %s", test.getKey(), formatDuration(test.getValue())));
+        }
+        LOG.info(summary.toString());
+    }
+
+    static String formatDuration(long durationNanos) {
+        return NANOSECONDS.toMillis(durationNanos) + " ms";
+    }
+
+    static String formatImportSource(boolean fromCache) {
+        return fromCache ? "cache" : "import";
+    }
+}
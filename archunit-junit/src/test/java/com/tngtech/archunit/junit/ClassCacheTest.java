@@ -11,6 +11,7 @@ import com.tngtech.archunit.core.importer.ImportOptions;
 import com.tngtech.archunit.core.importer.Location;
 import com.tngtech.archunit.core.importer.Locations;
 import com.tngtech.archunit.junit.ClassCache.CacheClassFileImporter;
+import com.tngtech.archunit.junit.ClassCache.ImportListener;
 import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -32,6 +33,9 @@ import static com.tngtech.archunit.testutil.Assertions.assertThatTypes;
 import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -81,6 +85,19 @@ public class ClassCacheTest {
         verifyNumberOfImports(1);
     }
 
+    @Test
+    public void notifies_import_listener_once_per_test_class_whether_classes_were_imported_or_cached() {
+        ImportListener firstListener = mock(ImportListener.class);
+        cache.getClassesToAnalyzeFor(TestClass.class, analyzePackages("com.tngtech.archunit.junit"), firstListener);
+        cache.getClassesToAnalyzeFor(TestClass.class, analyzePackages("com.tngtech.archunit.junit"), firstListener);
+        ImportListener secondListener = mock(ImportListener.class);
+        cache.getClassesToAnalyzeFor(EquivalentTestClass.class, analyzePackages("com.tngtech.archunit.junit"), secondListener);
+
+        verify(firstListener).onClassesRequested(anyLong(), eq(false));
+        verify(secondListener).onClassesRequested(anyLong(), eq(true));
+        verifyNoMoreInteractions(firstListener, secondListener);
+    }
+
     @Test
     public void doesnt_reuse_loaded_classes_by_locations_if_cacheMode_is_PER_CLASS() {
         cache.getClassesToAnalyzeFor(TestClass.class, analyzePackages("com.tngtech.archunit.junit").withCacheMode(PER_CLASS));
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.HasDescription;
+import com.tngtech.archunit.core.PluginLoader;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits custom events to the Java Flight Recorder, so ArchUnit activity shows up as named phases within a recording.
+ * As long as no recording enables these events, every {@link Span} returned is a shared no-op.
+ * <br><br>
+ * Resolved via {@link PluginLoader}
+ */
+@SuppressWarnings("unused")
+@Internal
+public class JavaFlightRecorderPlugin implements Instrumentation {
+    private static final String CATEGORY = "ArchUnit";
+
+    private final EventType phaseEventType = EventType.getEventType(PhaseEvent.class);
+    private final EventType ruleEvaluationEventType = EventType.getEventType(RuleEvaluationEvent.class);
+    private final EventType compositeRuleEvaluationEventType = EventType.getEventType(CompositeRuleEvaluationEvent.class);
+    private final EventType cycleDetectionEventType = EventType.getEventType(CycleDetectionEvent.class);
+
+    @Override
+    public boolean isEnabled() {
+        return phaseEventType.isEnabled()
+                || ruleEvaluationEventType.isEnabled()
+                || compositeRuleEvaluationEventType.isEnabled()
+                || cycleDetectionEventType.isEnabled();
+    }
+
+    @Override
+    public Span beginPhase(Phase phase) {
+        if (!phaseEventType.isEnabled()) {
+            return Span.NO_OP;
+        }
+        final PhaseEvent event = new PhaseEvent();
+        event.phase = phase.name();
+        final long start = System.nanoTime();
+        event.begin();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                event.end();
+                event.time = System.nanoTime() - start;
+                event.count = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public void onPhaseFinished(Phase phase, long durationNanos, long count) {
+        if (!phaseEventType.isEnabled()) {
+            return;
+        }
+        PhaseEvent event = new PhaseEvent();
+        event.phase = phase.name();
+        event.time = durationNanos;
+        event.count = count;
+        event.commit();
+    }
+
+    @Override
+    public void onCount(Counter counter, long value) {
+    }
+
+    @Override
+    public Span beginRuleEvaluation(HasDescription rule) {
+        if (!ruleEvaluationEventType.isEnabled()) {
+            return Span.NO_OP;
+        }
+        final RuleEvaluationEvent event = new RuleEvaluationEvent();
+        event.rule = rule.getDescription();
+        event.begin();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                event.violations = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public Span beginCompositeRuleEvaluation(HasDescription rule) {
+        if (!compositeRuleEvaluationEventType.isEnabled()) {
+            return Span.NO_OP;
+        }
+        final CompositeRuleEvaluationEvent event = new CompositeRuleEvaluationEvent();
+        event.rule = rule.getDescription();
+        event.begin();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                event.rules = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public Span beginCycleDetection() {
+        if (!cycleDetectionEventType.isEnabled()) {
+            return Span.NO_OP;
+        }
+        final CycleDetectionEvent event = new CycleDetectionEvent();
+        event.begin();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                event.cycles = count;
+                event.commit();
+            }
+        };
+    }
+
+    @Name("com.tngtech.archunit.Phase")
+    @Label("Phase")
+    @Category(CATEGORY)
+    @Description("A phase of importing classes or of freezing violations, matching the phases reported to ArchInstrumentation")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Count")
+        @Description("The number of elements processed, i.e. classes for import phases and rules for FREEZE")
+        long count;
+
+        @Label("Time")
+        @Description("The time spent within the phase; SCAN and PARSE alternate for every class file, "
+                + "so their events are only emitted once both have finished and carry the accumulated time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+
+    @Name("com.tngtech.archunit.RuleEvaluation")
+    @Label("Rule Evaluation")
+    @Category(CATEGORY)
+    @Description("The evaluation of a single rule against imported classes")
+    static class RuleEvaluationEvent extends Event {
+        @Label("Rule")
+        String rule;
+
+        @Label("Violations")
+        long violations;
+    }
+
+    @Name("com.tngtech.archunit.CompositeRuleEvaluation")
+    @Label("Composite Rule Evaluation")
+    @Category(CATEGORY)
+    @Description("The evaluation of a rule composed of several rules, each of which is recorded separately")
+    static class CompositeRuleEvaluationEvent extends Event {
+        @Label("Rule")
+        String rule;
+
+        @Label("Rules")
+        long rules;
+    }
+
+    @Name("com.tngtech.archunit.CycleDetection")
+    @Label("Cycle Detection")
+    @Category(CATEGORY)
+    @Description("The detection of cycles between slices")
+    static class CycleDetectionEvent extends Event {
+        @Label("Cycles")
+        long cycles;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tngtech.archunit.core.instrumentation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.CompositeArchRule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameEndingWith;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void emits_events_for_import_phases_and_rule_evaluations() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.tngtech.archunit.Phase");
+            recording.enable("com.tngtech.archunit.RuleEvaluation");
+            recording.enable("com.tngtech.archunit.CompositeRuleEvaluation");
+            recording.enable("com.tngtech.archunit.CycleDetection");
+            recording.start();
+
+            JavaClasses classes = new ClassFileImporter().importClasses(FlightRecorderEventsTest.class);
+            classes.that(simpleNameEndingWith("Test"));
+            CompositeArchRule.of(classes().should().bePublic().as("classes are public"))
+                    .and(slices().matching("..(archunit).(*)..").should().beFreeOfCycles().as("slices are free of cycles"))
+                    .as("composite rule")
+                    .evaluate(classes);
+
+            recording.stop();
+            Path file = Files.createTempFile("archunit", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        assertThat(describe(events)).contains(
+                "Phase[phase=SCAN, count=1]",
+                "Phase[phase=PARSE, count=1]",
+                "Phase[phase=INDEX, count=1]",
+                "RuleEvaluation[rule=classes are public, violations=0]",
+                "RuleEvaluation[rule=slices are free of cycles, violations=0]",
+                "CompositeRuleEvaluation[rule=composite rule, rules=2]",
+                "CycleDetection[cycles=0]");
+    }
+
+    private static List<String> describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getEventType().getName().replace("com.tngtech.archunit.", "") + event.getFields().stream()
+                        .filter(field -> !List.of("startTime", "duration", "eventThread", "stackTrace", "time").contains(field.getName()))
+                        .map(field -> field.getName() + "=" + event.getValue(field.getName()))
+                        .collect(joining(", ", "[", "]")))
+                .collect(toList());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.module.ModuleFinder;
@@ -23,14 +24,12 @@ import java.lang.module.ModuleReference;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 class ModuleLocationFactory implements Location.Factory {
     @Override
@@ -112,59 +111,103 @@ class ModuleLocationFactory implements Location.Factory {
             if (!importOptions.include(this)) {
                 return Collections::emptyListIterator;
             }
-            return new ModuleClassFileSource(moduleReference, resourceName, importOptions);
+            return new ModuleClassFileSource(this, importOptions);
         }
     }
 
-    private static class ModuleClassFileSource implements ClassFileSource {
-        private final Stream<ClassFileLocation> locations;
-
-        ModuleClassFileSource(
-                ModuleReference moduleReference,
-                NormalizedResourceName resourceName,
-                ImportOptions importOptions) {
-
-            Set<String> entries = loadEntries(moduleReference, resourceName);
-            locations = entries.stream()
-                    .map(entry -> new ModuleClassFileLocation(moduleReference, entry))
+    /**
+     * Keeps one {@link ModuleReader} open to read all class files of the module location, until the source is closed.
+     * The importer closes the source once the import is finished.
+     */
+    private static class ModuleClassFileSource implements ClassFileSource, Closeable {
+        private final ModuleReaderSession readerSession;
+        private final List<ClassFileLocation> locations;
+
+        ModuleClassFileSource(ModuleLocation location, ImportOptions importOptions) {
+            readerSession = new ModuleReaderSession(location.moduleReference);
+            locations = loadEntries(location).stream()
+                    .map(entry -> new ModuleClassFileLocation(readerSession, entry))
                     .filter(classFileLocation -> classFileLocation.isIncludedBy(importOptions))
-                    .map(Function.identity()); // thanks Java type system :-(
+                    .collect(toList());
         }
 
-        private Set<String> loadEntries(ModuleReference moduleReference, NormalizedResourceName resourceName) {
-            return doWithModuleReader(moduleReference, moduleReader -> moduleReader.list()
-                    .filter(resourceName::isStartOf)
-                    .filter(FileToImport::isRelevant)
-                    .map(entry -> "/" + entry)
-                    .collect(toSet()));
+        // reuses the (cached) listing of the module location, instead of listing the whole module once more
+        private List<NormalizedResourceName> loadEntries(ModuleLocation location) {
+            return StreamSupport.stream(location.iterateEntries().spliterator(), false)
+                    .filter(entry -> FileToImport.isRelevant(entry.toString()))
+                    .collect(toList());
         }
 
         @Override
         public Iterator<ClassFileLocation> iterator() {
             return locations.iterator();
         }
+
+        @Override
+        public void close() {
+            readerSession.close();
+        }
     }
 
-    private static class ModuleClassFileLocation implements ClassFileLocation {
+    /**
+     * Shares one {@link ModuleReader} between all {@link ModuleClassFileLocation ModuleClassFileLocations}
+     * of one {@link ModuleClassFileSource}, instead of opening and closing a new reader for every single entry.
+     * The reader is opened lazily on first access and closed together with the source.
+     * Once closed, the session can't be used to read entries anymore.
+     */
+    private static class ModuleReaderSession {
         private final ModuleReference moduleReference;
-        private final NormalizedResourceName entry;
-        private final ModuleLocation location;
+        private ModuleReader moduleReader;
+        private boolean closed;
 
-        ModuleClassFileLocation(ModuleReference moduleReference, String entry) {
-            this(moduleReference, NormalizedResourceName.from(entry));
+        ModuleReaderSession(ModuleReference moduleReference) {
+            this.moduleReference = moduleReference;
         }
 
-        ModuleClassFileLocation(ModuleReference moduleReference, NormalizedResourceName entry) {
-            this.moduleReference = moduleReference;
+        synchronized Optional<InputStream> open(NormalizedResourceName entry) {
+            checkState(!closed, "Reader of module %s has already been closed", moduleReference.descriptor().name());
+            try {
+                if (moduleReader == null) {
+                    moduleReader = moduleReference.open();
+                }
+                return moduleReader.open(entry.toString());
+            } catch (IOException e) {
+                String message = String.format("Unexpected error while processing module %s", moduleReference);
+                throw new RuntimeException(message, e);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (moduleReader == null) {
+                return;
+            }
+            try {
+                moduleReader.close();
+            } catch (IOException e) {
+                String message = String.format("Unexpected error while closing reader of module %s", moduleReference);
+                throw new RuntimeException(message, e);
+            } finally {
+                moduleReader = null;
+            }
+        }
+    }
+
+    private static class ModuleClassFileLocation implements ClassFileLocation {
+        private final ModuleReaderSession readerSession;
+        private final NormalizedResourceName entry;
+        private final ModuleLocation location;
+
+        ModuleClassFileLocation(ModuleReaderSession readerSession, NormalizedResourceName entry) {
+            this.readerSession = readerSession;
             this.entry = entry;
-            location = new ModuleLocation(moduleReference, entry);
+            location = new ModuleLocation(readerSession.moduleReference, entry);
         }
 
         @Override
         public InputStream openStream() {
-            return doWithModuleReader(moduleReference, moduleReader ->
-                    moduleReader.open(entry.toString()).orElseThrow(() -> new IllegalStateException(
-                            String.format("Entry %s parsed from JRT location %s could not be opened. This is most likely a bug.", entry, location))));
+            return readerSession.open(entry).orElseThrow(() -> new IllegalStateException(
+                    String.format("Entry %s parsed from JRT location %s could not be opened. This is most likely a bug.", entry, location)));
         }
 
         @Override
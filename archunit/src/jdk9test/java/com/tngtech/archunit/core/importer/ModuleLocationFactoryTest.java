@@ -1,11 +1,16 @@
 package com.tngtech.archunit.core.importer;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.module.ModuleFinder;
 import java.lang.module.ModuleReference;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -15,6 +20,7 @@ import org.junit.Test;
 import static com.tngtech.archunit.core.importer.ClassFileSourceTest.MODULE_INFO_FILE_NAME;
 import static com.tngtech.archunit.testutil.TestUtils.uriOf;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ModuleLocationFactoryTest {
     private ModuleLocationFactory locationFactory = new ModuleLocationFactory();
@@ -74,6 +80,27 @@ public class ModuleLocationFactoryTest {
                 .isFalse();
     }
 
+    @Test
+    public void reader_of_module_is_closed_together_with_the_class_file_source() throws IOException {
+        Location jrtJavaIo = locationFactory.create(parentOf(uriOf(File.class)));
+        ClassFileSource source = jrtJavaIo.asClassFileSource(new ImportOptions());
+        assertThat(source).isInstanceOf(Closeable.class);
+
+        List<ClassFileLocation> classFileLocations = new ArrayList<>();
+        for (ClassFileLocation classFileLocation : source) {
+            try (InputStream in = classFileLocation.openStream()) {
+                assertThat(in.read()).as("first byte of " + classFileLocation.getUri()).isNotNegative();
+            }
+            classFileLocations.add(classFileLocation);
+        }
+
+        ((Closeable) source).close();
+
+        assertThatThrownBy(() -> classFileLocations.get(0).openStream())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("closed");
+    }
+
     @SuppressWarnings("SameParameterValue")
     private URI createModuleUriContaining(Class<?> clazz) {
         URI someJrt = uriOf(clazz);
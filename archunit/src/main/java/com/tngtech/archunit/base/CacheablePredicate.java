@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.base;
+
+import com.tngtech.archunit.Internal;
+
+/**
+ * Marks {@link DescribedPredicate DescribedPredicates} that are free of side effects and implement
+ * {@link Object#equals(Object) equals(..)} and {@link Object#hashCode() hashCode()} by their structure
+ * (e.g. the package identifier or the suffix to match), ignoring the description.
+ * Results of such predicates may thus be shared between all predicates equal to each other.
+ */
+@Internal
+public interface CacheablePredicate {
+}
@@ -136,6 +136,7 @@ public class PluginLoader<T> {
     public enum JavaVersion {
 
         JAVA_9(9),
+        JAVA_11(11),
         JAVA_14(14);
 
         private final int releaseVersion;
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.tngtech.archunit.base.CacheablePredicate;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
+
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.INDEX;
+import static java.util.Collections.singleton;
+
+/**
+ * Secondary indexes of a fixed list of classes, which allow to look up the position of a class by its name and
+ * the positions of all classes residing in a package, being annotated with some annotation, being assignable
+ * to some type or having a simple name with a certain suffix. Except for the names, every index is only built on first usage.
+ * <br><br>
+ * Furthermore the results of a {@link CacheablePredicate} are memoized for all classes it has been tested on,
+ * so equal predicates used by several rules (or on several subsets of the classes) are only evaluated once per class.
+ */
+final class ClassIndexes {
+    private final List<JavaClass> classes;
+    private final Map<String, Integer> positionsByName;
+    private final ConcurrentMap<DescribedPredicate<?>, MemoizedSelection> memoizedSelectionsByCacheablePredicate = new ConcurrentHashMap<>();
+    private final Supplier<NavigableMap<String, int[]>> positionsByPackageName = Suppliers.memoize(new Supplier<NavigableMap<String, int[]>>() {
+        @Override
+        public NavigableMap<String, int[]> get() {
+            return index(new TreeMap<String, int[]>(), new Function<JavaClass, Iterable<String>>() {
+                @Override
+                public Iterable<String> apply(JavaClass javaClass) {
+                    return singleton(javaClass.getPackageName());
+                }
+            });
+        }
+    });
+    private final Supplier<Map<String, int[]>> positionsByAnnotationTypeName = Suppliers.memoize(new Supplier<Map<String, int[]>>() {
+        @Override
+        public Map<String, int[]> get() {
+            return index(new HashMap<String, int[]>(), new Function<JavaClass, Iterable<String>>() {
+                @Override
+                public Iterable<String> apply(JavaClass javaClass) {
+                    List<String> result = new ArrayList<>();
+                    for (JavaAnnotation<JavaClass> annotation : javaClass.getAnnotations()) {
+                        result.add(annotation.getRawType().getName());
+                    }
+                    return result;
+                }
+            });
+        }
+    });
+    private final Supplier<Map<String, int[]>> positionsByAssignableTypeName = Suppliers.memoize(new Supplier<Map<String, int[]>>() {
+        @Override
+        public Map<String, int[]> get() {
+            return index(new HashMap<String, int[]>(), new Function<JavaClass, Iterable<String>>() {
+                @Override
+                public Iterable<String> apply(JavaClass javaClass) {
+                    List<String> result = new ArrayList<>();
+                    for (JavaClass assignableType : javaClass.getAllClassesSelfIsAssignableTo()) {
+                        result.add(assignableType.getName());
+                    }
+                    return result;
+                }
+            });
+        }
+    });
+    private final Supplier<NavigableMap<String, int[]>> positionsByReversedSimpleName = Suppliers.memoize(new Supplier<NavigableMap<String, int[]>>() {
+        @Override
+        public NavigableMap<String, int[]> get() {
+            return index(new TreeMap<String, int[]>(), new Function<JavaClass, Iterable<String>>() {
+                @Override
+                public Iterable<String> apply(JavaClass javaClass) {
+                    return singleton(reverse(javaClass.getSimpleName()));
+                }
+            });
+        }
+    });
+
+    ClassIndexes(Collection<JavaClass> classes) {
+        this.classes = ImmutableList.copyOf(classes);
+        this.positionsByName = new HashMap<>(classes.size() * 4 / 3 + 1);
+        for (int position = 0; position < this.classes.size(); position++) {
+            positionsByName.put(this.classes.get(position).getName(), position);
+        }
+    }
+
+    int size() {
+        return classes.size();
+    }
+
+    JavaClass get(int position) {
+        return classes.get(position);
+    }
+
+    /**
+     * @return The position of the class with the given name or -1, if there is no such class
+     */
+    int getPosition(String className) {
+        Integer position = positionsByName.get(className);
+        return position != null ? position : -1;
+    }
+
+    BitSet all() {
+        BitSet result = new BitSet(classes.size());
+        result.set(0, classes.size());
+        return result;
+    }
+
+    /**
+     * @return The positions of all candidates matching the predicate; the result may be modified by the caller,
+     *         the candidates are never modified
+     */
+    BitSet getMatching(DescribedPredicate<? super JavaClass> predicate, BitSet candidates) {
+        if (!(predicate instanceof CacheablePredicate)) {
+            return select(predicate, candidates);
+        }
+        MemoizedSelection selection = memoizedSelectionsByCacheablePredicate.get(predicate);
+        if (selection == null) {
+            memoizedSelectionsByCacheablePredicate.putIfAbsent(predicate, new MemoizedSelection(predicate));
+            selection = memoizedSelectionsByCacheablePredicate.get(predicate);
+        }
+        return selection.getMatching(candidates);
+    }
+
+    static boolean canSelectEfficiently(DescribedPredicate<?> predicate) {
+        return predicate instanceof CacheablePredicate || predicate instanceof IndexedClassPredicate;
+    }
+
+    private BitSet select(DescribedPredicate<? super JavaClass> predicate, BitSet candidates) {
+        return predicate instanceof IndexedClassPredicate
+                ? ((IndexedClassPredicate) predicate).selectMatching(this, candidates)
+                : retainMatching((BitSet) candidates.clone(), predicate);
+    }
+
+    /**
+     * Removes all positions from {@code positions} whose classes don't match the predicate
+     */
+    BitSet retainMatching(BitSet positions, DescribedPredicate<? super JavaClass> predicate) {
+        for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+            if (!predicate.apply(classes.get(position))) {
+                positions.clear(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Adds all positions of {@code candidates} to {@code positions} whose classes match the predicate
+     */
+    BitSet addMatching(BitSet positions, DescribedPredicate<? super JavaClass> predicate, BitSet candidates) {
+        for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+            if (!positions.get(position) && predicate.apply(classes.get(position))) {
+                positions.set(position);
+            }
+        }
+        return positions;
+    }
+
+    BitSet getClassesInPackage(String packageName) {
+        return toBitSet(getOrEmpty(positionsByPackageName.get(), packageName));
+    }
+
+    /**
+     * @return The positions of all classes residing in the package or any of its subpackages
+     */
+    BitSet getClassesInPackageTree(String packageName) {
+        BitSet result = getClassesInPackage(packageName);
+        addAllWithKeyPrefix(result, positionsByPackageName.get(), packageName + ".");
+        return result;
+    }
+
+    BitSet getClassesAnnotatedWith(String annotationTypeName) {
+        return toBitSet(getOrEmpty(positionsByAnnotationTypeName.get(), annotationTypeName));
+    }
+
+    BitSet getClassesAssignableTo(String typeName) {
+        return toBitSet(getOrEmpty(positionsByAssignableTypeName.get(), typeName));
+    }
+
+    BitSet getClassesWithSimpleNameEndingWith(String suffix) {
+        BitSet result = new BitSet(classes.size());
+        addAllWithKeyPrefix(result, positionsByReversedSimpleName.get(), reverse(suffix));
+        return result;
+    }
+
+    private <M extends Map<String, int[]>> M index(M result, Function<JavaClass, Iterable<String>> getKeys) {
+        Span span = InstrumentationFactory.get().beginPhase(INDEX);
+        Map<String, List<Integer>> positionsByKey = new HashMap<>();
+        for (int position = 0; position < classes.size(); position++) {
+            for (String key : getKeys.apply(classes.get(position))) {
+                if (!positionsByKey.containsKey(key)) {
+                    positionsByKey.put(key, new ArrayList<Integer>());
+                }
+                positionsByKey.get(key).add(position);
+            }
+        }
+        for (Map.Entry<String, List<Integer>> entry : positionsByKey.entrySet()) {
+            result.put(entry.getKey(), Ints.toArray(entry.getValue()));
+        }
+        span.end(classes.size());
+        return result;
+    }
+
+    private BitSet toBitSet(int[] positions) {
+        BitSet result = new BitSet(classes.size());
+        for (int position : positions) {
+            result.set(position);
+        }
+        return result;
+    }
+
+    private static void addAllWithKeyPrefix(BitSet result, NavigableMap<String, int[]> index, String prefix) {
+        for (Map.Entry<String, int[]> entry : index.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                return;
+            }
+            for (int position : entry.getValue()) {
+                result.set(position);
+            }
+        }
+    }
+
+    private static int[] getOrEmpty(Map<String, int[]> index, String key) {
+        int[] result = index.get(key);
+        return result != null ? result : new int[0];
+    }
+
+    private static String reverse(String string) {
+        return new StringBuilder(string).reverse().toString();
+    }
+
+    private class MemoizedSelection {
+        private final DescribedPredicate<? super JavaClass> predicate;
+        private final BitSet tested = new BitSet();
+        private final BitSet matching = new BitSet();
+
+        MemoizedSelection(DescribedPredicate<? super JavaClass> predicate) {
+            this.predicate = predicate;
+        }
+
+        synchronized BitSet getMatching(BitSet candidates) {
+            BitSet untested = (BitSet) candidates.clone();
+            untested.andNot(tested);
+            if (!untested.isEmpty()) {
+                matching.or(select(predicate, untested));
+                tested.or(untested);
+            }
+            BitSet result = (BitSet) matching.clone();
+            result.and(candidates);
+            return result;
+        }
+    }
+}
@@ -67,8 +67,8 @@ public class DomainObjectCreationContext {
         return JavaClasses.of(selectedClasses, allClasses, importContext);
     }
 
-    public static JavaClass createJavaClass(JavaClassBuilder builder) {
-        return new JavaClass(builder);
+    public static JavaClass createJavaClass(JavaClassBuilder builder, boolean codeImported) {
+        return new JavaClass(builder, codeImported);
     }
 
     public static void completeClassHierarchy(JavaClass javaClass, ImportContext importContext) {
@@ -167,6 +167,10 @@ public class DomainObjectCreationContext {
         return new Source(uri, sourceFileName, md5InClassSourcesEnabled);
     }
 
+    public static Source createSource(URI uri, Optional<String> sourceFileName, boolean md5InClassSourcesEnabled, Optional<byte[]> knownContents) {
+        return new Source(uri, sourceFileName, md5InClassSourcesEnabled, knownContents);
+    }
+
     public static ReferencedClassObject createReferencedClassObject(JavaCodeUnit codeUnit, JavaClass javaClass, int lineNumber) {
         return ReferencedClassObject.from(codeUnit, javaClass, lineNumber);
     }
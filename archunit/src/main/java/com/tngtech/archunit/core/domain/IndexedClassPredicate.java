@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.lang.annotation.Annotation;
+import java.util.BitSet;
+import java.util.Objects;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.CacheablePredicate;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.properties.CanBeAnnotated;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link DescribedPredicate} for {@link JavaClass JavaClasses} that knows how to narrow down the matching classes
+ * via the secondary indexes of {@link JavaClasses}, so {@link JavaClasses#that(DescribedPredicate)} doesn't need to test every class.
+ * The candidates selected via the indexes are always a superset of the matching classes, i.e. the predicate itself
+ * is still applied to every candidate.
+ * <br><br>
+ * Overriding descriptions and combining this predicate with other predicates via {@code and(..)} or {@code or(..)}
+ * keeps the ability to select candidates from the indexes. Results of all involved {@link CacheablePredicate CacheablePredicates}
+ * are shared between all selections from the same {@link JavaClasses}.
+ */
+@Internal
+public abstract class IndexedClassPredicate extends DescribedPredicate<JavaClass> {
+    IndexedClassPredicate(String description, Object... params) {
+        super(description, params);
+    }
+
+    /**
+     * @return The positions of all classes that might match this predicate or {@link Optional#empty()},
+     *         if the indexes can't narrow down the matching classes
+     */
+    Optional<BitSet> selectCandidates(ClassIndexes indexes) {
+        return Optional.empty();
+    }
+
+    /**
+     * @return The positions of all candidates matching this predicate; the candidates are never modified
+     */
+    BitSet selectMatching(ClassIndexes indexes, BitSet candidates) {
+        BitSet result = (BitSet) candidates.clone();
+        Optional<BitSet> indexedCandidates = selectCandidates(indexes);
+        if (indexedCandidates.isPresent()) {
+            result.and(indexedCandidates.get());
+        }
+        return indexes.retainMatching(result, this);
+    }
+
+    @Override
+    public DescribedPredicate<JavaClass> as(String description, Object... params) {
+        return new DescribedAs(this, description, params);
+    }
+
+    @Override
+    public DescribedPredicate<JavaClass> and(DescribedPredicate<? super JavaClass> other) {
+        return new And(this, other);
+    }
+
+    @Override
+    public DescribedPredicate<JavaClass> or(DescribedPredicate<? super JavaClass> other) {
+        return new Or(this, other);
+    }
+
+    /**
+     * Like {@link DescribedPredicate#and(DescribedPredicate) first.and(second)}, but keeps the ability to select candidates
+     * from the indexes if only {@code second} is an {@link IndexedClassPredicate}.
+     */
+    @SuppressWarnings("unchecked") // second can only be an IndexedClassPredicate if T is JavaClass
+    public static <T> DescribedPredicate<T> and(DescribedPredicate<T> first, DescribedPredicate<? super T> second) {
+        if (!(first instanceof IndexedClassPredicate) && second instanceof IndexedClassPredicate) {
+            return (DescribedPredicate<T>) new And((DescribedPredicate<JavaClass>) first, (IndexedClassPredicate) second);
+        }
+        return first.and(second);
+    }
+
+    /**
+     * @see CanBeAnnotated.Predicates#annotatedWith(Class)
+     */
+    public static DescribedPredicate<JavaClass> annotatedWith(Class<? extends Annotation> annotationType) {
+        return new AnnotatedWith(annotationType.getName(), CanBeAnnotated.Predicates.annotatedWith(annotationType));
+    }
+
+    /**
+     * @see CanBeAnnotated.Predicates#annotatedWith(String)
+     */
+    public static DescribedPredicate<JavaClass> annotatedWith(String annotationTypeName) {
+        return new AnnotatedWith(annotationTypeName, CanBeAnnotated.Predicates.annotatedWith(annotationTypeName));
+    }
+
+
+    private static class DescribedAs extends IndexedClassPredicate {
+        private final IndexedClassPredicate delegate;
+
+        DescribedAs(IndexedClassPredicate delegate, String description, Object... params) {
+            super(description, params);
+            this.delegate = checkNotNull(delegate);
+        }
+
+        @Override
+        BitSet selectMatching(ClassIndexes indexes, BitSet candidates) {
+            return indexes.getMatching(delegate, candidates);
+        }
+
+        @Override
+        public boolean apply(JavaClass input) {
+            return delegate.apply(input);
+        }
+    }
+
+    private static class And extends IndexedClassPredicate {
+        private final DescribedPredicate<? super JavaClass> first;
+        private final DescribedPredicate<? super JavaClass> second;
+
+        And(DescribedPredicate<? super JavaClass> first, DescribedPredicate<? super JavaClass> second) {
+            super("%s and %s", first.getDescription(), second.getDescription());
+            this.first = checkNotNull(first);
+            this.second = checkNotNull(second);
+        }
+
+        // predicates that can't be selected efficiently are only tested on the classes matching the other predicate
+        @Override
+        BitSet selectMatching(ClassIndexes indexes, BitSet candidates) {
+            if (!ClassIndexes.canSelectEfficiently(first)) {
+                return indexes.retainMatching(indexes.getMatching(second, candidates), first);
+            }
+            BitSet result = indexes.getMatching(first, candidates);
+            return ClassIndexes.canSelectEfficiently(second)
+                    ? indexes.getMatching(second, result)
+                    : indexes.retainMatching(result, second);
+        }
+
+        @Override
+        public boolean apply(JavaClass input) {
+            return first.apply(input) && second.apply(input);
+        }
+    }
+
+    private static class Or extends IndexedClassPredicate {
+        private final DescribedPredicate<? super JavaClass> first;
+        private final DescribedPredicate<? super JavaClass> second;
+
+        Or(DescribedPredicate<? super JavaClass> first, DescribedPredicate<? super JavaClass> second) {
+            super("%s or %s", first.getDescription(), second.getDescription());
+            this.first = checkNotNull(first);
+            this.second = checkNotNull(second);
+        }
+
+        // predicates that can't be selected efficiently are only tested on the classes not matching the other predicate
+        @Override
+        BitSet selectMatching(ClassIndexes indexes, BitSet candidates) {
+            if (!ClassIndexes.canSelectEfficiently(first)) {
+                return indexes.addMatching(indexes.getMatching(second, candidates), first, candidates);
+            }
+            BitSet result = indexes.getMatching(first, candidates);
+            if (ClassIndexes.canSelectEfficiently(second)) {
+                result.or(indexes.getMatching(second, candidates));
+                return result;
+            }
+            return indexes.addMatching(result, second, candidates);
+        }
+
+        @Override
+        public boolean apply(JavaClass input) {
+            return first.apply(input) || second.apply(input);
+        }
+    }
+
+    /**
+     * Base for predicates that are completely determined by their type and a single value (like a type name),
+     * so the results of equal predicates can be shared.
+     */
+    abstract static class Cacheable extends IndexedClassPredicate implements CacheablePredicate {
+        private final Object value;
+
+        Cacheable(Object value, String description) {
+            super("%s", description);
+            this.value = checkNotNull(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Cacheable other = (Cacheable) obj;
+            return Objects.equals(this.value, other.value);
+        }
+    }
+
+    private static class AnnotatedWith extends Cacheable {
+        private final String annotationTypeName;
+        private final DescribedPredicate<? super JavaClass> annotatedWith;
+
+        AnnotatedWith(String annotationTypeName, DescribedPredicate<? super JavaClass> annotatedWith) {
+            super(annotationTypeName, annotatedWith.getDescription());
+            this.annotationTypeName = annotationTypeName;
+            this.annotatedWith = annotatedWith;
+        }
+
+        @Override
+        Optional<BitSet> selectCandidates(ClassIndexes indexes) {
+            return Optional.of(indexes.getClassesAnnotatedWith(annotationTypeName));
+        }
+
+        @Override
+        public boolean apply(JavaClass input) {
+            return annotatedWith.apply(input);
+        }
+    }
+}
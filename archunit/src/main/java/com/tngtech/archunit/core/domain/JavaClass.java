@@ -16,11 +16,14 @@
 package com.tngtech.archunit.core.domain;
 
 import java.lang.annotation.Annotation;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Supplier;
@@ -63,7 +66,6 @@ import static com.tngtech.archunit.core.domain.JavaModifier.ENUM;
 import static com.tngtech.archunit.core.domain.JavaType.Functions.TO_ERASURE;
 import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Utils.toAnnotationOfType;
 import static com.tngtech.archunit.core.domain.properties.HasName.Functions.GET_NAME;
-import static com.tngtech.archunit.core.domain.properties.HasType.Functions.GET_RAW_TYPE;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 
@@ -80,6 +82,7 @@ public class JavaClass
     private final boolean isRecord;
     private final boolean isAnonymousClass;
     private final boolean isMemberClass;
+    private final boolean codeImported;
     private final Set<JavaModifier> modifiers;
     private List<JavaTypeVariable<JavaClass>> typeParameters = emptyList();
     private final Supplier<Class<?>> reflectSupplier;
@@ -119,6 +122,22 @@ public class JavaClass
             return result.build();
         }
     });
+    private final Supplier<Set<JavaClass>> allClassesSelfIsAssignableTo = Suppliers.memoize(new Supplier<Set<JavaClass>>() {
+        @Override
+        public Set<JavaClass> get() {
+            return ImmutableSet.<JavaClass>builder()
+                    .add(JavaClass.this)
+                    .addAll(getAllRawSuperclasses())
+                    .addAll(getAllRawInterfaces())
+                    .build();
+        }
+    });
+    private final Supplier<Set<String>> namesOfAllClassesSelfIsAssignableTo = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            return namesOfClasses(getAllClassesSelfIsAssignableTo());
+        }
+    });
     private final Set<JavaClass> subclasses = new HashSet<>();
     private final Supplier<Set<JavaClass>> allSubclasses = Suppliers.memoize(new Supplier<Set<JavaClass>>() {
         @Override
@@ -131,14 +150,29 @@ public class JavaClass
             return ImmutableSet.copyOf(result);
         }
     });
+    private final Supplier<Set<String>> namesOfSelfAndAllSubclasses = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            return ImmutableSet.<String>builder()
+                    .add(getName())
+                    .addAll(namesOfClasses(getAllSubclasses()))
+                    .build();
+        }
+    });
     private EnclosingDeclaration enclosingDeclaration = EnclosingDeclaration.ABSENT;
     private Optional<JavaClass> componentType = Optional.empty();
     private Map<String, JavaAnnotation<JavaClass>> annotations = emptyMap();
+    private final Supplier<Set<String>> metaAnnotationTypeNames = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            return MetaAnnotations.findMetaAnnotationTypeNamesOf(JavaClass.this);
+        }
+    });
     private JavaClassDependencies javaClassDependencies = new JavaClassDependencies(this);  // just for stubs; will be overwritten for imported classes
     private ReverseDependencies reverseDependencies = ReverseDependencies.EMPTY;  // just for stubs; will be overwritten for imported classes
     private final CompletionProcess completionProcess;
 
-    JavaClass(JavaClassBuilder builder) {
+    JavaClass(JavaClassBuilder builder, boolean codeImported) {
         source = checkNotNull(builder.getSource());
         descriptor = checkNotNull(builder.getDescriptor());
         isInterface = builder.isInterface();
@@ -147,6 +181,7 @@ public class JavaClass
         isRecord = builder.isRecord();
         isAnonymousClass = builder.isAnonymousClass();
         isMemberClass = builder.isMemberClass();
+        this.codeImported = codeImported;
         modifiers = checkNotNull(builder.getModifiers());
         reflectSupplier = Suppliers.memoize(new ReflectClassSupplier());
         sourceCodeLocation = SourceCodeLocation.of(this);
@@ -583,7 +618,7 @@ public class JavaClass
     @Override
     @PublicAPI(usage = ACCESS)
     public boolean isMetaAnnotatedWith(String typeName) {
-        return isMetaAnnotatedWith(GET_RAW_TYPE.then(GET_NAME).is(equalTo(typeName)));
+        return MetaAnnotations.isMetaAnnotatedWith(annotations.values(), typeName);
     }
 
     @Override
@@ -592,6 +627,15 @@ public class JavaClass
         return CanBeAnnotated.Utils.isMetaAnnotatedWith(annotations.values(), predicate);
     }
 
+    /**
+     * @return The name of this type together with the names of all annotation types this type is
+     * (transitively) meta-annotated with. Computed once and memoized, since annotation hierarchies
+     * are typically queried over and over again (e.g. by rules checking meta-annotations).
+     */
+    Set<String> getMetaAnnotationTypeNames() {
+        return metaAnnotationTypeNames.get();
+    }
+
     /**
      * @param type A given annotation type to match {@link JavaAnnotation JavaAnnotations} against
      * @return An {@link Annotation} of the given annotation type
@@ -651,11 +695,13 @@ public class JavaClass
 
     @PublicAPI(usage = ACCESS)
     public Set<InstanceofCheck> getInstanceofChecks() {
+        checkCodeImported("Instanceof checks");
         return members.getInstanceofChecks();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<ReferencedClassObject> getReferencedClassObjects() {
+        checkCodeImported("Referenced class objects");
         return members.getReferencedClassObjects();
     }
 
@@ -722,11 +768,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllClassesSelfIsAssignableTo() {
-        return ImmutableSet.<JavaClass>builder()
-                .add(this)
-                .addAll(getAllRawSuperclasses())
-                .addAll(getAllRawInterfaces())
-                .build();
+        return allClassesSelfIsAssignableTo.get();
     }
 
     /**
@@ -1058,6 +1100,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesFromSelf() {
+        checkCodeImported("Field accesses");
         return members.getFieldAccessesFromSelf();
     }
 
@@ -1119,6 +1162,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
+        checkCodeImported("Method calls");
         return members.getMethodCallsFromSelf();
     }
 
@@ -1136,6 +1180,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
+        checkCodeImported("Constructor calls");
         return members.getConstructorCallsFromSelf();
     }
 
@@ -1170,6 +1215,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodReference> getMethodReferencesFromSelf() {
+        checkCodeImported("Method references");
         return members.getMethodReferencesFromSelf();
     }
 
@@ -1187,9 +1233,32 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorReference> getConstructorReferencesFromSelf() {
+        checkCodeImported("Constructor references");
         return members.getConstructorReferencesFromSelf();
     }
 
+    private void checkCodeImported(String information) {
+        checkCodeImported(information, "class " + getName());
+    }
+
+    void checkCodeImported(String information, String subject) {
+        if (!codeImported) {
+            throw new IllegalStateException(String.format(
+                    "%s of %s are not available, because the code of class %s has not been imported (compare ImportDepth.DECLARATIONS_ONLY)",
+                    information, subject, getName()));
+        }
+    }
+
+    boolean isCodeImported() {
+        return codeImported;
+    }
+
+    // gives access to the information derived from code without checking how the class was imported,
+    // since dependencies of classes imported without code must still be derived from their declarations
+    JavaClassMembers members() {
+        return members;
+    }
+
     /**
      * @return All dependencies originating directly from this class (i.e. where this class is the origin).
      *         For further details about dependencies refer to {@link Dependency}.
@@ -1223,6 +1292,7 @@ public class JavaClass
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesToSelf() {
+        checkCodeImported("Field accesses");
         return members.getFieldAccessesToSelf();
     }
 
@@ -1255,6 +1325,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsToSelf() {
+        checkCodeImported("Method calls");
         return members.getMethodCallsToSelf();
     }
 
@@ -1263,6 +1334,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodReference> getMethodReferencesToSelf() {
+        checkCodeImported("Method references");
         return members.getMethodReferencesToSelf();
     }
 
@@ -1271,6 +1343,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsToSelf() {
+        checkCodeImported("Constructor calls");
         return members.getConstructorCallsToSelf();
     }
 
@@ -1279,6 +1352,7 @@ public class JavaClass
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorReference> getConstructorReferencesToSelf() {
+        checkCodeImported("Constructor references");
         return members.getConstructorReferencesToSelf();
     }
 
@@ -1389,15 +1463,12 @@ public class JavaClass
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(String typeName) {
-        return isAssignableFrom(GET_NAME.is(equalTo(typeName)));
+        return namesOfSelfAndAllSubclasses.get().contains(typeName);
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .add(this).addAll(getAllSubclasses()).build();
-
-        return anyMatches(possibleTargets, predicate);
+        return predicate.apply(this) || anyMatches(getAllSubclasses(), predicate);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -1407,18 +1478,23 @@ public class JavaClass
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(final String typeName) {
-        return isAssignableTo(GET_NAME.is(equalTo(typeName)));
+        return namesOfAllClassesSelfIsAssignableTo.get().contains(typeName);
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .addAll(getClassHierarchy()).addAll(getAllRawInterfaces()).build();
+        return anyMatches(getAllClassesSelfIsAssignableTo(), predicate);
+    }
 
-        return anyMatches(possibleTargets, predicate);
+    private static Set<String> namesOfClasses(Set<JavaClass> classes) {
+        ImmutableSet.Builder<String> result = ImmutableSet.builder();
+        for (JavaClass javaClass : classes) {
+            result.add(javaClass.getName());
+        }
+        return result.build();
     }
 
-    private boolean anyMatches(List<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
+    private boolean anyMatches(Collection<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
         for (JavaClass javaClass : possibleTargets) {
             if (predicate.apply(javaClass)) {
                 return true;
@@ -2237,7 +2313,7 @@ public class JavaClass
          */
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableTo(final String typeName) {
-            return assignableTo(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new AssignableToTypeNamePredicate(typeName);
         }
 
         /**
@@ -2245,7 +2321,7 @@ public class JavaClass
          */
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableFrom(final String typeName) {
-            return assignableFrom(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new AssignableFromTypeNamePredicate(typeName);
         }
 
         /**
@@ -2353,7 +2429,7 @@ public class JavaClass
             for (String identifier : packageIdentifiers) {
                 packageMatchers.add(PackageMatcher.of(identifier));
             }
-            return new PackageMatchesPredicate(packageMatchers, description);
+            return new PackageMatchesPredicate(packageIdentifiers, packageMatchers, description);
         }
 
         @PublicAPI(usage = ACCESS)
@@ -2495,11 +2571,11 @@ public class JavaClass
             }
         }
 
-        private static class SimpleNameStartingWithPredicate extends DescribedPredicate<JavaClass> {
+        private static class SimpleNameStartingWithPredicate extends IndexedClassPredicate.Cacheable {
             private final String prefix;
 
             SimpleNameStartingWithPredicate(String prefix) {
-                super(String.format("simple name starting with '%s'", prefix));
+                super(prefix, String.format("simple name starting with '%s'", prefix));
                 this.prefix = prefix;
             }
 
@@ -2509,11 +2585,11 @@ public class JavaClass
             }
         }
 
-        private static class SimpleNameContainingPredicate extends DescribedPredicate<JavaClass> {
+        private static class SimpleNameContainingPredicate extends IndexedClassPredicate.Cacheable {
             private final String infix;
 
             SimpleNameContainingPredicate(String infix) {
-                super(String.format("simple name containing '%s'", infix));
+                super(infix, String.format("simple name containing '%s'", infix));
                 this.infix = infix;
             }
 
@@ -2523,14 +2599,19 @@ public class JavaClass
             }
         }
 
-        private static class SimpleNameEndingWithPredicate extends DescribedPredicate<JavaClass> {
+        private static class SimpleNameEndingWithPredicate extends IndexedClassPredicate.Cacheable {
             private final String suffix;
 
             SimpleNameEndingWithPredicate(String suffix) {
-                super(String.format("simple name ending with '%s'", suffix));
+                super(suffix, String.format("simple name ending with '%s'", suffix));
                 this.suffix = suffix;
             }
 
+            @Override
+            Optional<BitSet> selectCandidates(ClassIndexes indexes) {
+                return Optional.of(indexes.getClassesWithSimpleNameEndingWith(suffix));
+            }
+
             @Override
             public boolean apply(JavaClass input) {
                 return input.getSimpleName().endsWith(suffix);
@@ -2551,6 +2632,25 @@ public class JavaClass
             }
         }
 
+        private static class AssignableToTypeNamePredicate extends IndexedClassPredicate.Cacheable {
+            private final String typeName;
+
+            AssignableToTypeNamePredicate(String typeName) {
+                super(typeName, "assignable to " + typeName);
+                this.typeName = typeName;
+            }
+
+            @Override
+            Optional<BitSet> selectCandidates(ClassIndexes indexes) {
+                return Optional.of(indexes.getClassesAssignableTo(typeName));
+            }
+
+            @Override
+            public boolean apply(JavaClass input) {
+                return input.isAssignableTo(typeName);
+            }
+        }
+
         private static class AssignableFromPredicate extends DescribedPredicate<JavaClass> {
             private final DescribedPredicate<? super JavaClass> predicate;
 
@@ -2565,14 +2665,53 @@ public class JavaClass
             }
         }
 
-        private static class PackageMatchesPredicate extends DescribedPredicate<JavaClass> {
+        private static class AssignableFromTypeNamePredicate extends IndexedClassPredicate.Cacheable {
+            private final String typeName;
+
+            AssignableFromTypeNamePredicate(String typeName) {
+                super(typeName, "assignable from " + typeName);
+                this.typeName = typeName;
+            }
+
+            @Override
+            public boolean apply(JavaClass input) {
+                return input.isAssignableFrom(typeName);
+            }
+        }
+
+        private static class PackageMatchesPredicate extends IndexedClassPredicate.Cacheable {
+            private static final Pattern PACKAGE_NAME = Pattern.compile("\\w+(\\.\\w+)*");
+            private static final String SUBPACKAGES_SUFFIX = "..";
+
+            private final String[] packageIdentifiers;
             private final Set<PackageMatcher> packageMatchers;
 
-            PackageMatchesPredicate(Set<PackageMatcher> packageMatchers, String description) {
-                super(description);
+            PackageMatchesPredicate(String[] packageIdentifiers, Set<PackageMatcher> packageMatchers, String description) {
+                super(ImmutableSet.copyOf(packageIdentifiers), description);
+                this.packageIdentifiers = packageIdentifiers;
                 this.packageMatchers = packageMatchers;
             }
 
+            // only plain package names, optionally followed by '..', can be looked up, all other identifiers need a scan
+            @Override
+            Optional<BitSet> selectCandidates(ClassIndexes indexes) {
+                BitSet result = new BitSet(indexes.size());
+                for (String identifier : packageIdentifiers) {
+                    if (PACKAGE_NAME.matcher(identifier).matches()) {
+                        result.or(indexes.getClassesInPackage(identifier));
+                    } else if (identifier.endsWith(SUBPACKAGES_SUFFIX) && PACKAGE_NAME.matcher(withoutSubpackagesSuffix(identifier)).matches()) {
+                        result.or(indexes.getClassesInPackageTree(withoutSubpackagesSuffix(identifier)));
+                    } else {
+                        return Optional.empty();
+                    }
+                }
+                return Optional.of(result);
+            }
+
+            private static String withoutSubpackagesSuffix(String identifier) {
+                return identifier.substring(0, identifier.length() - SUBPACKAGES_SUFFIX.length());
+            }
+
             @Override
             public boolean apply(JavaClass input) {
                 for (PackageMatcher matcher : packageMatchers) {
@@ -45,7 +45,7 @@ class JavaClassDependencies {
             @Override
             public Set<Dependency> get() {
                 ImmutableSet.Builder<Dependency> result = ImmutableSet.builder();
-                result.addAll(dependenciesFromAccesses(javaClass.getAccessesFromSelf()));
+                result.addAll(dependenciesFromAccesses(accessesFromSelf()));
                 result.addAll(inheritanceDependenciesFromSelf());
                 result.addAll(fieldDependenciesFromSelf());
                 result.addAll(returnTypeDependenciesFromSelf());
@@ -202,9 +202,20 @@ class JavaClassDependencies {
                 .build();
     }
 
+    private Set<JavaAccess<?>> accessesFromSelf() {
+        JavaClassMembers members = javaClass.members();
+        return ImmutableSet.<JavaAccess<?>>builder()
+                .addAll(members.getFieldAccessesFromSelf())
+                .addAll(members.getMethodCallsFromSelf())
+                .addAll(members.getConstructorCallsFromSelf())
+                .addAll(members.getMethodReferencesFromSelf())
+                .addAll(members.getConstructorReferencesFromSelf())
+                .build();
+    }
+
     private Set<Dependency> instanceofCheckDependenciesFromSelf() {
         ImmutableSet.Builder<Dependency> result = ImmutableSet.builder();
-        for (InstanceofCheck instanceofCheck : javaClass.getInstanceofChecks()) {
+        for (InstanceofCheck instanceofCheck : javaClass.members().getInstanceofChecks()) {
             result.addAll(Dependency.tryCreateFromInstanceofCheck(instanceofCheck));
         }
         return result.build();
@@ -212,7 +223,7 @@ class JavaClassDependencies {
 
     private Set<Dependency> referencedClassObjectDependenciesFromSelf() {
         ImmutableSet.Builder<Dependency> result = ImmutableSet.builder();
-        for (ReferencedClassObject referencedClassObject : javaClass.getReferencedClassObjects()) {
+        for (ReferencedClassObject referencedClassObject : javaClass.members().getReferencedClassObjects()) {
             result.addAll(Dependency.tryCreateFromReferencedClassObject(referencedClassObject));
         }
         return result.build();
@@ -65,8 +65,10 @@ public interface JavaClassDescriptor {
 
     @Internal
     final class From {
+        // weak values, so descriptors are only interned as long as they are referenced (e.g. by imported classes),
+        // otherwise every type name ever seen would stay in memory for the lifetime of the JVM
         private static final LoadingCache<String, JavaClassDescriptor> descriptorCache =
-                CacheBuilder.newBuilder().build(new CacheLoader<String, JavaClassDescriptor>() {
+                CacheBuilder.newBuilder().weakValues().build(new CacheLoader<String, JavaClassDescriptor>() {
                     @Override
                     public JavaClassDescriptor load(String typeName) {
                         if (primitiveClassesByNameOrDescriptor.containsKey(typeName)) {
@@ -17,8 +17,10 @@ package com.tngtech.archunit.core.domain;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -27,7 +29,10 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import com.tngtech.archunit.base.Optional;
 
 import static com.google.common.collect.Iterables.concat;
@@ -48,6 +53,28 @@ class JavaClassMembers {
     private final Supplier<Set<JavaMethod>> allMethods;
     private final Supplier<Set<JavaConstructor>> allConstructors;
     private final Supplier<Set<JavaField>> allFields;
+    private final Supplier<Map<String, JavaField>> fieldsByName = Suppliers.memoize(new Supplier<Map<String, JavaField>>() {
+        @Override
+        public Map<String, JavaField> get() {
+            Map<String, JavaField> result = new HashMap<>();
+            for (JavaField field : fields) {
+                if (!result.containsKey(field.getName())) {
+                    result.put(field.getName(), field);
+                }
+            }
+            return ImmutableMap.copyOf(result);
+        }
+    });
+    private final Supplier<ListMultimap<String, JavaCodeUnit>> codeUnitsByName = Suppliers.memoize(new Supplier<ListMultimap<String, JavaCodeUnit>>() {
+        @Override
+        public ListMultimap<String, JavaCodeUnit> get() {
+            ImmutableListMultimap.Builder<String, JavaCodeUnit> result = ImmutableListMultimap.builder();
+            for (JavaCodeUnit codeUnit : codeUnits) {
+                result.put(codeUnit.getName(), codeUnit);
+            }
+            return result.build();
+        }
+    });
     private final Supplier<Set<JavaMember>> allMembers = Suppliers.memoize(new Supplier<Set<JavaMember>>() {
         @Override
         public Set<JavaMember> get() {
@@ -130,12 +157,7 @@ class JavaClassMembers {
     }
 
     Optional<JavaField> tryGetField(String name) {
-        for (JavaField field : fields) {
-            if (name.equals(field.getName())) {
-                return Optional.of(field);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(fieldsByName.get().get(name));
     }
 
     Set<JavaCodeUnit> getCodeUnits() {
@@ -198,7 +220,7 @@ class JavaClassMembers {
 
     Set<InstanceofCheck> getInstanceofChecks() {
         ImmutableSet.Builder<InstanceofCheck> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getInstanceofChecks());
         }
         return result.build();
@@ -206,7 +228,7 @@ class JavaClassMembers {
 
     Set<ReferencedClassObject> getReferencedClassObjects() {
         ImmutableSet.Builder<ReferencedClassObject> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getReferencedClassObjects());
         }
         return result.build();
@@ -214,7 +236,7 @@ class JavaClassMembers {
 
     Set<JavaFieldAccess> getFieldAccessesFromSelf() {
         ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getFieldAccesses());
         }
         return result.build();
@@ -222,7 +244,7 @@ class JavaClassMembers {
 
     Set<JavaMethodCall> getMethodCallsFromSelf() {
         ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getMethodCallsFromSelf());
         }
         return result.build();
@@ -230,7 +252,7 @@ class JavaClassMembers {
 
     Set<JavaConstructorCall> getConstructorCallsFromSelf() {
         ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getConstructorCallsFromSelf());
         }
         return result.build();
@@ -238,7 +260,7 @@ class JavaClassMembers {
 
     Set<JavaMethodReference> getMethodReferencesFromSelf() {
         ImmutableSet.Builder<JavaMethodReference> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getMethodReferencesFromSelf());
         }
         return result.build();
@@ -246,7 +268,7 @@ class JavaClassMembers {
 
     Set<JavaConstructorReference> getConstructorReferencesFromSelf() {
         ImmutableSet.Builder<JavaConstructorReference> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
+        for (JavaCodeUnit codeUnit : ifCodeImported(codeUnits)) {
             result.addAll(codeUnit.getConstructorReferencesFromSelf());
         }
         return result.build();
@@ -254,7 +276,7 @@ class JavaClassMembers {
 
     Set<JavaFieldAccess> getFieldAccessesToSelf() {
         ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaField field : fields) {
+        for (JavaField field : ifCodeImported(fields)) {
             result.addAll(field.getAccessesToSelf());
         }
         return result.build();
@@ -262,7 +284,7 @@ class JavaClassMembers {
 
     Set<JavaMethodCall> getMethodCallsToSelf() {
         ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaMethod method : methods) {
+        for (JavaMethod method : ifCodeImported(methods)) {
             result.addAll(method.getCallsOfSelf());
         }
         return result.build();
@@ -270,7 +292,7 @@ class JavaClassMembers {
 
     Set<JavaMethodReference> getMethodReferencesToSelf() {
         ImmutableSet.Builder<JavaMethodReference> result = ImmutableSet.builder();
-        for (JavaMethod method : methods) {
+        for (JavaMethod method : ifCodeImported(methods)) {
             result.addAll(method.getReferencesToSelf());
         }
         return result.build();
@@ -278,7 +300,7 @@ class JavaClassMembers {
 
     Set<JavaConstructorCall> getConstructorCallsToSelf() {
         ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaConstructor constructor : constructors) {
+        for (JavaConstructor constructor : ifCodeImported(constructors)) {
             result.addAll(constructor.getCallsOfSelf());
         }
         return result.build();
@@ -286,12 +308,18 @@ class JavaClassMembers {
 
     Set<JavaConstructorReference> getConstructorReferencesToSelf() {
         ImmutableSet.Builder<JavaConstructorReference> result = ImmutableSet.builder();
-        for (JavaConstructor constructor : constructors) {
+        for (JavaConstructor constructor : ifCodeImported(constructors)) {
             result.addAll(constructor.getReferencesToSelf());
         }
         return result.build();
     }
 
+    // information derived from code is always empty if the code of the owner hasn't been imported,
+    // but dependencies must still be derivable without running into the checks of the public accessors
+    private <T> Set<T> ifCodeImported(Set<T> members) {
+        return owner.isCodeImported() ? members : Collections.<T>emptySet();
+    }
+
     private <T extends JavaCodeUnit> T findMatchingCodeUnit(Set<T> codeUnits, String name, List<String> parameters) {
         Optional<T> codeUnit = tryFindMatchingCodeUnit(codeUnits, name, parameters);
         if (!codeUnit.isPresent()) {
@@ -318,11 +346,12 @@ class JavaClassMembers {
         }
     }
 
+    @SuppressWarnings("unchecked") // cast is safe because we only pick code units contained in the passed Set<T>
     private <T extends JavaCodeUnit> Set<T> findCodeUnitsWithMatchingNameAndParameters(Set<T> codeUnits, String name, List<String> parameters) {
         Set<T> matching = new HashSet<>();
-        for (T codeUnit : codeUnits) {
-            if (name.equals(codeUnit.getName()) && parameters.equals(namesOf(codeUnit.getRawParameterTypes()))) {
-                matching.add(codeUnit);
+        for (JavaCodeUnit codeUnit : codeUnitsByName.get().get(name)) {
+            if (codeUnits.contains(codeUnit) && parameters.equals(namesOf(codeUnit.getRawParameterTypes()))) {
+                matching.add((T) codeUnit);
             }
         }
         return matching;
@@ -15,35 +15,46 @@
  */
 package com.tngtech.archunit.core.domain;
 
+import java.util.AbstractCollection;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.UnmodifiableIterator;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedIterable;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.ForwardingCollection;
-import com.tngtech.archunit.base.Guava;
 import com.tngtech.archunit.core.domain.properties.CanOverrideDescription;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 
+/**
+ * The classes imported via {@link com.tngtech.archunit.core.importer.ClassFileImporter ClassFileImporter} or a subset of them.
+ * Subsets created via {@link #that(DescribedPredicate)}, {@link #union(JavaClasses)} or {@link #intersection(JavaClasses)}
+ * don't copy any classes, but are views on the classes they originate from, which share their lookup structures.
+ * Use {@link #copy()} to explicitly obtain {@link JavaClasses} with own lookup structures.
+ */
 public final class JavaClasses extends ForwardingCollection<JavaClass> implements DescribedIterable<JavaClass>, CanOverrideDescription<JavaClasses> {
-    private final ImmutableMap<String, JavaClass> classes;
+    private final ClassIndexes universe;
+    private final BitSet members;
+    private final int size;
     private final JavaPackage defaultPackage;
     private final String description;
+    private final Collection<JavaClass> memberCollection = new Members();
 
-    private JavaClasses(JavaPackage defaultPackage, Map<String, JavaClass> classes) {
-        this(defaultPackage, classes, "classes");
-    }
-
-    private JavaClasses(JavaPackage defaultPackage, Map<String, JavaClass> classes, String description) {
-        this.classes = ImmutableMap.copyOf(classes);
+    private JavaClasses(JavaPackage defaultPackage, ClassIndexes universe, BitSet members, String description) {
+        this.universe = checkNotNull(universe);
+        this.members = checkNotNull(members);
+        this.size = members.cardinality();
         this.defaultPackage = checkNotNull(defaultPackage);
         this.description = checkNotNull(description);
     }
@@ -54,14 +65,63 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
      */
     @PublicAPI(usage = ACCESS)
     public JavaClasses that(DescribedPredicate<? super JavaClass> predicate) {
-        Map<String, JavaClass> matchingElements = Guava.Maps.filterValues(classes, predicate);
         String newDescription = String.format("%s that %s", description, predicate.getDescription());
-        return new JavaClasses(defaultPackage, matchingElements, newDescription);
+        return new JavaClasses(defaultPackage, universe, universe.getMatching(predicate, members), newDescription);
+    }
+
+    /**
+     * @param other some other {@link JavaClasses}
+     * @return {@link JavaClasses} containing all classes contained in these or the other {@link JavaClasses}
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses union(JavaClasses other) {
+        String newDescription = String.format("%s and %s", description, other.description);
+        if (universe == other.universe) {
+            BitSet result = (BitSet) members.clone();
+            result.or(other.members);
+            return new JavaClasses(defaultPackage, universe, result, newDescription);
+        }
+        Map<String, JavaClass> classes = new LinkedHashMap<>();
+        for (JavaClass javaClass : Iterables.concat(this, other)) {
+            classes.put(javaClass.getName(), javaClass);
+        }
+        return of(classes.values()).as(newDescription);
+    }
+
+    /**
+     * @param other some other {@link JavaClasses}
+     * @return {@link JavaClasses} containing only those classes contained in these as well as in the other {@link JavaClasses}
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses intersection(JavaClasses other) {
+        String newDescription = String.format("%s that are also %s", description, other.description);
+        BitSet result = (BitSet) members.clone();
+        if (universe == other.universe) {
+            result.and(other.members);
+        } else {
+            for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+                if (!other.contain(universe.get(position).getName())) {
+                    result.clear(position);
+                }
+            }
+        }
+        return new JavaClasses(defaultPackage, universe, result, newDescription);
+    }
+
+    /**
+     * @return {@link JavaClasses} containing the same classes with the same description, but with own lookup indexes that only cover
+     *         these classes instead of sharing those of the {@link JavaClasses} these were derived from. This can make lookups
+     *         on a small subset of a big {@link JavaClasses} cheaper. Note that the copy does not release the original import,
+     *         since the classes themselves still reference their packages, dependencies and accesses within it.
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses copy() {
+        return of(defaultPackage, this).as(description);
     }
 
     @Override
     public JavaClasses as(String description) {
-        return new JavaClasses(defaultPackage, classes, description);
+        return new JavaClasses(defaultPackage, universe, members, description);
     }
 
     @Override
@@ -71,6 +131,10 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
 
     @Override
     public String toString() {
+        Map<String, JavaClass> classes = new LinkedHashMap<>();
+        for (JavaClass javaClass : this) {
+            classes.put(javaClass.getName(), javaClass);
+        }
         return getClass().getSimpleName() + "{classes=" + classes + '}';
     }
 
@@ -104,7 +168,8 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
      */
     @PublicAPI(usage = ACCESS)
     public boolean contain(String typeName) {
-        return classes.containsKey(typeName);
+        int position = universe.getPosition(typeName);
+        return position >= 0 && members.get(position);
     }
 
     /**
@@ -118,7 +183,7 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
         checkArgument(contain(typeName), "%s do not contain %s of type %s",
                 getClass().getSimpleName(), JavaClass.class.getSimpleName(), typeName);
 
-        return classes.get(typeName);
+        return universe.get(universe.getPosition(typeName));
     }
 
     /**
@@ -150,7 +215,11 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
 
     @Override
     public int hashCode() {
-        return Objects.hash(classes.keySet(), description);
+        int namesHashCode = 0;
+        for (JavaClass javaClass : this) {
+            namesHashCode += javaClass.getName().hashCode();
+        }
+        return Objects.hash(namesHashCode, description);
     }
 
     @Override
@@ -162,13 +231,27 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
             return false;
         }
         final JavaClasses other = (JavaClasses) obj;
-        return Objects.equals(this.classes.keySet(), other.classes.keySet())
-                && Objects.equals(this.description, other.description);
+        return Objects.equals(this.description, other.description) && containSameClassNames(other);
+    }
+
+    private boolean containSameClassNames(JavaClasses other) {
+        if (universe == other.universe) {
+            return members.equals(other.members);
+        }
+        if (size != other.size) {
+            return false;
+        }
+        for (JavaClass javaClass : this) {
+            if (!other.contain(javaClass.getName())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     protected Collection<JavaClass> delegate() {
-        return classes.values();
+        return memberCollection;
     }
 
     static JavaClasses of(Iterable<JavaClass> classes) {
@@ -179,7 +262,12 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
         JavaPackage defaultPackage = !Iterables.isEmpty(classes)
                 ? getRoot(classes.iterator().next().getPackage())
                 : JavaPackage.from(classes);
-        return new JavaClasses(defaultPackage, mapping);
+        return of(defaultPackage, mapping.values());
+    }
+
+    private static JavaClasses of(JavaPackage defaultPackage, Collection<JavaClass> classes) {
+        ClassIndexes universe = new ClassIndexes(classes);
+        return new JavaClasses(defaultPackage, universe, universe.all(), "classes");
     }
 
     private static JavaPackage getRoot(JavaPackage javaPackage) {
@@ -201,7 +289,7 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
             reverseDependenciesCreation.registerDependenciesOf(clazz, classDependencies);
         }
         reverseDependenciesCreation.finish(allClasses);
-        return new JavaClasses(defaultPackage, selectedClasses);
+        return of(defaultPackage, selectedClasses.values());
     }
 
     private static void setPackage(JavaClass clazz, JavaPackage defaultPackage) {
@@ -210,4 +298,42 @@ public final class JavaClasses extends ForwardingCollection<JavaClass> implement
                 : defaultPackage.getPackage(clazz.getPackageName());
         clazz.setPackage(javaPackage);
     }
+
+    private class Members extends AbstractCollection<JavaClass> {
+        @Override
+        public Iterator<JavaClass> iterator() {
+            return new UnmodifiableIterator<JavaClass>() {
+                private int nextPosition = members.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return nextPosition >= 0;
+                }
+
+                @Override
+                public JavaClass next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    JavaClass result = universe.get(nextPosition);
+                    nextPosition = members.nextSetBit(nextPosition + 1);
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof JavaClass)) {
+                return false;
+            }
+            String name = ((JavaClass) o).getName();
+            return contain(name) && get(name).equals(o);
+        }
+    }
 }
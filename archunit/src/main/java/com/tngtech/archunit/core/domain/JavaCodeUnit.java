@@ -168,36 +168,43 @@ public abstract class JavaCodeUnit
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccesses() {
+        checkCodeImported("Field accesses");
         return fieldAccesses;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
+        checkCodeImported("Method calls");
         return methodCalls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
+        checkCodeImported("Constructor calls");
         return constructorCalls;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodReference> getMethodReferencesFromSelf() {
+        checkCodeImported("Method references");
         return methodReferences;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorReference> getConstructorReferencesFromSelf() {
+        checkCodeImported("Constructor references");
         return constructorReferences;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<ReferencedClassObject> getReferencedClassObjects() {
+        checkCodeImported("Referenced class objects");
         return referencedClassObjects;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<InstanceofCheck> getInstanceofChecks() {
+        checkCodeImported("Instanceof checks");
         return instanceofChecks;
     }
 
@@ -66,11 +66,13 @@ public final class JavaConstructor extends JavaCodeUnit {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getCallsOfSelf() {
+        checkCodeImported("Calls");
         return getReverseDependencies().getCallsTo(this);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorReference> getReferencesToSelf() {
+        checkCodeImported("References");
         return getReverseDependencies().getReferencesTo(this);
     }
 
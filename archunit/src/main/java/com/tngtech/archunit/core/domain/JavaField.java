@@ -68,6 +68,7 @@ public class JavaField extends JavaMember implements HasType {
     @Override
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getAccessesToSelf() {
+        checkCodeImported("Accesses");
         return getReverseDependencies().getAccessesTo(this);
     }
 
@@ -41,7 +41,6 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.base.DescribedPredicate.equalTo;
 import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Utils.toAnnotationOfType;
 import static com.tngtech.archunit.core.domain.properties.HasName.Functions.GET_NAME;
-import static com.tngtech.archunit.core.domain.properties.HasType.Functions.GET_RAW_TYPE;
 
 public abstract class JavaMember implements
         HasName.AndFullName, HasDescriptor, HasAnnotations<JavaMember>, HasModifiers, HasOwner<JavaClass>, HasSourceCodeLocation {
@@ -128,7 +127,7 @@ public abstract class JavaMember implements
     @Override
     @PublicAPI(usage = ACCESS)
     public boolean isMetaAnnotatedWith(String typeName) {
-        return isMetaAnnotatedWith(GET_RAW_TYPE.then(GET_NAME).is(equalTo(typeName)));
+        return MetaAnnotations.isMetaAnnotatedWith(annotations.values(), typeName);
     }
 
     @Override
@@ -184,6 +183,10 @@ public abstract class JavaMember implements
         annotations = context.createAnnotations(this);
     }
 
+    void checkCodeImported(String information) {
+        getOwner().checkCodeImported(information, getDescription());
+    }
+
     protected ReverseDependencies getReverseDependencies() {
         return reverseDependencies;
     }
@@ -72,11 +72,13 @@ public class JavaMethod extends JavaCodeUnit {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getCallsOfSelf() {
+        checkCodeImported("Calls");
         return getReverseDependencies().getCallsTo(this);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodReference> getReferencesToSelf() {
+        checkCodeImported("References");
         return getReverseDependencies().getReferencesTo(this);
     }
 
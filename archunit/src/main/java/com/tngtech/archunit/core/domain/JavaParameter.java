@@ -33,9 +33,7 @@ import com.tngtech.archunit.core.importer.DomainBuilders;
 
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.base.DescribedPredicate.anyElementThat;
-import static com.tngtech.archunit.base.DescribedPredicate.equalTo;
 import static com.tngtech.archunit.base.Guava.toGuava;
-import static com.tngtech.archunit.core.domain.JavaClass.Predicates.equivalentTo;
 import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Utils.toAnnotationOfType;
 import static com.tngtech.archunit.core.domain.properties.HasName.Functions.GET_NAME;
 import static com.tngtech.archunit.core.domain.properties.HasType.Functions.GET_RAW_TYPE;
@@ -108,12 +106,12 @@ public final class JavaParameter implements HasType, HasOwner<JavaCodeUnit>, Has
 
     @Override
     public boolean isMetaAnnotatedWith(Class<? extends Annotation> annotationType) {
-        return isMetaAnnotatedWith(GET_RAW_TYPE.is(equivalentTo(annotationType)));
+        return isMetaAnnotatedWith(annotationType.getName());
     }
 
     @Override
     public boolean isMetaAnnotatedWith(String annotationTypeName) {
-        return isMetaAnnotatedWith(GET_ANNOTATION_TYPE_NAME.is(equalTo(annotationTypeName)));
+        return MetaAnnotations.isMetaAnnotatedWith(annotations.values(), annotationTypeName);
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+class MetaAnnotations {
+    private MetaAnnotations() {
+    }
+
+    static boolean isMetaAnnotatedWith(Collection<? extends JavaAnnotation<?>> annotations, String annotationTypeName) {
+        for (JavaAnnotation<?> annotation : annotations) {
+            if (annotation.getRawType().getMetaAnnotationTypeNames().contains(annotationTypeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The name of the given annotation type together with the names of all annotation types it is
+     * (transitively) meta-annotated with. This is computed iteratively, since meta-annotations may be cyclic
+     * (e.g. {@link java.lang.annotation.Documented @Documented} is annotated with itself).
+     */
+    static Set<String> findMetaAnnotationTypeNamesOf(JavaClass annotationType) {
+        Set<String> result = new HashSet<>();
+        Deque<JavaClass> typesToVisit = new ArrayDeque<>();
+        typesToVisit.add(annotationType);
+        while (!typesToVisit.isEmpty()) {
+            JavaClass current = typesToVisit.poll();
+            if (result.add(current.getName())) {
+                for (JavaAnnotation<JavaClass> metaAnnotation : current.getAnnotations()) {
+                    typesToVisit.add(metaAnnotation.getRawType());
+                }
+            }
+        }
+        return ImmutableSet.copyOf(result);
+    }
+}
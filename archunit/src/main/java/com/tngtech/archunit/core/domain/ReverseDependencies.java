@@ -166,24 +166,24 @@ final class ReverseDependencies {
             registerMethods(clazz);
             registerConstructors(clazz);
             registerAnnotations(clazz);
-            registerStaticInitializer(clazz);
+            registerInstanceofChecks(clazz);
             allDependencies.add(classDependencies);
         }
 
         private void registerAccesses(JavaClass clazz) {
-            for (JavaFieldAccess access : clazz.getFieldAccessesFromSelf()) {
+            for (JavaFieldAccess access : clazz.members().getFieldAccessesFromSelf()) {
                 fieldAccessDependencies.put(access.getTargetOwner(), access);
             }
-            for (JavaMethodCall call : clazz.getMethodCallsFromSelf()) {
+            for (JavaMethodCall call : clazz.members().getMethodCallsFromSelf()) {
                 methodCallDependencies.put(call.getTargetOwner(), call);
             }
-            for (JavaMethodReference reference : clazz.getMethodReferencesFromSelf()) {
+            for (JavaMethodReference reference : clazz.members().getMethodReferencesFromSelf()) {
                 methodReferenceDependencies.put(reference.getTargetOwner(), reference);
             }
-            for (JavaConstructorCall call : clazz.getConstructorCallsFromSelf()) {
+            for (JavaConstructorCall call : clazz.members().getConstructorCallsFromSelf()) {
                 constructorCallDependencies.put(call.getTarget().getFullName(), call);
             }
-            for (JavaConstructorReference reference : clazz.getConstructorReferencesFromSelf()) {
+            for (JavaConstructorReference reference : clazz.members().getConstructorReferencesFromSelf()) {
                 constructorReferenceDependencies.put(reference.getTarget().getFullName(), reference);
             }
         }
@@ -203,9 +203,6 @@ final class ReverseDependencies {
                 for (ThrowsDeclaration<JavaMethod> throwsDeclaration : method.getThrowsClause()) {
                     methodsThrowsDeclarationDependencies.put(throwsDeclaration.getRawType(), throwsDeclaration);
                 }
-                for (InstanceofCheck instanceofCheck : method.getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
             }
         }
 
@@ -217,9 +214,6 @@ final class ReverseDependencies {
                 for (ThrowsDeclaration<JavaConstructor> throwsDeclaration : constructor.getThrowsClause()) {
                     constructorThrowsDeclarationDependencies.put(throwsDeclaration.getRawType(), throwsDeclaration);
                 }
-                for (InstanceofCheck instanceofCheck : constructor.getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
             }
         }
 
@@ -254,11 +248,9 @@ final class ReverseDependencies {
             return result;
         }
 
-        private void registerStaticInitializer(JavaClass clazz) {
-            if (clazz.getStaticInitializer().isPresent()) {
-                for (InstanceofCheck instanceofCheck : clazz.getStaticInitializer().get().getInstanceofChecks()) {
-                    instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
-                }
+        private void registerInstanceofChecks(JavaClass clazz) {
+            for (InstanceofCheck instanceofCheck : clazz.members().getInstanceofChecks()) {
+                instanceofCheckDependencies.put(instanceofCheck.getRawType(), instanceofCheck);
             }
         }
 
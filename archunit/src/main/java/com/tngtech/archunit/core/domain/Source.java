@@ -49,9 +49,13 @@ public class Source {
     private final Md5sum md5sum;
 
     Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled) {
+        this(uri, fileName, md5InClassSourcesEnabled, Optional.<byte[]>empty());
+    }
+
+    Source(URI uri, Optional<String> fileName, boolean md5InClassSourcesEnabled, Optional<byte[]> knownContents) {
         this.uri = checkNotNull(uri);
         this.fileName = checkNotNull(fileName);
-        md5sum = md5InClassSourcesEnabled ? Md5sum.of(uri) : Md5sum.DISABLED;
+        md5sum = md5InClassSourcesEnabled ? Md5sum.of(uri, knownContents) : Md5sum.DISABLED;
     }
 
     @PublicAPI(usage = ACCESS)
@@ -167,12 +171,12 @@ public class Source {
             }
         }
 
-        private static Md5sum of(URI uri) {
+        private static Md5sum of(URI uri, Optional<byte[]> knownContents) {
             if (MD5_DIGEST == null) {
                 return NOT_SUPPORTED;
             }
 
-            Optional<byte[]> bytesFromUri = read(uri);
+            Optional<byte[]> bytesFromUri = knownContents.isPresent() ? knownContents : read(uri);
             return bytesFromUri.isPresent() ? new Md5sum(bytesFromUri.get(), MD5_DIGEST) : UNDETERMINED;
         }
 
@@ -16,13 +16,16 @@
 package com.tngtech.archunit.core.domain.properties;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.base.CacheablePredicate;
 import com.tngtech.archunit.base.ChainableFunction;
 import com.tngtech.archunit.base.DescribedPredicate;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.core.domain.properties.HasName.Utils.namesOf;
 
@@ -54,28 +57,43 @@ public interface HasName {
                 return new FullNameMatchingPredicate(regex);
             }
 
-            private static class FullNameEqualsPredicate extends DescribedPredicate<HasName.AndFullName> {
-                private final String fullName;
-
+            private static class FullNameEqualsPredicate extends HasName.Predicates.CacheableNamePredicate<HasName.AndFullName> {
                 FullNameEqualsPredicate(String fullName) {
-                    super(String.format("full name '%s'", fullName));
-                    this.fullName = fullName;
+                    this(fullName, String.format("full name '%s'", fullName));
+                }
+
+                private FullNameEqualsPredicate(String fullName, String description) {
+                    super(fullName, description);
+                }
+
+                @Override
+                FullNameEqualsPredicate withDescription(String description) {
+                    return new FullNameEqualsPredicate(value, description);
                 }
 
                 @Override
                 public boolean apply(HasName.AndFullName input) {
-                    return input.getFullName().equals(fullName);
+                    return input.getFullName().equals(value);
                 }
             }
 
-            private static class FullNameMatchingPredicate extends DescribedPredicate<HasName.AndFullName> {
+            private static class FullNameMatchingPredicate extends HasName.Predicates.CacheableNamePredicate<HasName.AndFullName> {
                 private final Pattern pattern;
 
                 FullNameMatchingPredicate(String regex) {
-                    super(String.format("full name matching '%s'", regex));
+                    this(regex, String.format("full name matching '%s'", regex));
+                }
+
+                private FullNameMatchingPredicate(String regex, String description) {
+                    super(regex, description);
                     this.pattern = Pattern.compile(regex);
                 }
 
+                @Override
+                FullNameMatchingPredicate withDescription(String description) {
+                    return new FullNameMatchingPredicate(value, description);
+                }
+
                 @Override
                 public boolean apply(HasName.AndFullName input) {
                     return pattern.matcher(input.getFullName()).matches();
@@ -129,74 +147,143 @@ public interface HasName {
             return new NameEndingWithPredicate(postfix);
         }
 
-        private static class NameEqualsPredicate extends DescribedPredicate<HasName> {
-            private final String name;
+        private static class NameEqualsPredicate extends CacheableNamePredicate<HasName> {
+            NameEqualsPredicate(String value) {
+                this(value, String.format("name '%s'", value));
+            }
+
+            private NameEqualsPredicate(String value, String description) {
+                super(value, description);
+            }
 
-            NameEqualsPredicate(String name) {
-                super(String.format("name '%s'", name));
-                this.name = name;
+            @Override
+            NameEqualsPredicate withDescription(String description) {
+                return new NameEqualsPredicate(value, description);
             }
 
             @Override
             public boolean apply(HasName input) {
-                return input.getName().equals(name);
+                return input.getName().equals(value);
             }
         }
 
-        private static class NameMatchingPredicate extends DescribedPredicate<HasName> {
+        private static class NameMatchingPredicate extends CacheableNamePredicate<HasName> {
             private final Pattern pattern;
 
             NameMatchingPredicate(String regex) {
-                super(String.format("name matching '%s'", regex));
+                this(regex, String.format("name matching '%s'", regex));
+            }
+
+            private NameMatchingPredicate(String regex, String description) {
+                super(regex, description);
                 this.pattern = Pattern.compile(regex);
             }
 
+            @Override
+            NameMatchingPredicate withDescription(String description) {
+                return new NameMatchingPredicate(value, description);
+            }
+
             @Override
             public boolean apply(HasName input) {
                 return pattern.matcher(input.getName()).matches();
             }
         }
 
-        private static class NameStartingWithPredicate extends DescribedPredicate<HasName> {
-            private final String prefix;
+        private static class NameStartingWithPredicate extends CacheableNamePredicate<HasName> {
+            NameStartingWithPredicate(String value) {
+                this(value, String.format("name starting with '%s'", value));
+            }
 
-            NameStartingWithPredicate(String prefix) {
-                super(String.format("name starting with '%s'", prefix));
-                this.prefix = prefix;
+            private NameStartingWithPredicate(String value, String description) {
+                super(value, description);
             }
 
             @Override
-            public boolean apply(HasName input) {
-                return input.getName().startsWith(prefix);
+            NameStartingWithPredicate withDescription(String description) {
+                return new NameStartingWithPredicate(value, description);
             }
 
+            @Override
+            public boolean apply(HasName input) {
+                return input.getName().startsWith(value);
+            }
         }
 
-        private static class NameContainingPredicate extends DescribedPredicate<HasName> {
-            private final String infix;
+        private static class NameContainingPredicate extends CacheableNamePredicate<HasName> {
+            NameContainingPredicate(String value) {
+                this(value, String.format("name containing '%s'", value));
+            }
 
-            NameContainingPredicate(String infix) {
-                super(String.format("name containing '%s'", infix));
-                this.infix = infix;
+            private NameContainingPredicate(String value, String description) {
+                super(value, description);
+            }
+
+            @Override
+            NameContainingPredicate withDescription(String description) {
+                return new NameContainingPredicate(value, description);
             }
 
             @Override
             public boolean apply(HasName input) {
-                return input.getName().contains(infix);
+                return input.getName().contains(value);
             }
         }
 
-        private static class NameEndingWithPredicate extends DescribedPredicate<HasName> {
-            private final String suffix;
+        private static class NameEndingWithPredicate extends CacheableNamePredicate<HasName> {
+            NameEndingWithPredicate(String value) {
+                this(value, String.format("name ending with '%s'", value));
+            }
 
-            NameEndingWithPredicate(String suffix) {
-                super(String.format("name ending with '%s'", suffix));
-                this.suffix = suffix;
+            private NameEndingWithPredicate(String value, String description) {
+                super(value, description);
+            }
+
+            @Override
+            NameEndingWithPredicate withDescription(String description) {
+                return new NameEndingWithPredicate(value, description);
             }
 
             @Override
             public boolean apply(HasName input) {
-                return input.getName().endsWith(suffix);
+                return input.getName().endsWith(value);
+            }
+        }
+
+        /**
+         * Base for name predicates, which are only determined by their type and a single {@link String} value. Overriding the description
+         * keeps the type, so equal predicates can share their results no matter how they are described.
+         */
+        abstract static class CacheableNamePredicate<T extends HasName> extends DescribedPredicate<T> implements CacheablePredicate {
+            final String value;
+
+            CacheableNamePredicate(String value, String description) {
+                super("%s", description);
+                this.value = checkNotNull(value);
+            }
+
+            abstract CacheableNamePredicate<T> withDescription(String description);
+
+            @Override
+            public DescribedPredicate<T> as(String description, Object... params) {
+                return withDescription(String.format(description, params));
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(getClass(), value);
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+                if (obj == null || getClass() != obj.getClass()) {
+                    return false;
+                }
+                CacheableNamePredicate<?> other = (CacheableNamePredicate<?>) obj;
+                return value.equals(other.value);
             }
         }
     }
@@ -15,15 +15,10 @@
  */
 package com.tngtech.archunit.core.importer;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.LinkedHashMultimap;
 import com.tngtech.archunit.Internal;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.AccessTarget;
@@ -34,7 +29,6 @@ import com.tngtech.archunit.core.domain.AccessTarget.FieldAccessTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.MethodCallTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.MethodReferenceTarget;
 import com.tngtech.archunit.core.domain.JavaClass;
-import com.tngtech.archunit.core.domain.JavaClassDescriptor;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaConstructor;
 import com.tngtech.archunit.core.domain.JavaField;
@@ -45,7 +39,6 @@ import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilde
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
 import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
 
-import static com.tngtech.archunit.core.domain.JavaModifier.STATIC;
 import static com.tngtech.archunit.core.importer.DomainBuilders.newConstructorCallTargetBuilder;
 import static com.tngtech.archunit.core.importer.DomainBuilders.newConstructorReferenceTargetBuilder;
 import static com.tngtech.archunit.core.importer.DomainBuilders.newMethodCallTargetBuilder;
@@ -164,8 +157,8 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaConstructor>> memberSupplier = new ConstructorSupplier(targetOwner, target);
-                List<JavaClass> paramTypes = getArgumentTypesFrom(target.desc, classes);
+                Supplier<Optional<JavaConstructor>> memberSupplier = new ConstructorSupplier(targetOwner, target, classes.getAccessTargetMembers());
+                List<JavaClass> paramTypes = classes.getOrResolveParameterTypes(target.desc);
                 JavaClass returnType = classes.getOrResolve(void.class.getName());
                 return targetBuilderSupplier.get()
                         .withOwner(targetOwner)
@@ -178,20 +171,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class ConstructorSupplier implements Supplier<Optional<JavaConstructor>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final AccessTargetMembers accessTargetMembers;
 
-                ConstructorSupplier(JavaClass targetOwner, TargetInfo target) {
+                ConstructorSupplier(JavaClass targetOwner, TargetInfo target, AccessTargetMembers accessTargetMembers) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.accessTargetMembers = accessTargetMembers;
                 }
 
                 @Override
                 public Optional<JavaConstructor> get() {
-                    for (JavaConstructor constructor : targetOwner.getConstructors()) {
-                        if (constructor.getDescriptor().equals(target.desc)) {
-                            return Optional.of(constructor);
-                        }
-                    }
-                    return Optional.empty();
+                    return accessTargetMembers.resolveConstructor(targetOwner, target);
                 }
             }
         }
@@ -205,9 +195,9 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public TARGET create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaMethod>> methodsSupplier = new MethodSupplier(targetOwner, target);
-                List<JavaClass> parameters = getArgumentTypesFrom(target.desc, classes);
-                JavaClass returnType = classes.getOrResolve(JavaClassDescriptorImporter.importAsmMethodReturnType(target.desc).getFullyQualifiedClassName());
+                Supplier<Optional<JavaMethod>> methodsSupplier = new MethodSupplier(targetOwner, target, classes.getAccessTargetMembers());
+                List<JavaClass> parameters = classes.getOrResolveParameterTypes(target.desc);
+                JavaClass returnType = classes.getOrResolveReturnType(target.desc);
                 return targetBuilderSupplier.get()
                         .withOwner(targetOwner)
                         .withName(target.name)
@@ -220,15 +210,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class MethodSupplier implements Supplier<Optional<JavaMethod>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final AccessTargetMembers accessTargetMembers;
 
-                MethodSupplier(JavaClass targetOwner, TargetInfo target) {
+                MethodSupplier(JavaClass targetOwner, TargetInfo target, AccessTargetMembers accessTargetMembers) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.accessTargetMembers = accessTargetMembers;
                 }
 
                 @Override
                 public Optional<JavaMethod> get() {
-                    return searchTargetMethod(targetOwner, target);
+                    return accessTargetMembers.resolveMethod(targetOwner, target);
                 }
             }
         }
@@ -236,7 +228,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
         private static class FieldAccessTargetFactory implements AccessTargetFactory<FieldAccessTarget> {
             @Override
             public FieldAccessTarget create(JavaClass targetOwner, TargetInfo target, ImportedClasses classes) {
-                Supplier<Optional<JavaField>> fieldSupplier = new FieldSupplier(targetOwner, target);
+                Supplier<Optional<JavaField>> fieldSupplier = new FieldSupplier(targetOwner, target, classes.getAccessTargetMembers());
                 JavaClass fieldType = classes.getOrResolve(JavaClassDescriptorImporter.importAsmTypeFromDescriptor(target.desc).getFullyQualifiedClassName());
                 return new FieldAccessTargetBuilder()
                         .withOwner(targetOwner)
@@ -249,15 +241,17 @@ interface AccessRecord<TARGET extends AccessTarget> {
             private static class FieldSupplier implements Supplier<Optional<JavaField>> {
                 private final JavaClass targetOwner;
                 private final TargetInfo target;
+                private final AccessTargetMembers accessTargetMembers;
 
-                FieldSupplier(JavaClass targetOwner, TargetInfo target) {
+                FieldSupplier(JavaClass targetOwner, TargetInfo target, AccessTargetMembers accessTargetMembers) {
                     this.targetOwner = targetOwner;
                     this.target = target;
+                    this.accessTargetMembers = accessTargetMembers;
                 }
 
                 @Override
                 public Optional<JavaField> get() {
-                    return searchTargetField(targetOwner, target);
+                    return accessTargetMembers.resolveField(targetOwner, target);
                 }
             }
         }
@@ -325,133 +319,5 @@ interface AccessRecord<TARGET extends AccessTarget> {
             throw new IllegalStateException("Never found a " + JavaCodeUnit.class.getSimpleName() +
                     " that matches supposed origin " + rawOrigin);
         }
-
-        private static List<JavaClass> getArgumentTypesFrom(String descriptor, ImportedClasses classes) {
-            ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
-            for (JavaClassDescriptor type : JavaClassDescriptorImporter.importAsmMethodArgumentTypes(descriptor)) {
-                result.add(classes.getOrResolve(type.getFullyQualifiedClassName()));
-            }
-            return result.build();
-        }
-
-        private static Optional<JavaField> searchTargetField(JavaClass targetOwner, TargetInfo targetInfo) {
-            Optional<JavaField> directlyFound = targetOwner.tryGetField(targetInfo.name);
-            if (directlyFound.isPresent()) {
-                return directlyFound;
-            }
-
-            // if a matching field has been found in an interface, it must be the one and only matching field,
-            // since it is public static final and the compiler would forbid the call without disambiguation otherwise
-            Optional<JavaField> foundOnInterface = searchFieldInInterfaces(targetOwner, targetInfo);
-            if (foundOnInterface.isPresent()) {
-                return foundOnInterface;
-            }
-
-            return searchFieldInSuperClass(targetOwner, targetInfo);
-        }
-
-        private static Optional<JavaField> searchFieldInInterfaces(JavaClass targetOwner, TargetInfo targetInfo) {
-            for (JavaClass rawInterface : targetOwner.getRawInterfaces()) {
-                Optional<JavaField> foundOnInterface = searchTargetField(rawInterface, targetInfo);
-                if (foundOnInterface.isPresent()) {
-                    return foundOnInterface;
-                }
-            }
-            return Optional.empty();
-        }
-
-        private static Optional<JavaField> searchFieldInSuperClass(JavaClass targetOwner, TargetInfo targetInfo) {
-            return targetOwner.getRawSuperclass().isPresent()
-                    ? searchTargetField(targetOwner.getRawSuperclass().get(), targetInfo)
-                    : Optional.<JavaField>empty();
-        }
-
-        private static Optional<JavaMethod> searchTargetMethod(JavaClass targetOwner, TargetInfo targetInfo) {
-            MatchingMethods matchingMethods = new MatchingMethods(targetInfo);
-            matchingMethods.addMatching(targetOwner.getMethods(), true);
-            return matchingMethods.hasMatch()
-                    // shortcut -> if we found it directly in the class we don't need to look further up the hierarchy
-                    ? matchingMethods.determineMostSpecificMethod()
-                    : searchTargetMethodInHierarchy(targetOwner, matchingMethods);
-        }
-
-        private static Optional<JavaMethod> searchTargetMethodInHierarchy(JavaClass targetOwner, MatchingMethods matchingMethods) {
-            Optional<JavaClass> superclass = targetOwner.getRawSuperclass();
-            if (superclass.isPresent()) {
-                matchingMethods.addMatching(superclass.get().getMethods(), true);
-                searchTargetMethodInHierarchy(superclass.get(), matchingMethods);
-            }
-            for (JavaClass interfaceType : targetOwner.getRawInterfaces()) {
-                matchingMethods.addMatching(interfaceType.getMethods(), false);
-                searchTargetMethodInHierarchy(interfaceType, matchingMethods);
-            }
-            return matchingMethods.determineMostSpecificMethod();
-        }
-
-        private static class MatchingMethods {
-            private final TargetInfo target;
-            private final LinkedHashMultimap<JavaClass, JavaMethod> matchingMethodsByReturnType = LinkedHashMultimap.create();
-
-            private MatchingMethods(TargetInfo target) {
-                this.target = target;
-            }
-
-            void addMatching(Collection<JavaMethod> methods, boolean includeStatic) {
-                for (JavaMethod method : methods) {
-                    if (matches(method, includeStatic)) {
-                        matchingMethodsByReturnType.put(method.getRawReturnType(), method);
-                    }
-                }
-            }
-
-            private boolean matches(JavaMethod method, boolean includeStatic) {
-                return method.getName().equals(target.name)
-                        && method.getDescriptor().equals(target.desc)
-                        && (includeStatic || !method.getModifiers().contains(STATIC));
-            }
-
-            boolean hasMatch() {
-                return !matchingMethodsByReturnType.isEmpty();
-            }
-
-            /**
-             * We roughly follow the algorithm of {@link Class#getMethod(String, Class[])}. We look for the most specific return type,
-             * if there should be return types without a hierarchical correlation we simply pick the first. If there should be methods
-             * with the same return type, but declaring classes without hierarchical correlation we will try to follow the JDK version,
-             * even though it does not seem to be specified clearly (thus it could change with a different JDK implementation, but
-             * unit tests should tell us).
-             */
-            Optional<JavaMethod> determineMostSpecificMethod() {
-                if (!hasMatch()) {
-                    return Optional.empty();
-                }
-                if (matchingMethodsByReturnType.size() == 1) {
-                    return determineMostSpecificMethodWithSameReturnType(matchingMethodsByReturnType.values());
-                }
-
-                Collection<JavaMethod> methodsWithMostSpecificReturnType = determineMethodsWithMostSpecificReturnType(matchingMethodsByReturnType);
-                return determineMostSpecificMethodWithSameReturnType(methodsWithMostSpecificReturnType);
-            }
-
-            private static Optional<JavaMethod> determineMostSpecificMethodWithSameReturnType(Collection<JavaMethod> methods) {
-                JavaMethod result = null;
-                for (JavaMethod method : methods) {
-                    if (result == null || method.getOwner().isAssignableTo(result.getOwner().getName())) {
-                        result = method;
-                    }
-                }
-                return Optional.ofNullable(result);
-            }
-
-            private static Collection<JavaMethod> determineMethodsWithMostSpecificReturnType(LinkedHashMultimap<JavaClass, JavaMethod> matchingMethodsByReturnType) {
-                Map.Entry<JavaClass, Collection<JavaMethod>> result = null;
-                for (Map.Entry<JavaClass, Collection<JavaMethod>> entry : matchingMethodsByReturnType.asMap().entrySet()) {
-                    if (result == null || entry.getKey().isAssignableTo(result.getKey().getName())) {
-                        result = entry;
-                    }
-                }
-                return result != null ? result.getValue() : Collections.<JavaMethod>emptySet();
-            }
-        }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Holds all processed access records of one kind (e.g. all method calls) of an import, grouped by their origin.
+ * Instead of keeping one collection per origin, the records are collected as two plain columns (origin id and record).
+ * Once all records have been added, {@link #groupByOrigin()} sorts them by origin into one array with an offset
+ * for each origin, so the records of one origin are just a range of that array.
+ */
+class AccessRecordsByOrigin<RECORD extends AccessRecord<?>> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final OriginIds originIds;
+    private int[] originIdColumn = new int[INITIAL_CAPACITY];
+    private Object[] recordColumn = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private int[] offsetsByOriginId;
+    private List<Object> recordsSortedByOrigin;
+
+    AccessRecordsByOrigin(OriginIds originIds) {
+        this.originIds = originIds;
+    }
+
+    void add(RECORD record) {
+        checkState(recordsSortedByOrigin == null, "Records have already been grouped by origin");
+        if (size == recordColumn.length) {
+            originIdColumn = Arrays.copyOf(originIdColumn, 2 * size);
+            recordColumn = Arrays.copyOf(recordColumn, 2 * size);
+        }
+        originIdColumn[size] = originIds.idOf(record.getOrigin());
+        recordColumn[size] = record;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Must be called after all records have been {@link #add(AccessRecord) added} and before any records are queried.
+     */
+    void groupByOrigin() {
+        int numberOfOrigins = originIds.size();
+        int[] offsets = new int[numberOfOrigins + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[originIdColumn[i] + 1]++;
+        }
+        for (int originId = 0; originId < numberOfOrigins; originId++) {
+            offsets[originId + 1] += offsets[originId];
+        }
+
+        Object[] sorted = new Object[size];
+        int[] nextIndexByOriginId = Arrays.copyOf(offsets, numberOfOrigins);
+        for (int i = 0; i < size; i++) {
+            sorted[nextIndexByOriginId[originIdColumn[i]]++] = recordColumn[i];
+        }
+
+        offsetsByOriginId = offsets;
+        recordsSortedByOrigin = Arrays.asList(sorted);
+        originIdColumn = null;
+        recordColumn = null;
+    }
+
+    @SuppressWarnings("unchecked") // we only ever add records of type RECORD
+    List<RECORD> getRecordsFrom(JavaCodeUnit origin) {
+        checkState(recordsSortedByOrigin != null, "Records must be grouped by origin before they can be queried");
+        int originId = originIds.tryGetIdOf(origin);
+        if (originId < 0 || originId >= offsetsByOriginId.length - 1 || offsetsByOriginId[originId] == offsetsByOriginId[originId + 1]) {
+            return Collections.emptyList();
+        }
+        return (List<RECORD>) (List<?>) recordsSortedByOrigin.subList(offsetsByOriginId[originId], offsetsByOriginId[originId + 1]);
+    }
+
+    /**
+     * Assigns consecutive ids to the origins of all kinds of access records of one import.
+     */
+    static class OriginIds {
+        private final Map<JavaCodeUnit, Integer> idsByOrigin = new HashMap<>();
+
+        int idOf(JavaCodeUnit origin) {
+            Integer id = idsByOrigin.get(origin);
+            if (id == null) {
+                id = idsByOrigin.size();
+                idsByOrigin.put(origin, id);
+            }
+            return id;
+        }
+
+        int tryGetIdOf(JavaCodeUnit origin) {
+            Integer id = idsByOrigin.get(origin);
+            return id != null ? id : -1;
+        }
+
+        int size() {
+            return idsByOrigin.size();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.ListMultimap;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.AccessTarget;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+import static com.tngtech.archunit.core.domain.JavaModifier.STATIC;
+
+/**
+ * Resolves the members targeted by the accesses of one import (compare {@link AccessTarget#resolveMember()}).
+ * All accesses to the same target share one resolution, i.e. the class hierarchy of a target owner is only searched
+ * once for each target name and descriptor. While searching, the methods of each class are looked up by name and
+ * descriptor from a table that is built once per class, instead of comparing all methods of the class to the target.
+ */
+class AccessTargetMembers {
+    private final ConcurrentMap<JavaClass, ListMultimap<String, JavaMethod>> methodsBySignature = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TargetInfo, Optional<JavaMethod>> resolvedMethods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TargetInfo, Optional<JavaField>> resolvedFields = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TargetInfo, Optional<JavaConstructor>> resolvedConstructors = new ConcurrentHashMap<>();
+
+    Optional<JavaConstructor> resolveConstructor(JavaClass targetOwner, TargetInfo target) {
+        Optional<JavaConstructor> result = resolvedConstructors.get(target);
+        if (result == null) {
+            result = searchTargetConstructor(targetOwner, target);
+            resolvedConstructors.putIfAbsent(target, result);
+        }
+        return result;
+    }
+
+    Optional<JavaMethod> resolveMethod(JavaClass targetOwner, TargetInfo target) {
+        Optional<JavaMethod> result = resolvedMethods.get(target);
+        if (result == null) {
+            result = searchTargetMethod(targetOwner, target);
+            resolvedMethods.putIfAbsent(target, result);
+        }
+        return result;
+    }
+
+    Optional<JavaField> resolveField(JavaClass targetOwner, TargetInfo target) {
+        Optional<JavaField> result = resolvedFields.get(target);
+        if (result == null) {
+            result = searchTargetField(targetOwner, target);
+            resolvedFields.putIfAbsent(target, result);
+        }
+        return result;
+    }
+
+    private static Optional<JavaConstructor> searchTargetConstructor(JavaClass targetOwner, TargetInfo target) {
+        for (JavaConstructor constructor : targetOwner.getConstructors()) {
+            if (constructor.getDescriptor().equals(target.desc)) {
+                return Optional.of(constructor);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<JavaField> searchTargetField(JavaClass targetOwner, TargetInfo targetInfo) {
+        Optional<JavaField> directlyFound = targetOwner.tryGetField(targetInfo.name);
+        if (directlyFound.isPresent()) {
+            return directlyFound;
+        }
+
+        // if a matching field has been found in an interface, it must be the one and only matching field,
+        // since it is public static final and the compiler would forbid the call without disambiguation otherwise
+        Optional<JavaField> foundOnInterface = searchFieldInInterfaces(targetOwner, targetInfo);
+        if (foundOnInterface.isPresent()) {
+            return foundOnInterface;
+        }
+
+        return searchFieldInSuperClass(targetOwner, targetInfo);
+    }
+
+    private static Optional<JavaField> searchFieldInInterfaces(JavaClass targetOwner, TargetInfo targetInfo) {
+        for (JavaClass rawInterface : targetOwner.getRawInterfaces()) {
+            Optional<JavaField> foundOnInterface = searchTargetField(rawInterface, targetInfo);
+            if (foundOnInterface.isPresent()) {
+                return foundOnInterface;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<JavaField> searchFieldInSuperClass(JavaClass targetOwner, TargetInfo targetInfo) {
+        return targetOwner.getRawSuperclass().isPresent()
+                ? searchTargetField(targetOwner.getRawSuperclass().get(), targetInfo)
+                : Optional.<JavaField>empty();
+    }
+
+    private Optional<JavaMethod> searchTargetMethod(JavaClass targetOwner, TargetInfo targetInfo) {
+        MatchingMethods matchingMethods = new MatchingMethods();
+        matchingMethods.addMatching(getMethodsWithSignatureOf(targetOwner, targetInfo), true);
+        return matchingMethods.hasMatch()
+                // shortcut -> if we found it directly in the class we don't need to look further up the hierarchy
+                ? matchingMethods.determineMostSpecificMethod()
+                : searchTargetMethodInHierarchy(targetOwner, targetInfo, matchingMethods);
+    }
+
+    private Optional<JavaMethod> searchTargetMethodInHierarchy(JavaClass targetOwner, TargetInfo targetInfo, MatchingMethods matchingMethods) {
+        Optional<JavaClass> superclass = targetOwner.getRawSuperclass();
+        if (superclass.isPresent()) {
+            matchingMethods.addMatching(getMethodsWithSignatureOf(superclass.get(), targetInfo), true);
+            searchTargetMethodInHierarchy(superclass.get(), targetInfo, matchingMethods);
+        }
+        for (JavaClass interfaceType : targetOwner.getRawInterfaces()) {
+            matchingMethods.addMatching(getMethodsWithSignatureOf(interfaceType, targetInfo), false);
+            searchTargetMethodInHierarchy(interfaceType, targetInfo, matchingMethods);
+        }
+        return matchingMethods.determineMostSpecificMethod();
+    }
+
+    private Collection<JavaMethod> getMethodsWithSignatureOf(JavaClass javaClass, TargetInfo targetInfo) {
+        ListMultimap<String, JavaMethod> methods = methodsBySignature.get(javaClass);
+        if (methods == null) {
+            methods = indexBySignature(javaClass.getMethods());
+            methodsBySignature.putIfAbsent(javaClass, methods);
+        }
+        return methods.get(signatureOf(targetInfo.name, targetInfo.desc));
+    }
+
+    private static ListMultimap<String, JavaMethod> indexBySignature(Collection<JavaMethod> methods) {
+        ImmutableListMultimap.Builder<String, JavaMethod> result = ImmutableListMultimap.builder();
+        for (JavaMethod method : methods) {
+            result.put(signatureOf(method.getName(), method.getDescriptor()), method);
+        }
+        return result.build();
+    }
+
+    // a descriptor always starts with '(', so the concatenation can't be ambiguous
+    private static String signatureOf(String name, String descriptor) {
+        return name + descriptor;
+    }
+
+    private static class MatchingMethods {
+        private final LinkedHashMultimap<JavaClass, JavaMethod> matchingMethodsByReturnType = LinkedHashMultimap.create();
+
+        /**
+         * @param methodsWithTargetSignature methods that already match the name and descriptor of the target
+         */
+        void addMatching(Collection<JavaMethod> methodsWithTargetSignature, boolean includeStatic) {
+            for (JavaMethod method : methodsWithTargetSignature) {
+                if (includeStatic || !method.getModifiers().contains(STATIC)) {
+                    matchingMethodsByReturnType.put(method.getRawReturnType(), method);
+                }
+            }
+        }
+
+        boolean hasMatch() {
+            return !matchingMethodsByReturnType.isEmpty();
+        }
+
+        /**
+         * We roughly follow the algorithm of {@link Class#getMethod(String, Class[])}. We look for the most specific return type,
+         * if there should be return types without a hierarchical correlation we simply pick the first. If there should be methods
+         * with the same return type, but declaring classes without hierarchical correlation we will try to follow the JDK version,
+         * even though it does not seem to be specified clearly (thus it could change with a different JDK implementation, but
+         * unit tests should tell us).
+         */
+        Optional<JavaMethod> determineMostSpecificMethod() {
+            if (!hasMatch()) {
+                return Optional.empty();
+            }
+            if (matchingMethodsByReturnType.size() == 1) {
+                return determineMostSpecificMethodWithSameReturnType(matchingMethodsByReturnType.values());
+            }
+
+            Collection<JavaMethod> methodsWithMostSpecificReturnType = determineMethodsWithMostSpecificReturnType(matchingMethodsByReturnType);
+            return determineMostSpecificMethodWithSameReturnType(methodsWithMostSpecificReturnType);
+        }
+
+        private static Optional<JavaMethod> determineMostSpecificMethodWithSameReturnType(Collection<JavaMethod> methods) {
+            JavaMethod result = null;
+            for (JavaMethod method : methods) {
+                if (result == null || method.getOwner().isAssignableTo(result.getOwner().getName())) {
+                    result = method;
+                }
+            }
+            return Optional.ofNullable(result);
+        }
+
+        private static Collection<JavaMethod> determineMethodsWithMostSpecificReturnType(LinkedHashMultimap<JavaClass, JavaMethod> matchingMethodsByReturnType) {
+            Map.Entry<JavaClass, Collection<JavaMethod>> result = null;
+            for (Map.Entry<JavaClass, Collection<JavaMethod>> entry : matchingMethodsByReturnType.asMap().entrySet()) {
+                if (result == null || entry.getKey().isAssignableTo(result.getKey().getName())) {
+                    result = entry;
+                }
+            }
+            return result != null ? result.getValue() : Collections.<JavaMethod>emptySet();
+        }
+    }
+}
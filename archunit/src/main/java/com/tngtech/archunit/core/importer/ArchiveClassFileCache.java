@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Objects;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.io.ByteStreams;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Optional;
+
+/**
+ * Keeps the contents of class files located within archives (i.e. JAR files or the runtime image of the JDK)
+ * across imports within the same JVM, so consecutive imports resolving the same JDK or library classes from the classpath
+ * don't need to read and decompress those class files from the archives over and over again.<br>
+ * Note that this only saves reading the archives again, it does not reduce memory. On the contrary, the cached
+ * contents need additional heap, which is bounded by {@value #MAX_SIZE_IN_MEGABYTES_PROPERTY_NAME}
+ * (default {@value #MAX_SIZE_IN_MEGABYTES_DEFAULT_VALUE} MB, read when the cache is first used).
+ * Each import still creates its own classes from the cached contents.<br>
+ * Contents are keyed by the {@link URI} of the class file together with the last modification time of the archive,
+ * so a rebuilt archive is read again. Since the cached contents are only softly referenced, they will be released
+ * if memory gets scarce. Class files that don't reside within an archive are never cached, because they usually
+ * belong to the code under test and are likely to change.<br>
+ * The cache is only used if configured via {@value #CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME}{@code =true}.
+ */
+class ArchiveClassFileCache {
+    static final String CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME = "import.cacheArchiveClassFiles";
+    static final String MAX_SIZE_IN_MEGABYTES_PROPERTY_NAME = "import.cacheArchiveClassFiles.maxSizeInMegabytes";
+    static final int MAX_SIZE_IN_MEGABYTES_DEFAULT_VALUE = 100;
+
+    private static final String JAR_SCHEME = "jar";
+    private static final String JRT_SCHEME = "jrt";
+    private static final String FILE_SCHEME = "file";
+    private static final String ARCHIVE_ENTRY_SEPARATOR = "!/";
+
+    private static final Supplier<ArchiveClassFileCache> instance = Suppliers.memoize(new Supplier<ArchiveClassFileCache>() {
+        @Override
+        public ArchiveClassFileCache get() {
+            String maxSizeInMegabytes = ArchConfiguration.get()
+                    .getPropertyOrDefault(MAX_SIZE_IN_MEGABYTES_PROPERTY_NAME, String.valueOf(MAX_SIZE_IN_MEGABYTES_DEFAULT_VALUE));
+            return new ArchiveClassFileCache(Long.parseLong(maxSizeInMegabytes) * 1024 * 1024);
+        }
+    });
+
+    private final Cache<Key, byte[]> contentsByKey;
+
+    static ArchiveClassFileCache get() {
+        return instance.get();
+    }
+
+    // Used for testing
+    ArchiveClassFileCache(long maxSizeInBytes) {
+        contentsByKey = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher(new Weigher<Key, byte[]>() {
+                    @Override
+                    public int weigh(Key key, byte[] contents) {
+                        return contents.length;
+                    }
+                })
+                .softValues()
+                .build();
+    }
+
+    /**
+     * @return The contents of the class file at the given {@link URI}; the returned array must not be modified
+     */
+    byte[] read(URI uri) throws IOException {
+        Optional<Key> key = keyOf(uri);
+        if (!key.isPresent()) {
+            return readFrom(uri);
+        }
+
+        byte[] result = contentsByKey.getIfPresent(key.get());
+        if (result == null) {
+            result = readFrom(uri);
+            contentsByKey.put(key.get(), result);
+        }
+        return result;
+    }
+
+    private static byte[] readFrom(URI uri) throws IOException {
+        try (InputStream inputStream = uri.toURL().openStream()) {
+            return ByteStreams.toByteArray(inputStream);
+        }
+    }
+
+    private static Optional<Key> keyOf(URI uri) {
+        if (JRT_SCHEME.equals(uri.getScheme())) {
+            // the runtime image of the JDK can't change while the JVM is running
+            return Optional.of(new Key(uri.toString(), 0));
+        }
+        if (!JAR_SCHEME.equals(uri.getScheme())) {
+            return Optional.empty();
+        }
+
+        String archiveUri = uri.getRawSchemeSpecificPart();
+        int separatorIndex = archiveUri.indexOf(ARCHIVE_ENTRY_SEPARATOR);
+        if (separatorIndex < 0 || !archiveUri.startsWith(FILE_SCHEME + ":")) {
+            return Optional.empty();
+        }
+        long lastModified = new File(URI.create(archiveUri.substring(0, separatorIndex))).lastModified();
+        return lastModified > 0 ? Optional.of(new Key(uri.toString(), lastModified)) : Optional.<Key>empty();
+    }
+
+    private static class Key {
+        private final String uri;
+        private final long lastModified;
+
+        Key(String uri, long lastModified) {
+            this.uri = uri;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return Objects.equals(this.uri, other.uri)
+                    && this.lastModified == other.lastModified;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.AbstractIterator;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.importer.ImportOption.Hierarchical.Decision;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Finds all relevant files beneath a directory, skipping all subdirectories the {@link Filter} excludes as a whole.<br>
+ * By default the directory tree is walked on the calling thread before the first file is returned.
+ * If configured via {@value #DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME}, subdirectories are instead walked
+ * by several threads in parallel, and files are returned as soon as they are found, so the consumer
+ * can already process them while the walk is still in progress (e.g. on slow network file systems).
+ * In this case the {@link Filter} must be thread-safe and files are returned in no particular order.
+ */
+class ClassFileDirectoryScanner {
+    static final String DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME = "import.directoryScanParallelism";
+
+    // marks the end of the files within the queue, compared by identity
+    private static final Path END_OF_SCAN = Paths.get("");
+
+    private final int parallelism;
+
+    private ClassFileDirectoryScanner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    static ClassFileDirectoryScanner fromConfiguration() {
+        return new ClassFileDirectoryScanner(
+                Integer.parseInt(ArchConfiguration.get().getPropertyOrDefault(DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME, "1")));
+    }
+
+    Iterator<Path> scan(Path root, Filter filter) {
+        if (!root.toFile().exists()) {
+            return new ArrayList<Path>().iterator();
+        }
+        return parallelism > 1 && Files.isDirectory(root, NOFOLLOW_LINKS)
+                ? scanInParallel(root, filter)
+                : scanSequentially(root, filter);
+    }
+
+    private Iterator<Path> scanSequentially(Path root, Filter filter) {
+        SequentialScan scan = new SequentialScan(filter);
+        try {
+            Files.walkFileTree(root, scan);
+        } catch (IOException e) {
+            throw new ScanFailedException(e);
+        }
+        return scan.files.iterator();
+    }
+
+    private Iterator<Path> scanInParallel(final Path root, final Filter filter) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        final BlockingQueue<Path> files = new LinkedBlockingQueue<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        pool.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    new ParallelScan(root, false, filter, files).invoke();
+                } catch (Throwable e) {
+                    // also errors (e.g. thrown by a custom ImportOption) must not silently end the scan with partial results
+                    failure.set(e);
+                } finally {
+                    files.add(END_OF_SCAN);
+                }
+            }
+        });
+        return new AbstractIterator<Path>() {
+            @Override
+            protected Path computeNext() {
+                Path next = take(files);
+                if (next != END_OF_SCAN) {
+                    return next;
+                }
+                pool.shutdown();
+                if (failure.get() != null) {
+                    throwIfUnchecked(failure.get());
+                    throw new RuntimeException(failure.get());
+                }
+                return endOfData();
+            }
+
+            private Path take(BlockingQueue<Path> files) {
+                try {
+                    return files.take();
+                } catch (InterruptedException e) {
+                    pool.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while scanning " + root, e);
+                }
+            }
+        };
+    }
+
+    private static boolean isConsidered(Path file, boolean withinFullyIncludedDirectory, Filter filter) {
+        Path fileName = file.getFileName();
+        return fileName != null
+                && filter.isRelevant(fileName.toString())
+                && (withinFullyIncludedDirectory || filter.includes(file));
+    }
+
+    static class ScanFailedException extends RuntimeException {
+        ScanFailedException(IOException cause) {
+            super(cause);
+        }
+    }
+
+    interface Filter {
+        boolean isRelevant(String fileName);
+
+        Decision decideBeneath(Path directory);
+
+        /**
+         * Only asked for files, that are not located within a directory, for which {@link #decideBeneath(Path)}
+         * returned {@link Decision#INCLUDE_ALL}.
+         */
+        boolean includes(Path file);
+    }
+
+    private static class SequentialScan extends SimpleFileVisitor<Path> {
+        private final List<Path> files = new ArrayList<>();
+        private final Filter filter;
+        private Path fullyIncludedDirectory;
+
+        SequentialScan(Filter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (fullyIncludedDirectory != null) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            Decision decision = filter.decideBeneath(dir);
+            if (decision == Decision.EXCLUDE_ALL) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            if (decision == Decision.INCLUDE_ALL) {
+                fullyIncludedDirectory = dir;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+            if (dir.equals(fullyIncludedDirectory)) {
+                fullyIncludedDirectory = null;
+            }
+            return super.postVisitDirectory(dir, exc);
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (isConsidered(file, fullyIncludedDirectory != null, filter)) {
+                files.add(file);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    /**
+     * Lists one directory, passes on the files found and forks one task for each subdirectory.
+     * Like {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)} symbolic links are not followed.
+     */
+    private static class ParallelScan extends RecursiveAction {
+        private final Path directory;
+        private final boolean withinFullyIncludedDirectory;
+        private final Filter filter;
+        private final BlockingQueue<Path> files;
+
+        ParallelScan(Path directory, boolean withinFullyIncludedDirectory, Filter filter, BlockingQueue<Path> files) {
+            this.directory = directory;
+            this.withinFullyIncludedDirectory = withinFullyIncludedDirectory;
+            this.filter = filter;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            boolean fullyIncluded = withinFullyIncludedDirectory;
+            if (!fullyIncluded) {
+                Decision decision = filter.decideBeneath(directory);
+                if (decision == Decision.EXCLUDE_ALL) {
+                    return;
+                }
+                fullyIncluded = decision == Decision.INCLUDE_ALL;
+            }
+
+            List<ParallelScan> subdirectoryScans = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry, NOFOLLOW_LINKS)) {
+                        subdirectoryScans.add(new ParallelScan(entry, fullyIncluded, filter, files));
+                    } else if (isConsidered(entry, fullyIncluded, filter)) {
+                        files.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new ScanFailedException(e);
+            }
+            invokeAll(subdirectoryScans);
+        }
+    }
+}
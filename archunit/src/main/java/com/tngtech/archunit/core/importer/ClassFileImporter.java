@@ -15,6 +15,8 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -36,9 +38,11 @@ import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromClasspath;
+import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static java.util.Collections.singletonList;
@@ -81,6 +85,7 @@ public final class ClassFileImporter {
     private static final Logger LOG = LoggerFactory.getLogger(ClassFileImporter.class);
 
     private final ImportOptions importOptions;
+    private final ImportDepth importDepth;
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter() {
@@ -89,7 +94,12 @@ public final class ClassFileImporter {
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter(ImportOptions importOptions) {
+        this(importOptions, ImportDepth.FULL);
+    }
+
+    private ClassFileImporter(ImportOptions importOptions, ImportDepth importDepth) {
         this.importOptions = importOptions;
+        this.importDepth = checkNotNull(importDepth);
     }
 
     /**
@@ -101,7 +111,19 @@ public final class ClassFileImporter {
      */
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter withImportOption(ImportOption option) {
-        return new ClassFileImporter(importOptions.with(option));
+        return new ClassFileImporter(importOptions.with(option), importDepth);
+    }
+
+    /**
+     * Allows to restrict how much of each class file is analyzed (compare {@link ImportDepth}). Note that
+     * this object will not be modified, but instead a copy with adjusted behavior will be returned.
+     *
+     * @param importDepth Defines which parts of the class files to import
+     * @return A {@link ClassFileImporter} which imports class files up to the specified {@link ImportDepth}
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportDepth(ImportDepth importDepth) {
+        return new ClassFileImporter(importOptions, importDepth);
     }
 
     /**
@@ -333,7 +355,24 @@ public final class ClassFileImporter {
         for (Location location : locations) {
             tryAdd(sources, location);
         }
-        return new ClassFileProcessor().process(unify(sources));
+        try {
+            return new ClassFileProcessor(importDepth).process(unify(sources));
+        } finally {
+            closeAll(sources);
+        }
+    }
+
+    // some sources keep resources open while being read (e.g. the reader of a module), those are released once the import is done
+    private void closeAll(List<ClassFileSource> sources) {
+        for (ClassFileSource source : sources) {
+            if (source instanceof Closeable) {
+                try {
+                    ((Closeable) source).close();
+                } catch (IOException | RuntimeException e) {
+                    LOG.warn(String.format("Couldn't close %s", source), e);
+                }
+            }
+        }
     }
 
     private void tryAdd(List<ClassFileSource> sources, Location location) {
@@ -354,4 +393,40 @@ public final class ClassFileImporter {
             }
         };
     }
+
+    /**
+     * Defines which parts of the imported class files are analyzed.
+     */
+    @PublicAPI(usage = ACCESS)
+    public enum ImportDepth {
+        /**
+         * Imports all information ArchUnit supports, including the code of methods, constructors and static initializers
+         * (e.g. field accesses, method calls or {@code instanceof} checks).
+         */
+        @PublicAPI(usage = ACCESS)
+        FULL(ClassReader.SKIP_FRAMES),
+        /**
+         * Only imports the declarations of classes, i.e. names, modifiers, supertypes, type parameters, annotations
+         * and the signatures of fields, methods and constructors, but skips the code of methods, constructors and
+         * static initializers entirely. This considerably speeds up the import, if rules only consider declarations
+         * (e.g. naming, annotation or visibility rules).<br>
+         * Note that all information derived from code will consequently be missing. Querying accesses
+         * (e.g. {@link JavaClass#getAccessesFromSelf()}), {@code instanceof} checks or referenced class objects of a class
+         * imported or resolved this way, or of any of its members, will throw an {@link IllegalStateException}. Dependencies will only be derived from declarations
+         * and members will have no line numbers. Thus rules about dependencies between classes must not be evaluated
+         * on classes imported this way.
+         */
+        @PublicAPI(usage = ACCESS)
+        DECLARATIONS_ONLY(ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+
+        private final int parsingOptions;
+
+        ImportDepth(int parsingOptions) {
+            this.parsingOptions = parsingOptions;
+        }
+
+        int getParsingOptions() {
+            return parsingOptions;
+        }
+    }
 }
@@ -15,10 +15,13 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.tngtech.archunit.ArchConfiguration;
@@ -26,6 +29,7 @@ import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.ClassFileImporter.ImportDepth;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassTypeParametersBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorBuilder;
@@ -38,11 +42,16 @@ import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
 import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
+import com.tngtech.archunit.core.instrumentation.Instrumentation;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
 import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
+import static com.tngtech.archunit.core.importer.ArchiveClassFileCache.CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.PARSE;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.SCAN;
 import static org.objectweb.asm.Opcodes.ASM9;
 
 class ClassFileProcessor {
@@ -51,24 +60,79 @@ class ClassFileProcessor {
     static final int ASM_API_VERSION = ASM9;
 
     private final boolean md5InClassSourcesEnabled = ArchConfiguration.get().md5InClassSourcesEnabled();
+    private final boolean archiveClassFilesCached = Boolean.parseBoolean(
+            ArchConfiguration.get().getPropertyOrDefault(CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME, "false"));
     private final ClassResolver.Factory classResolverFactory = new ClassResolver.Factory();
+    private final int parsingOptions;
+
+    ClassFileProcessor(ImportDepth importDepth) {
+        parsingOptions = importDepth.getParsingOptions();
+    }
 
     JavaClasses process(ClassFileSource source) {
         ClassFileImportRecord importRecord = new ClassFileImportRecord();
         DependencyResolutionProcess dependencyResolutionProcess = new DependencyResolutionProcess();
         RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord, dependencyResolutionProcess);
         ClassDetailsRecorder classDetailsRecorder = new ClassDetailsRecorder(importRecord, dependencyResolutionProcess);
+        Instrumentation instrumentation = InstrumentationFactory.get();
+        ScanAndParseTimer timer = new ScanAndParseTimer(instrumentation.isEnabled());
         for (ClassFileLocation location : source) {
             try (InputStream s = location.openStream()) {
                 JavaClassProcessor javaClassProcessor =
-                        new JavaClassProcessor(new SourceDescriptor(location.getUri(), md5InClassSourcesEnabled), classDetailsRecorder, accessHandler);
-                new ClassReader(s).accept(javaClassProcessor, 0);
+                        new JavaClassProcessor(new SourceDescriptor(location.getUri(), md5InClassSourcesEnabled), isCodeImported(parsingOptions),
+                                classDetailsRecorder, accessHandler);
+                ClassReader classReader = new ClassReader(s);
+                timer.scanned();
+                classReader.accept(javaClassProcessor, parsingOptions);
                 importRecord.addAll(javaClassProcessor.createJavaClass().asSet());
             } catch (Exception e) {
                 LOG.warn(String.format("Couldn't import class from %s", location.getUri()), e);
             }
+            timer.parsed();
+        }
+        timer.report(instrumentation, importRecord.getClasses().size());
+        return new ClassGraphCreator(importRecord, dependencyResolutionProcess, getClassResolver(classDetailsRecorder),
+                isCodeImported(parsingOptions), instrumentation).complete();
+    }
+
+    /**
+     * Accumulates the alternating {@link com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase#SCAN SCAN} and
+     * {@link com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase#PARSE PARSE} times of all class files.
+     * Does not take any timestamps at all, if instrumentation is disabled.
+     */
+    private static class ScanAndParseTimer {
+        private final boolean enabled;
+        private long scanNanos;
+        private long parseNanos;
+        private long lastTimestamp;
+
+        ScanAndParseTimer(boolean enabled) {
+            this.enabled = enabled;
+            lastTimestamp = enabled ? System.nanoTime() : 0;
+        }
+
+        void scanned() {
+            if (enabled) {
+                long now = System.nanoTime();
+                scanNanos += now - lastTimestamp;
+                lastTimestamp = now;
+            }
+        }
+
+        void parsed() {
+            if (enabled) {
+                long now = System.nanoTime();
+                parseNanos += now - lastTimestamp;
+                lastTimestamp = now;
+            }
+        }
+
+        void report(Instrumentation instrumentation, long numberOfClasses) {
+            if (enabled) {
+                instrumentation.onPhaseFinished(SCAN, scanNanos, numberOfClasses);
+                instrumentation.onPhaseFinished(PARSE, parseNanos, numberOfClasses);
+            }
         }
-        return new ClassGraphCreator(importRecord, dependencyResolutionProcess, getClassResolver(classDetailsRecorder)).complete();
     }
 
     private static class ClassDetailsRecorder implements DeclarationHandler {
@@ -201,6 +265,8 @@ class ClassFileProcessor {
 
         private final ClassFileImportRecord importRecord;
         private final DependencyResolutionProcess dependencyResolutionProcess;
+        // the same target is typically accessed from many call sites, those should all share one instance
+        private final Map<TargetInfo, TargetInfo> targets = new HashMap<>();
         private CodeUnit codeUnit;
         private int lineNumber;
 
@@ -223,7 +289,7 @@ class ClassFileProcessor {
         public void handleFieldInstruction(int opcode, String owner, String name, String desc) {
             AccessType accessType = AccessType.forOpCode(opcode);
             LOG.trace("Found {} access to field {}.{}:{} in line {}", accessType, owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = intern(new TargetInfo(owner, name, desc));
             importRecord.registerFieldAccess(filled(new RawAccessRecord.ForField.Builder(), target)
                     .withAccessType(accessType)
                     .build());
@@ -233,7 +299,7 @@ class ClassFileProcessor {
         @Override
         public void handleMethodInstruction(String owner, String name, String desc) {
             LOG.trace("Found call of method {}.{}:{} in line {}", owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = intern(new TargetInfo(owner, name, desc));
             if (CONSTRUCTOR_NAME.equals(name)) {
                 importRecord.registerConstructorCall(filled(new RawAccessRecord.Builder(), target).build());
             } else {
@@ -245,7 +311,7 @@ class ClassFileProcessor {
         @Override
         public void handleMethodReferenceInstruction(String owner, String name, String desc) {
             LOG.trace("Found method reference {}.{}:{} in line {}", owner, name, desc, lineNumber);
-            TargetInfo target = new TargetInfo(owner, name, desc);
+            TargetInfo target = intern(new TargetInfo(owner, name, desc));
             if (CONSTRUCTOR_NAME.equals(name)) {
                 importRecord.registerConstructorReference(filled(new RawAccessRecord.Builder(), target).build());
             } else {
@@ -254,6 +320,15 @@ class ClassFileProcessor {
             dependencyResolutionProcess.registerAccessToType(target.owner.getFullyQualifiedClassName());
         }
 
+        private TargetInfo intern(TargetInfo target) {
+            TargetInfo result = targets.get(target);
+            if (result == null) {
+                targets.put(target, target);
+                result = target;
+            }
+            return result;
+        }
+
         private <BUILDER extends RawAccessRecord.BaseBuilder<BUILDER>> BUILDER filled(BUILDER builder, TargetInfo target) {
             return builder
                     .withCaller(codeUnit)
@@ -262,32 +337,58 @@ class ClassFileProcessor {
         }
     }
 
+    private static boolean isCodeImported(int parsingOptions) {
+        return (parsingOptions & ClassReader.SKIP_CODE) == 0;
+    }
+
     private ClassResolver getClassResolver(ClassDetailsRecorder classDetailsRecorder) {
         ClassResolver classResolver = classResolverFactory.create();
-        classResolver.setClassUriImporter(new UriImporterOfProcessor(classDetailsRecorder, md5InClassSourcesEnabled));
+        classResolver.setClassUriImporter(new UriImporterOfProcessor(classDetailsRecorder, md5InClassSourcesEnabled, archiveClassFilesCached, parsingOptions));
         return classResolver;
     }
 
     private static class UriImporterOfProcessor implements ClassUriImporter {
         private final DeclarationHandler declarationHandler;
         private final boolean md5InClassSourcesEnabled;
+        private final boolean archiveClassFilesCached;
+        private final int parsingOptions;
 
-        UriImporterOfProcessor(DeclarationHandler declarationHandler, boolean md5InClassSourcesEnabled) {
+        UriImporterOfProcessor(DeclarationHandler declarationHandler, boolean md5InClassSourcesEnabled, boolean archiveClassFilesCached, int parsingOptions) {
             this.declarationHandler = declarationHandler;
             this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
+            this.archiveClassFilesCached = archiveClassFilesCached;
+            this.parsingOptions = parsingOptions;
         }
 
         @Override
         public Optional<JavaClass> tryImport(URI uri) {
-            try (InputStream inputStream = uri.toURL().openStream()) {
-                JavaClassProcessor classProcessor = new JavaClassProcessor(new SourceDescriptor(uri, md5InClassSourcesEnabled), declarationHandler);
-                new ClassReader(inputStream).accept(classProcessor, 0);
-                return classProcessor.createJavaClass();
+            try {
+                if (archiveClassFilesCached) {
+                    return tryImport(uri, Optional.of(ArchiveClassFileCache.get().read(uri)));
+                }
+                return tryImport(uri, Optional.<byte[]>empty());
             } catch (Exception e) {
                 LOG.warn(String.format("Error during import from %s, falling back to simple import", uri), e);
                 return Optional.empty();
             }
         }
+
+        private Optional<JavaClass> tryImport(URI uri, Optional<byte[]> contents) throws IOException {
+            // if the contents have already been read, they are reused for the md5 sum instead of reading the URI again
+            JavaClassProcessor classProcessor = new JavaClassProcessor(new SourceDescriptor(uri, md5InClassSourcesEnabled, contents),
+                    isCodeImported(parsingOptions), DeferredDeclarationHandler.deferIfRequested(declarationHandler));
+            readClassFile(uri, contents).accept(classProcessor, parsingOptions);
+            return classProcessor.createJavaClass();
+        }
+
+        private ClassReader readClassFile(URI uri, Optional<byte[]> contents) throws IOException {
+            if (contents.isPresent()) {
+                return new ClassReader(contents.get());
+            }
+            try (InputStream inputStream = uri.toURL().openStream()) {
+                return new ClassReader(inputStream);
+            }
+        }
     }
 
 }
@@ -15,64 +15,64 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.Iterators;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.core.importer.ImportOption.Hierarchical.Decision;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 @Internal
 interface ClassFileSource extends Iterable<ClassFileLocation> {
     @Internal
-    class FromFilePath extends SimpleFileVisitor<Path> implements ClassFileSource {
-        private final Set<ClassFileLocation> classFileLocations = new HashSet<>();
+    class FromFilePath implements ClassFileSource {
+        private final Path path;
         private final ImportOptions importOptions;
+        private final ClassFileDirectoryScanner scanner = ClassFileDirectoryScanner.fromConfiguration();
 
         FromFilePath(Path path, ImportOptions importOptions) {
+            this.path = path;
             this.importOptions = importOptions;
-            if (path.toFile().exists()) {
-                try {
-                    Files.walkFileTree(path, this);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
         }
 
         @Override
         public Iterator<ClassFileLocation> iterator() {
-            return classFileLocations.iterator();
-        }
-
-        @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-            if (shouldBeConsidered(file)) {
-                classFileLocations.add(new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file)));
-            }
-            return FileVisitResult.CONTINUE;
-        }
-
-        private boolean shouldBeConsidered(Path file) {
-            Path fileName = file.getFileName();
-            return fileName != null
-                    && FileToImport.isRelevant(fileName.toString())
-                    && importOptions.include(Location.of(file));
+            return Iterators.transform(scanner.scan(path, new ImportOptionsFilter()), new Function<Path, ClassFileLocation>() {
+                @Override
+                public ClassFileLocation apply(Path file) {
+                    return new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file));
+                }
+            });
         }
 
         private Supplier<InputStream> newInputStreamSupplierFor(final Path file) {
@@ -83,11 +83,32 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
                 }
             };
         }
+
+        private class ImportOptionsFilter implements ClassFileDirectoryScanner.Filter {
+            @Override
+            public boolean isRelevant(String fileName) {
+                return FileToImport.isRelevant(fileName);
+            }
+
+            @Override
+            public Decision decideBeneath(Path directory) {
+                return importOptions.decideBeneath(Location.of(directory));
+            }
+
+            @Override
+            public boolean includes(Path file) {
+                return importOptions.include(Location.of(file));
+            }
+        }
     }
 
     @Internal
     class FromJar implements ClassFileSource {
-        private final FluentIterable<ClassFileLocation> classFileLocations;
+        static final String JAR_READ_PARALLELISM_PROPERTY_NAME = "import.jarReadParallelism";
+        private static final int ENTRIES_READ_AHEAD_PER_THREAD = 16;
+
+        private final FluentIterable<ClassFileInJar> classFilesInJar;
+        private final int parallelism = Integer.parseInt(ArchConfiguration.get().getPropertyOrDefault(JAR_READ_PARALLELISM_PROPERTY_NAME, "1"));
 
         FromJar(URL jarUrl, String path, ImportOptions importOptions) {
             this(jarUrl, NormalizedResourceName.from(path), importOptions);
@@ -96,11 +117,16 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
         FromJar(URL jarUrl, NormalizedResourceName path, ImportOptions importOptions) {
             try {
                 JarURLConnection connection = (JarURLConnection) jarUrl.openConnection();
-                classFileLocations = FluentIterable.from(Collections.list(connection.getJarFile().entries()))
+                EntryDirectoryDecisions decisions = new EntryDirectoryDecisions(connection.getJarFileURL(), path, importOptions);
+                if (decisions.excludesAll()) {
+                    classFilesInJar = FluentIterable.of();
+                    return;
+                }
+                classFilesInJar = FluentIterable.from(Collections.list(connection.getJarFile().entries()))
                         .filter(classFilesBeneath(path))
+                        .filter(notExcludedBy(decisions))
                         .transform(toClassFilesInJarOf(connection))
-                        .filter(by(importOptions))
-                        .transform(toInputStreamSupplier());
+                        .filter(by(decisions));
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -116,6 +142,15 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             };
         }
 
+        private Predicate<JarEntry> notExcludedBy(final EntryDirectoryDecisions decisions) {
+            return new Predicate<JarEntry>() {
+                @Override
+                public boolean apply(JarEntry input) {
+                    return decisions.decisionFor(input.getName()) != Decision.EXCLUDE_ALL;
+                }
+            };
+        }
+
         private Function<JarEntry, ClassFileInJar> toClassFilesInJarOf(final JarURLConnection connection) {
             return new Function<JarEntry, ClassFileInJar>() {
                 @Override
@@ -125,11 +160,12 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             };
         }
 
-        private Predicate<ClassFileInJar> by(final ImportOptions importOptions) {
+        private Predicate<ClassFileInJar> by(final EntryDirectoryDecisions decisions) {
             return new Predicate<ClassFileInJar>() {
                 @Override
                 public boolean apply(ClassFileInJar input) {
-                    return input.isIncludedIn(importOptions);
+                    return decisions.decisionFor(input.jarEntry.getName()) == Decision.INCLUDE_ALL
+                            || input.isIncludedIn(decisions.importOptions);
                 }
             };
         }
@@ -150,7 +186,137 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
 
         @Override
         public Iterator<ClassFileLocation> iterator() {
-            return classFileLocations.iterator();
+            return parallelism > 1
+                    ? new ReadAheadIterator(classFilesInJar.iterator(), parallelism)
+                    : classFilesInJar.transform(toInputStreamSupplier()).iterator();
+        }
+
+        /**
+         * Reads the contents of the class files in the JAR with several threads, while the consumer is still busy
+         * parsing the class files returned before. Only a bounded number of class files is read ahead, so the
+         * memory needed stays the same no matter how large the JAR is, and the class files are still returned
+         * in the order of the JAR entries. Filtering the entries (and thus evaluating {@link ImportOptions})
+         * stays on the iterating thread, the worker threads only read and inflate the entries, which
+         * the {@link JarFile} supports concurrently.
+         */
+        private static class ReadAheadIterator extends AbstractIterator<ClassFileLocation> {
+            private final Iterator<ClassFileInJar> classFilesInJar;
+            private final int maxEntriesReadAhead;
+            private final ThreadPoolExecutor executor;
+            private final Deque<Future<ClassFileLocation>> entriesReadAhead = new ArrayDeque<>();
+
+            ReadAheadIterator(Iterator<ClassFileInJar> classFilesInJar, int parallelism) {
+                this.classFilesInJar = classFilesInJar;
+                this.maxEntriesReadAhead = parallelism * ENTRIES_READ_AHEAD_PER_THREAD;
+                // idle threads time out, so an iterator that is abandoned before it is exhausted doesn't leak threads
+                this.executor = new ThreadPoolExecutor(parallelism, parallelism, 1, SECONDS, new LinkedBlockingQueue<Runnable>(),
+                        new ThreadFactoryBuilder().setNameFormat("archunit-jar-read-%d").setDaemon(true).build());
+                this.executor.allowCoreThreadTimeOut(true);
+            }
+
+            @Override
+            protected ClassFileLocation computeNext() {
+                while (entriesReadAhead.size() < maxEntriesReadAhead && classFilesInJar.hasNext()) {
+                    entriesReadAhead.add(executor.submit(readContentsOf(classFilesInJar.next())));
+                }
+                if (entriesReadAhead.isEmpty()) {
+                    executor.shutdown();
+                    return endOfData();
+                }
+                return awaitNext();
+            }
+
+            private ClassFileLocation awaitNext() {
+                try {
+                    return entriesReadAhead.poll().get();
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while reading class files from JAR", e);
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throwIfUnchecked(e.getCause());
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+
+            private Callable<ClassFileLocation> readContentsOf(final ClassFileInJar classFileInJar) {
+                return new Callable<ClassFileLocation>() {
+                    @Override
+                    public ClassFileLocation call() {
+                        try {
+                            final byte[] contents = classFileInJar.readContents();
+                            return new InputStreamSupplierClassFileLocation(classFileInJar.getUri(), new InputStreamSupplier() {
+                                @Override
+                                InputStream getInputStream() {
+                                    return new ByteArrayInputStream(contents);
+                                }
+                            });
+                        } catch (final IOException e) {
+                            // like for sequential reading, a class file that can't be read should only fail once it is opened
+                            return new InputStreamSupplierClassFileLocation(classFileInJar.getUri(), new InputStreamSupplier() {
+                                @Override
+                                InputStream getInputStream() throws IOException {
+                                    throw e;
+                                }
+                            });
+                        }
+                    }
+                };
+            }
+        }
+
+        /**
+         * Memoizes the {@link ImportOption.Hierarchical.Decision} for each directory of the JAR, so
+         * {@link ImportOptions} only need to be evaluated once per directory and not at all for class files
+         * within directories that are included or excluded as a whole.
+         */
+        private static class EntryDirectoryDecisions {
+            private final URL jarFileUrl;
+            private final String rootDirectory;
+            private final ImportOptions importOptions;
+            private final Decision rootDecision;
+            private final Map<String, Decision> decisionsByDirectory = new HashMap<>();
+
+            EntryDirectoryDecisions(URL jarFileUrl, NormalizedResourceName root, ImportOptions importOptions) {
+                this.jarFileUrl = jarFileUrl;
+                this.rootDirectory = root.toEntryName();
+                this.importOptions = importOptions;
+                this.rootDecision = decide(rootDirectory);
+            }
+
+            boolean excludesAll() {
+                return rootDecision == Decision.EXCLUDE_ALL;
+            }
+
+            Decision decisionFor(String entryName) {
+                int lastSlash = entryName.lastIndexOf('/');
+                return decisionForDirectory(lastSlash < 0 ? "" : entryName.substring(0, lastSlash + 1));
+            }
+
+            private Decision decisionForDirectory(String directory) {
+                if (directory.length() <= rootDirectory.length()) {
+                    return rootDecision;
+                }
+                Decision decision = decisionsByDirectory.get(directory);
+                if (decision == null) {
+                    decision = decisionForDirectory(parentOf(directory));
+                    if (decision == Decision.DECIDE_PER_CLASS_FILE) {
+                        decision = decide(directory);
+                    }
+                    decisionsByDirectory.put(directory, decision);
+                }
+                return decision;
+            }
+
+            private String parentOf(String directory) {
+                int parentSlash = directory.lastIndexOf('/', directory.length() - 2);
+                return parentSlash < 0 ? "" : directory.substring(0, parentSlash + 1);
+            }
+
+            private Decision decide(String directory) {
+                return importOptions.decideBeneath(Location.of(jarFileUrl).append(directory));
+            }
         }
 
         private static class ClassFileInJar {
@@ -176,6 +342,19 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
                 return connection.getJarFile().getInputStream(jarEntry);
             }
 
+            byte[] readContents() throws IOException {
+                try (InputStream inputStream = openStream()) {
+                    long size = jarEntry.getSize();
+                    if (size < 0 || size > Integer.MAX_VALUE) {
+                        return ByteStreams.toByteArray(inputStream);
+                    }
+                    // the central directory already tells the uncompressed size, so we can avoid growing a buffer
+                    byte[] contents = new byte[(int) size];
+                    ByteStreams.readFully(inputStream, contents);
+                    return contents;
+                }
+            }
+
             boolean isIncludedIn(ImportOptions importOptions) {
                 return importOptions.include(Location.of(uri));
             }
@@ -19,11 +19,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.tngtech.archunit.base.Function;
 import com.tngtech.archunit.base.HasDescription;
@@ -51,6 +48,7 @@ import com.tngtech.archunit.core.domain.JavaStaticInitializer;
 import com.tngtech.archunit.core.domain.JavaType;
 import com.tngtech.archunit.core.domain.JavaTypeVariable;
 import com.tngtech.archunit.core.importer.AccessRecord.FieldAccessRecord;
+import com.tngtech.archunit.core.importer.AccessRecordsByOrigin.OriginIds;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder.ValueBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassTypeParametersBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorCallBuilder;
@@ -62,6 +60,8 @@ import com.tngtech.archunit.core.importer.DomainBuilders.JavaParameterizedTypeBu
 import com.tngtech.archunit.core.importer.ImportedClasses.MethodReturnTypeGetter;
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
+import com.tngtech.archunit.core.instrumentation.Instrumentation;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
 
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.completeAnnotations;
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.completeClassHierarchy;
@@ -73,23 +73,32 @@ import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.compl
 import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createJavaClasses;
 import static com.tngtech.archunit.core.importer.DomainBuilders.BuilderWithBuildParameter.BuildFinisher.build;
 import static com.tngtech.archunit.core.importer.DomainBuilders.buildAnnotations;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter.ACCESSES;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter.CLASSES;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter.RESOLVED_CLASSES;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.COMPLETE;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.RESOLVE;
 
 class ClassGraphCreator implements ImportContext {
     private final ImportedClasses classes;
 
     private final ClassFileImportRecord importRecord;
     private final DependencyResolutionProcess dependencyResolutionProcess;
+    private final Instrumentation instrumentation;
 
-    private final SetMultimap<JavaCodeUnit, FieldAccessRecord> processedFieldAccessRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<MethodCallTarget>> processedMethodCallRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<ConstructorCallTarget>> processedConstructorCallRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<MethodReferenceTarget>> processedMethodReferenceRecords = HashMultimap.create();
-    private final SetMultimap<JavaCodeUnit, AccessRecord<ConstructorReferenceTarget>> processedConstructorReferenceRecords = HashMultimap.create();
+    private final OriginIds originIds = new OriginIds();
+    private final AccessRecordsByOrigin<FieldAccessRecord> processedFieldAccessRecords = new AccessRecordsByOrigin<>(originIds);
+    private final AccessRecordsByOrigin<AccessRecord<MethodCallTarget>> processedMethodCallRecords = new AccessRecordsByOrigin<>(originIds);
+    private final AccessRecordsByOrigin<AccessRecord<ConstructorCallTarget>> processedConstructorCallRecords = new AccessRecordsByOrigin<>(originIds);
+    private final AccessRecordsByOrigin<AccessRecord<MethodReferenceTarget>> processedMethodReferenceRecords = new AccessRecordsByOrigin<>(originIds);
+    private final AccessRecordsByOrigin<AccessRecord<ConstructorReferenceTarget>> processedConstructorReferenceRecords = new AccessRecordsByOrigin<>(originIds);
 
-    ClassGraphCreator(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, ClassResolver classResolver) {
+    ClassGraphCreator(ClassFileImportRecord importRecord, DependencyResolutionProcess dependencyResolutionProcess, ClassResolver classResolver,
+            boolean codeImported, Instrumentation instrumentation) {
         this.importRecord = importRecord;
         this.dependencyResolutionProcess = dependencyResolutionProcess;
-        classes = new ImportedClasses(importRecord.getClasses(), classResolver, new MethodReturnTypeGetter() {
+        this.instrumentation = instrumentation;
+        classes = new ImportedClasses(importRecord.getClasses(), classResolver, codeImported, new MethodReturnTypeGetter() {
             @Override
             public Optional<JavaClass> getReturnType(String declaringClassName, String methodName) {
                 return getMethodReturnType(declaringClassName, methodName);
@@ -98,10 +107,21 @@ class ClassGraphCreator implements ImportContext {
     }
 
     JavaClasses complete() {
+        Span span = instrumentation.beginPhase(RESOLVE);
         dependencyResolutionProcess.resolve(classes);
+        span.end(classes.getNumberOfClasses() - classes.getDirectlyImported().size());
+
+        span = instrumentation.beginPhase(COMPLETE);
         completeClasses();
         completeAccesses();
-        return createJavaClasses(classes.getDirectlyImported(), classes.getAllWithOuterClassesSortedBeforeInnerClasses(), this);
+        JavaClasses result = createJavaClasses(classes.getDirectlyImported(), classes.getAllWithOuterClassesSortedBeforeInnerClasses(), this);
+        span.end(classes.getNumberOfClasses());
+
+        instrumentation.onCount(CLASSES, classes.getDirectlyImported().size());
+        instrumentation.onCount(RESOLVED_CLASSES, classes.getNumberOfClasses() - classes.getDirectlyImported().size());
+        instrumentation.onCount(ACCESSES, processedFieldAccessRecords.size() + processedMethodCallRecords.size() + processedConstructorCallRecords.size()
+                + processedMethodReferenceRecords.size() + processedConstructorReferenceRecords.size());
+        return result;
     }
 
     private void completeClasses() {
@@ -135,21 +155,30 @@ class ClassGraphCreator implements ImportContext {
             tryProcess(constructorReferenceCallRecord, AccessRecord.Factory.forConstructorReferenceRecord(),
                     processedConstructorReferenceRecords);
         }
+        processedFieldAccessRecords.groupByOrigin();
+        processedMethodCallRecords.groupByOrigin();
+        processedConstructorCallRecords.groupByOrigin();
+        processedMethodReferenceRecords.groupByOrigin();
+        processedConstructorReferenceRecords.groupByOrigin();
     }
 
     private <T extends AccessRecord<?>, B extends RawAccessRecord> void tryProcess(
             B rawRecord,
             AccessRecord.Factory<B, T> factory,
-            Multimap<JavaCodeUnit, T> processedAccessRecords) {
+            AccessRecordsByOrigin<T> processedAccessRecords) {
 
-        T processed = factory.create(rawRecord, classes);
-        processedAccessRecords.put(processed.getOrigin(), processed);
+        processedAccessRecords.add(factory.create(rawRecord, classes));
     }
 
     @Override
     public Set<JavaFieldAccess> createFieldAccessesFor(JavaCodeUnit codeUnit) {
+        List<FieldAccessRecord> records = processedFieldAccessRecords.getRecordsFrom(codeUnit);
+        if (records.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
         ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (FieldAccessRecord record : processedFieldAccessRecords.get(codeUnit)) {
+        for (FieldAccessRecord record : records) {
             result.add(accessBuilderFrom(new JavaFieldAccessBuilder(), record)
                     .withAccessType(record.getAccessType())
                     .build());
@@ -159,8 +188,13 @@ class ClassGraphCreator implements ImportContext {
 
     @Override
     public Set<JavaMethodCall> createMethodCallsFor(JavaCodeUnit codeUnit) {
+        List<AccessRecord<MethodCallTarget>> records = processedMethodCallRecords.getRecordsFrom(codeUnit);
+        if (records.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
         ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (AccessRecord<MethodCallTarget> record : processedMethodCallRecords.get(codeUnit)) {
+        for (AccessRecord<MethodCallTarget> record : records) {
             result.add(accessBuilderFrom(new JavaMethodCallBuilder(), record).build());
         }
         return result.build();
@@ -168,8 +202,13 @@ class ClassGraphCreator implements ImportContext {
 
     @Override
     public Set<JavaConstructorCall> createConstructorCallsFor(JavaCodeUnit codeUnit) {
+        List<AccessRecord<ConstructorCallTarget>> records = processedConstructorCallRecords.getRecordsFrom(codeUnit);
+        if (records.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
         ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (AccessRecord<ConstructorCallTarget> record : processedConstructorCallRecords.get(codeUnit)) {
+        for (AccessRecord<ConstructorCallTarget> record : records) {
             result.add(accessBuilderFrom(new JavaConstructorCallBuilder(), record).build());
         }
         return result.build();
@@ -177,8 +216,13 @@ class ClassGraphCreator implements ImportContext {
 
     @Override
     public Set<JavaMethodReference> createMethodReferencesFor(JavaCodeUnit codeUnit) {
+        List<AccessRecord<MethodReferenceTarget>> records = processedMethodReferenceRecords.getRecordsFrom(codeUnit);
+        if (records.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
         ImmutableSet.Builder<JavaMethodReference> result = ImmutableSet.builder();
-        for (AccessRecord<MethodReferenceTarget> record : processedMethodReferenceRecords.get(codeUnit)) {
+        for (AccessRecord<MethodReferenceTarget> record : records) {
             result.add(accessBuilderFrom(new JavaMethodReferenceBuilder(), record).build());
         }
         return result.build();
@@ -186,8 +230,13 @@ class ClassGraphCreator implements ImportContext {
 
     @Override
     public Set<JavaConstructorReference> createConstructorReferencesFor(JavaCodeUnit codeUnit) {
+        List<AccessRecord<ConstructorReferenceTarget>> records = processedConstructorReferenceRecords.getRecordsFrom(codeUnit);
+        if (records.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
         ImmutableSet.Builder<JavaConstructorReference> result = ImmutableSet.builder();
-        for (AccessRecord<ConstructorReferenceTarget> record : processedConstructorReferenceRecords.get(codeUnit)) {
+        for (AccessRecord<ConstructorReferenceTarget> record : records) {
             result.add(accessBuilderFrom(new JavaConstructorReferenceBuilder(), record).build());
         }
         return result.build();
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassTypeParametersBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaFieldBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaMethodBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaParameterizedTypeBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaStaticInitializerBuilder;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+
+/**
+ * Records all declarations reported while a class is parsed, so they can be handed to the actual
+ * (not thread-safe) {@link DeclarationHandler} of the import later on. This allows to parse classes
+ * that are resolved as dependencies on worker threads, while the import record is still only modified
+ * by the importing thread in a deterministic order.<br>
+ * Deferring is requested per thread via {@link #startDeferring()}, every {@link DeclarationHandler}
+ * obtained via {@link #deferIfRequested(DeclarationHandler)} on that thread will then record instead of delegate,
+ * until {@link #stopDeferring()} returns the recorded declarations.
+ */
+class DeferredDeclarationHandler implements DeclarationHandler {
+    private static final ThreadLocal<List<DeferredDeclarationHandler>> deferredHandlersOfCurrentThread = new ThreadLocal<>();
+
+    private final DeclarationHandler delegate;
+    private final List<Declaration> declarations = new ArrayList<>();
+
+    private DeferredDeclarationHandler(DeclarationHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    static void startDeferring() {
+        deferredHandlersOfCurrentThread.set(new ArrayList<DeferredDeclarationHandler>());
+    }
+
+    /**
+     * @return all declarations recorded on this thread since {@link #startDeferring()}
+     */
+    static Declarations stopDeferring() {
+        List<DeferredDeclarationHandler> deferredHandlers = deferredHandlersOfCurrentThread.get();
+        deferredHandlersOfCurrentThread.remove();
+        return new Declarations(deferredHandlers);
+    }
+
+    static DeclarationHandler deferIfRequested(DeclarationHandler delegate) {
+        List<DeferredDeclarationHandler> deferredHandlers = deferredHandlersOfCurrentThread.get();
+        if (deferredHandlers == null) {
+            return delegate;
+        }
+        DeferredDeclarationHandler result = new DeferredDeclarationHandler(delegate);
+        deferredHandlers.add(result);
+        return result;
+    }
+
+    private void replay() {
+        for (Declaration declaration : declarations) {
+            declaration.replayOn(delegate);
+        }
+    }
+
+    /**
+     * Only reads the state of the import record, which is not modified while declarations are deferred.
+     */
+    @Override
+    public boolean isNew(String className) {
+        return delegate.isNew(className);
+    }
+
+    @Override
+    public void onNewClass(final String className, final Optional<String> superclassName, final List<String> interfaceNames) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onNewClass(className, superclassName, interfaceNames);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredTypeParameters(final JavaClassTypeParametersBuilder typeParametersBuilder) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredTypeParameters(typeParametersBuilder);
+            }
+        });
+    }
+
+    @Override
+    public void onGenericSuperclass(final JavaParameterizedTypeBuilder<JavaClass> genericSuperclassBuilder) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onGenericSuperclass(genericSuperclassBuilder);
+            }
+        });
+    }
+
+    @Override
+    public void onGenericInterfaces(final List<JavaParameterizedTypeBuilder<JavaClass>> genericInterfaceBuilders) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onGenericInterfaces(genericInterfaceBuilders);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredField(final JavaFieldBuilder fieldBuilder, final String fieldTypeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredField(fieldBuilder, fieldTypeName);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredConstructor(final JavaConstructorBuilder constructorBuilder, final Collection<String> rawParameterTypeNames) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredConstructor(constructorBuilder, rawParameterTypeNames);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredMethod(final JavaMethodBuilder methodBuilder, final Collection<String> rawParameterTypeNames, final String rawReturnTypeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredMethod(methodBuilder, rawParameterTypeNames, rawReturnTypeName);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredStaticInitializer(final JavaStaticInitializerBuilder staticInitializerBuilder) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredStaticInitializer(staticInitializerBuilder);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredClassAnnotations(final Set<JavaAnnotationBuilder> annotationBuilders) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredClassAnnotations(annotationBuilders);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredMemberAnnotations(final String memberName, final String descriptor, final Set<JavaAnnotationBuilder> annotations) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredMemberAnnotations(memberName, descriptor, annotations);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredAnnotationValueType(final String valueTypeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredAnnotationValueType(valueTypeName);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredAnnotationDefaultValue(final String methodName, final String methodDescriptor, final JavaAnnotationBuilder.ValueBuilder valueBuilder) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredAnnotationDefaultValue(methodName, methodDescriptor, valueBuilder);
+            }
+        });
+    }
+
+    @Override
+    public void registerEnclosingClass(final String ownerName, final String enclosingClassName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.registerEnclosingClass(ownerName, enclosingClassName);
+            }
+        });
+    }
+
+    @Override
+    public void registerEnclosingCodeUnit(final String ownerName, final CodeUnit enclosingCodeUnit) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.registerEnclosingCodeUnit(ownerName, enclosingCodeUnit);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredClassObject(final String typeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredClassObject(typeName);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredInstanceofCheck(final String typeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredInstanceofCheck(typeName);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredThrowsClause(final Collection<String> exceptionTypeNames) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredThrowsClause(exceptionTypeNames);
+            }
+        });
+    }
+
+    @Override
+    public void onDeclaredGenericSignatureType(final String typeName) {
+        declarations.add(new Declaration() {
+            @Override
+            public void replayOn(DeclarationHandler handler) {
+                handler.onDeclaredGenericSignatureType(typeName);
+            }
+        });
+    }
+
+    private interface Declaration {
+        void replayOn(DeclarationHandler handler);
+    }
+
+    static class Declarations {
+        private final List<DeferredDeclarationHandler> deferredHandlers;
+
+        private Declarations(List<DeferredDeclarationHandler> deferredHandlers) {
+            this.deferredHandlers = deferredHandlers;
+        }
+
+        void replay() {
+            for (DeferredDeclarationHandler deferredHandler : deferredHandlers) {
+                deferredHandler.replay();
+            }
+        }
+    }
+}
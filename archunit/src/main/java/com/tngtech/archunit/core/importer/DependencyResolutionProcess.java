@@ -19,13 +19,15 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.tngtech.archunit.ArchConfiguration;
-import com.tngtech.archunit.core.importer.ImportedClasses.ImportedClassState;
+import com.tngtech.archunit.base.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static com.tngtech.archunit.core.importer.ImportedClasses.ImportedClassState.HAD_TO_BE_IMPORTED;
 import static java.lang.System.lineSeparator;
 
 class DependencyResolutionProcess {
@@ -36,34 +38,38 @@ class DependencyResolutionProcess {
 
     static final String MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME = "maxIterationsForMemberTypes";
     static final int MAX_ITERATIONS_FOR_MEMBER_TYPES_DEFAULT_VALUE = 1;
-    private final int maxRunsForMemberTypes = getConfiguredIterations(
+    private final int maxRunsForMemberTypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_MEMBER_TYPES_DEFAULT_VALUE);
 
     static final String MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME = "maxIterationsForAccessesToTypes";
     static final int MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_DEFAULT_VALUE = 1;
-    private final int maxRunsForAccessesToTypes = getConfiguredIterations(
+    private final int maxRunsForAccessesToTypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_DEFAULT_VALUE);
 
     static final String MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME = "maxIterationsForSupertypes";
     static final int MAX_ITERATIONS_FOR_SUPERTYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForSupertypes = getConfiguredIterations(
+    private final int maxRunsForSupertypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_SUPERTYPES_DEFAULT_VALUE);
 
     static final String MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME = "maxIterationsForEnclosingTypes";
     static final int MAX_ITERATIONS_FOR_ENCLOSING_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForEnclosingTypes = getConfiguredIterations(
+    private final int maxRunsForEnclosingTypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ENCLOSING_TYPES_DEFAULT_VALUE);
 
     static final String MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME = "maxIterationsForAnnotationTypes";
     static final int MAX_ITERATIONS_FOR_ANNOTATION_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForAnnotationTypes = getConfiguredIterations(
+    private final int maxRunsForAnnotationTypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_ANNOTATION_TYPES_DEFAULT_VALUE);
 
     static final String MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME = "maxIterationsForGenericSignatureTypes";
     static final int MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_DEFAULT_VALUE = -1;
-    private final int maxRunsForGenericSignatureTypes = getConfiguredIterations(
+    private final int maxRunsForGenericSignatureTypes = getConfiguredInt(
             MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME, MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_DEFAULT_VALUE);
 
+    static final String PARALLELISM_PROPERTY_NAME = "parallelism";
+    static final int PARALLELISM_DEFAULT_VALUE = 1;
+    private final int parallelism = getConfiguredInt(PARALLELISM_PROPERTY_NAME, PARALLELISM_DEFAULT_VALUE);
+
     private Set<String> currentTypeNames = new HashSet<>();
     private int runNumber = 1;
     private boolean shouldContinue;
@@ -118,41 +124,62 @@ class DependencyResolutionProcess {
 
     void resolve(ImportedClasses classes) {
         logConfiguration();
-        do {
-            executeRun(classes);
-        } while (shouldContinue);
+        Optional<ExecutorService> executor = createExecutorIfParallelResolutionIsPossible(classes);
+        try {
+            do {
+                executeRun(classes, executor);
+            } while (shouldContinue);
+        } finally {
+            if (executor.isPresent()) {
+                executor.get().shutdownNow();
+            }
+        }
+    }
+
+    private Optional<ExecutorService> createExecutorIfParallelResolutionIsPossible(ImportedClasses classes) {
+        if (parallelism <= 1) {
+            return Optional.empty();
+        }
+        if (!classes.supportsParallelResolution()) {
+            log.debug("Configured {}.{} = {}, but the configured class resolver does not support parallel resolution, "
+                    + "falling back to sequential resolution", DEPENDENCY_RESOLUTION_PROCESS_PROPERTY_PREFIX, PARALLELISM_PROPERTY_NAME, parallelism);
+            return Optional.empty();
+        }
+        return Optional.of(Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("archunit-dependency-resolution-%d")
+                .setDaemon(true)
+                .build()));
     }
 
     private void logConfiguration() {
-        log.debug("Automatically resolving transitive class dependencies with the following configuration:{}{}{}{}{}{}",
+        log.debug("Automatically resolving transitive class dependencies with the following configuration:{}{}{}{}{}{}{}",
                 formatConfigProperty(MAX_ITERATIONS_FOR_MEMBER_TYPES_PROPERTY_NAME, maxRunsForMemberTypes),
                 formatConfigProperty(MAX_ITERATIONS_FOR_ACCESSES_TO_TYPES_PROPERTY_NAME, maxRunsForAccessesToTypes),
                 formatConfigProperty(MAX_ITERATIONS_FOR_SUPERTYPES_PROPERTY_NAME, maxRunsForSupertypes),
                 formatConfigProperty(MAX_ITERATIONS_FOR_ENCLOSING_TYPES_PROPERTY_NAME, maxRunsForEnclosingTypes),
                 formatConfigProperty(MAX_ITERATIONS_FOR_ANNOTATION_TYPES_PROPERTY_NAME, maxRunsForAnnotationTypes),
-                formatConfigProperty(MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME, maxRunsForGenericSignatureTypes));
+                formatConfigProperty(MAX_ITERATIONS_FOR_GENERIC_SIGNATURE_TYPES_PROPERTY_NAME, maxRunsForGenericSignatureTypes),
+                formatConfigProperty(PARALLELISM_PROPERTY_NAME, parallelism));
     }
 
     private String formatConfigProperty(String propertyName, int number) {
         return lineSeparator() + DEPENDENCY_RESOLUTION_PROCESS_PROPERTY_PREFIX + "." + propertyName + " = " + number;
     }
 
-    private void executeRun(ImportedClasses classes) {
+    private void executeRun(ImportedClasses classes, Optional<ExecutorService> executor) {
         runNumber++;
         Set<String> typeNamesToResolve = this.currentTypeNames;
         currentTypeNames = new HashSet<>();
-        shouldContinue = false;
-        for (String typeName : typeNamesToResolve) {
-            ImportedClassState classState = classes.ensurePresent(typeName);
-            shouldContinue = shouldContinue || (classState == HAD_TO_BE_IMPORTED);
-        }
+        shouldContinue = executor.isPresent()
+                ? classes.ensureAllPresent(typeNamesToResolve, executor.get())
+                : classes.ensureAllPresent(typeNamesToResolve);
     }
 
     private boolean runNumberHasNotExceeded(int maxRuns) {
         return maxRuns < 0 || runNumber <= maxRuns;
     }
 
-    private int getConfiguredIterations(String propertyName, int defaultValue) {
+    private int getConfiguredInt(String propertyName, int defaultValue) {
         return Integer.parseInt(resolutionProcessProperties.getProperty(propertyName, String.valueOf(defaultValue)));
     }
 }
@@ -445,6 +445,7 @@ public final class DomainBuilders {
         private boolean isRecord;
         private boolean isAnonymousClass;
         private boolean isMemberClass;
+        private boolean codeImported = true;
         private Set<JavaModifier> modifiers = new HashSet<>();
 
         JavaClassBuilder() {
@@ -485,6 +486,11 @@ public final class DomainBuilders {
             return this;
         }
 
+        JavaClassBuilder withCodeImported(boolean codeImported) {
+            this.codeImported = codeImported;
+            return this;
+        }
+
         JavaClassBuilder withEnum(boolean isEnum) {
             this.isEnum = isEnum;
             return this;
@@ -511,12 +517,13 @@ public final class DomainBuilders {
         }
 
         JavaClass build() {
-            return DomainObjectCreationContext.createJavaClass(this);
+            return DomainObjectCreationContext.createJavaClass(this, codeImported);
         }
 
         public Optional<Source> getSource() {
             return sourceDescriptor.isPresent()
-                    ? Optional.of(createSource(sourceDescriptor.get().getUri(), sourceFileName, sourceDescriptor.get().isMd5InClassSourcesEnabled()))
+                    ? Optional.of(createSource(sourceDescriptor.get().getUri(), sourceFileName,
+                    sourceDescriptor.get().isMd5InClassSourcesEnabled(), sourceDescriptor.get().getKnownContents()))
                     : Optional.<Source>empty();
         }
 
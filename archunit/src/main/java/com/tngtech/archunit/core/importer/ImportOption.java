@@ -41,7 +41,42 @@ import static com.tngtech.archunit.core.importer.ImportOption.Predefined.TEST_LO
 public interface ImportOption {
     boolean includes(Location location);
 
-    enum Predefined implements ImportOption {
+    /**
+     * An {@link ImportOption} that can additionally decide for a whole directory or archive (or an entry prefix
+     * within an archive) at once, if all class files beneath it should be included or excluded. This allows
+     * to skip whole subtrees or archives while scanning, instead of evaluating {@link #includes(Location)}
+     * for every single class file.<br><br>
+     * <b>IMPORTANT</b>: The result must be consistent with {@link #includes(Location)}, i.e. if
+     * {@link #decideBeneath(Location)} returns {@link Decision#INCLUDE_ALL} or {@link Decision#EXCLUDE_ALL} for
+     * some {@link Location}, then {@link #includes(Location)} must return {@code true} respectively {@code false}
+     * for every class file {@link Location} beneath it. If in doubt, return {@link Decision#DECIDE_PER_CLASS_FILE}.
+     */
+    @PublicAPI(usage = INHERITANCE)
+    interface Hierarchical extends ImportOption {
+        /**
+         * @param location The {@link Location} of a directory, an archive or an entry prefix within an archive
+         * @return The {@link Decision} for all class files beneath the given {@link Location}
+         */
+        Decision decideBeneath(Location location);
+
+        enum Decision {
+            /**
+             * All class files beneath the respective {@link Location} are included
+             */
+            INCLUDE_ALL,
+            /**
+             * All class files beneath the respective {@link Location} are excluded
+             */
+            EXCLUDE_ALL,
+            /**
+             * No common decision is possible, thus {@link ImportOption#includes(Location)}
+             * must be evaluated for each class file
+             */
+            DECIDE_PER_CLASS_FILE
+        }
+    }
+
+    enum Predefined implements Hierarchical {
         DO_NOT_INCLUDE_TESTS {
             private final DoNotIncludeTests doNotIncludeTests = new DoNotIncludeTests();
 
@@ -49,6 +84,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeTests.includes(location);
             }
+
+            @Override
+            public Decision decideBeneath(Location location) {
+                return doNotIncludeTests.decideBeneath(location);
+            }
         },
         ONLY_INCLUDE_TESTS {
             private final OnlyIncludeTests onlyIncludeTests = new OnlyIncludeTests();
@@ -57,6 +97,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return onlyIncludeTests.includes(location);
             }
+
+            @Override
+            public Decision decideBeneath(Location location) {
+                return onlyIncludeTests.decideBeneath(location);
+            }
         },
         DO_NOT_INCLUDE_JARS {
             private final DoNotIncludeJars doNotIncludeJars = new DoNotIncludeJars();
@@ -65,6 +110,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeJars.includes(location);
             }
+
+            @Override
+            public Decision decideBeneath(Location location) {
+                return doNotIncludeJars.decideBeneath(location);
+            }
         },
         /**
          * Since Java 9 there are JARs and JRTs, this will exclude both
@@ -76,6 +126,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludeArchives.includes(location);
             }
+
+            @Override
+            public Decision decideBeneath(Location location) {
+                return doNotIncludeArchives.decideBeneath(location);
+            }
         },
         /**
          * @see DoNotIncludePackageInfos
@@ -87,6 +142,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return doNotIncludePackageInfos.includes(location);
             }
+
+            @Override
+            public Decision decideBeneath(Location location) {
+                return doNotIncludePackageInfos.decideBeneath(location);
+            }
         };
 
         static final PatternPredicate MAVEN_TEST_PATTERN = new PatternPredicate(".*/target/test-classes/.*");
@@ -117,47 +177,72 @@ public interface ImportOption {
      * Thus it is just a best guess, how tests can be identified,
      * in other environments, it might be necessary, to implement the correct {@link ImportOption} yourself.
      */
-    final class DoNotIncludeTests implements ImportOption {
+    final class DoNotIncludeTests implements Hierarchical {
         @Override
         public boolean includes(Location location) {
             return NO_TEST_LOCATION.apply(location);
         }
+
+        @Override
+        public Decision decideBeneath(Location location) {
+            return TEST_LOCATION.apply(location) ? Decision.EXCLUDE_ALL : Decision.DECIDE_PER_CLASS_FILE;
+        }
     }
 
     /**
      * Best effort {@link ImportOption} to check rules only on test classes.<br>
      * See {@link DoNotIncludeTests} for limitations of test class identification.
      */
-    final class OnlyIncludeTests implements ImportOption {
+    final class OnlyIncludeTests implements Hierarchical {
         @Override
         public boolean includes(Location location) {
             return TEST_LOCATION.apply(location);
         }
+
+        @Override
+        public Decision decideBeneath(Location location) {
+            return TEST_LOCATION.apply(location) ? Decision.INCLUDE_ALL : Decision.DECIDE_PER_CLASS_FILE;
+        }
     }
 
-    final class DoNotIncludeJars implements ImportOption {
+    final class DoNotIncludeJars implements Hierarchical {
         @Override
         public boolean includes(Location location) {
             return !location.isJar();
         }
+
+        @Override
+        public Decision decideBeneath(Location location) {
+            return location.isJar() ? Decision.EXCLUDE_ALL : Decision.INCLUDE_ALL;
+        }
     }
 
-    final class DoNotIncludeArchives implements ImportOption {
+    final class DoNotIncludeArchives implements Hierarchical {
         @Override
         public boolean includes(Location location) {
             return !location.isArchive();
         }
+
+        @Override
+        public Decision decideBeneath(Location location) {
+            return location.isArchive() ? Decision.EXCLUDE_ALL : Decision.INCLUDE_ALL;
+        }
     }
 
     /**
      * Excludes {@code package-info.class} files.
      */
-    final class DoNotIncludePackageInfos implements ImportOption {
+    final class DoNotIncludePackageInfos implements Hierarchical {
         private static final Pattern PACKAGE_INFO_PATTERN = Pattern.compile(".*package-info\\.class$");
 
         @Override
         public boolean includes(Location location) {
             return !location.matches(PACKAGE_INFO_PATTERN);
         }
+
+        @Override
+        public Decision decideBeneath(Location location) {
+            return Decision.DECIDE_PER_CLASS_FILE;
+        }
     }
 }
@@ -20,6 +20,7 @@ import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.importer.ImportOption.Hierarchical.Decision;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
@@ -58,4 +59,21 @@ public final class ImportOptions {
         }
         return true;
     }
+
+    /**
+     * @see ImportOption.Hierarchical
+     */
+    Decision decideBeneath(Location location) {
+        boolean allIncludeAll = true;
+        for (ImportOption option : options) {
+            Decision decision = option instanceof ImportOption.Hierarchical
+                    ? ((ImportOption.Hierarchical) option).decideBeneath(location)
+                    : Decision.DECIDE_PER_CLASS_FILE;
+            if (decision == Decision.EXCLUDE_ALL) {
+                return Decision.EXCLUDE_ALL;
+            }
+            allIncludeAll = allIncludeAll && decision == Decision.INCLUDE_ALL;
+        }
+        return allIncludeAll ? Decision.INCLUDE_ALL : Decision.DECIDE_PER_CLASS_FILE;
+    }
 }
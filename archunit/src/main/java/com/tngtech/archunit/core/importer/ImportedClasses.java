@@ -15,10 +15,19 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
@@ -27,9 +36,11 @@ import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClassDescriptor;
 import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.importer.DeferredDeclarationHandler.Declarations;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaClassBuilder;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.tngtech.archunit.core.domain.JavaModifier.ABSTRACT;
 import static com.tngtech.archunit.core.domain.JavaModifier.FINAL;
 import static com.tngtech.archunit.core.domain.JavaModifier.PUBLIC;
@@ -43,12 +54,17 @@ class ImportedClasses {
     private final ImmutableMap<String, JavaClass> directlyImported;
     private final Map<String, JavaClass> allClasses = new HashMap<>();
     private final ClassResolver resolver;
+    private final boolean codeImported;
     private final MethodReturnTypeGetter getMethodReturnType;
+    private final AccessTargetMembers accessTargetMembers = new AccessTargetMembers();
+    private final Map<String, List<JavaClass>> parameterTypesByMethodDescriptor = new HashMap<>();
+    private final Map<String, JavaClass> returnTypesByMethodDescriptor = new HashMap<>();
 
-    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, MethodReturnTypeGetter methodReturnTypeGetter) {
+    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, boolean codeImported, MethodReturnTypeGetter methodReturnTypeGetter) {
         this.directlyImported = ImmutableMap.copyOf(directlyImported);
         allClasses.putAll(directlyImported);
         this.resolver = resolver;
+        this.codeImported = codeImported;
         this.getMethodReturnType = methodReturnTypeGetter;
     }
 
@@ -61,6 +77,35 @@ class ImportedClasses {
         return javaClass != null ? javaClass : resolve(typeName);
     }
 
+    /**
+     * @return the raw parameter types of the given method descriptor; each distinct descriptor is only parsed
+     *         and resolved once per import, no matter how many accesses share it
+     */
+    List<JavaClass> getOrResolveParameterTypes(String methodDescriptor) {
+        List<JavaClass> result = parameterTypesByMethodDescriptor.get(methodDescriptor);
+        if (result == null) {
+            ImmutableList.Builder<JavaClass> parameterTypes = ImmutableList.builder();
+            for (JavaClassDescriptor type : JavaClassDescriptorImporter.importAsmMethodArgumentTypes(methodDescriptor)) {
+                parameterTypes.add(getOrResolve(type.getFullyQualifiedClassName()));
+            }
+            result = parameterTypes.build();
+            parameterTypesByMethodDescriptor.put(methodDescriptor, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the raw return type of the given method descriptor; compare {@link #getOrResolveParameterTypes(String)}
+     */
+    JavaClass getOrResolveReturnType(String methodDescriptor) {
+        JavaClass result = returnTypesByMethodDescriptor.get(methodDescriptor);
+        if (result == null) {
+            result = getOrResolve(JavaClassDescriptorImporter.importAsmMethodReturnType(methodDescriptor).getFullyQualifiedClassName());
+            returnTypesByMethodDescriptor.put(methodDescriptor, result);
+        }
+        return result;
+    }
+
     ImportedClassState ensurePresent(String typeName) {
         if (allClasses.containsKey(typeName)) {
             return WAS_ALREADY_PRESENT;
@@ -70,8 +115,99 @@ class ImportedClasses {
         return HAD_TO_BE_IMPORTED;
     }
 
+    /**
+     * Resolves all given types that are not present yet as one batch. The missing types are resolved
+     * sorted by name, so types of the same package, which usually stem from the same archive, are resolved one after another.
+     *
+     * @return true, if any of the given types had to be imported
+     */
+    boolean ensureAllPresent(Collection<String> typeNames) {
+        SortedSet<String> missingTypeNames = getMissing(typeNames);
+        for (String typeName : missingTypeNames) {
+            ensurePresent(typeName);
+        }
+        return !missingTypeNames.isEmpty();
+    }
+
+    /**
+     * Like {@link #ensureAllPresent(Collection)}, but parses the class files of the missing types in parallel
+     * using the given {@link ExecutorService}. All declarations found while parsing are deferred and then
+     * replayed sequentially in the same order {@link #ensureAllPresent(Collection)} would have reported them,
+     * so the result of the import does not depend on the scheduling of the worker threads.<br>
+     * Must only be used if {@link #supportsParallelResolution()}.
+     *
+     * @return true, if any of the given types had to be imported
+     */
+    boolean ensureAllPresent(Collection<String> typeNames, ExecutorService executor) {
+        SortedSet<String> missingTypeNames = getMissing(typeNames);
+        List<Callable<ResolvedType>> resolutions = new ArrayList<>();
+        for (String typeName : missingTypeNames) {
+            resolutions.add(tryResolveDeferred(typeName));
+        }
+        for (ResolvedType resolvedType : invokeAll(executor, resolutions)) {
+            if (!allClasses.containsKey(resolvedType.typeName)) {
+                resolvedType.declarations.replay();
+                add(resolvedType.typeName, resolvedType.javaClass);
+            }
+        }
+        return !missingTypeNames.isEmpty();
+    }
+
+    /**
+     * @return true, if the configured {@link ClassResolver} declares itself {@link ClassResolver.ThreadSafe thread-safe}
+     */
+    boolean supportsParallelResolution() {
+        return resolver instanceof ClassResolver.ThreadSafe;
+    }
+
+    private SortedSet<String> getMissing(Collection<String> typeNames) {
+        SortedSet<String> result = new TreeSet<>();
+        for (String typeName : typeNames) {
+            if (!allClasses.containsKey(typeName)) {
+                result.add(typeName);
+            }
+        }
+        return result;
+    }
+
+    private Callable<ResolvedType> tryResolveDeferred(final String typeName) {
+        return new Callable<ResolvedType>() {
+            @Override
+            public ResolvedType call() {
+                DeferredDeclarationHandler.startDeferring();
+                Optional<JavaClass> resolved;
+                Declarations declarations;
+                try {
+                    resolved = resolver.tryResolve(typeName);
+                } finally {
+                    declarations = DeferredDeclarationHandler.stopDeferring();
+                }
+                return new ResolvedType(typeName, resolved, declarations);
+            }
+        };
+    }
+
+    private static List<ResolvedType> invokeAll(ExecutorService executor, List<Callable<ResolvedType>> resolutions) {
+        try {
+            List<ResolvedType> result = new ArrayList<>();
+            for (Future<ResolvedType> future : executor.invokeAll(resolutions)) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving classes", e);
+        } catch (ExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private JavaClass resolve(String typeName) {
-        Optional<JavaClass> resolved = resolver.tryResolve(typeName);
+        return add(typeName, resolver.tryResolve(typeName));
+    }
+
+    private JavaClass add(String typeName, Optional<JavaClass> resolved) {
         JavaClass javaClass = resolved.isPresent() ? resolved.get() : stubClassOf(typeName);
         if (javaClass.isArray()) {
             ensureAllComponentTypesPresent(javaClass);
@@ -88,13 +224,17 @@ class ImportedClasses {
         }
     }
 
+    int getNumberOfClasses() {
+        return allClasses.size();
+    }
+
     Collection<JavaClass> getAllWithOuterClassesSortedBeforeInnerClasses() {
         return ImmutableSortedMap.copyOf(allClasses).values();
     }
 
-    private static JavaClass stubClassOf(String typeName) {
+    private JavaClass stubClassOf(String typeName) {
         JavaClassDescriptor descriptor = JavaClassDescriptor.From.name(typeName);
-        JavaClassBuilder builder = JavaClassBuilder.forStub().withDescriptor(descriptor);
+        JavaClassBuilder builder = JavaClassBuilder.forStub().withDescriptor(descriptor).withCodeImported(codeImported);
         addModifiersIfPossible(builder, descriptor);
         return builder.build();
     }
@@ -109,10 +249,26 @@ class ImportedClasses {
         return getMethodReturnType.getReturnType(declaringClassName, methodName);
     }
 
+    AccessTargetMembers getAccessTargetMembers() {
+        return accessTargetMembers;
+    }
+
     interface MethodReturnTypeGetter {
         Optional<JavaClass> getReturnType(String declaringClassName, String methodName);
     }
 
+    private static class ResolvedType {
+        private final String typeName;
+        private final Optional<JavaClass> javaClass;
+        private final Declarations declarations;
+
+        ResolvedType(String typeName, Optional<JavaClass> javaClass, Declarations declarations) {
+            this.typeName = typeName;
+            this.javaClass = javaClass;
+            this.declarations = declarations;
+        }
+    }
+
     enum ImportedClassState {
         HAD_TO_BE_IMPORTED,
         WAS_ALREADY_PRESENT
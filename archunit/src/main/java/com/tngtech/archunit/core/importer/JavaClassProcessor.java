@@ -79,17 +79,23 @@ class JavaClassProcessor extends ClassVisitor {
     private DomainBuilders.JavaClassBuilder javaClassBuilder;
     private final Set<JavaAnnotationBuilder> annotations = new HashSet<>();
     private final SourceDescriptor sourceDescriptor;
+    private final boolean codeImported;
     private final DeclarationHandler declarationHandler;
     private final AccessHandler accessHandler;
     private String className;
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler) {
-        this(sourceDescriptor, declarationHandler, NO_OP);
+    /**
+     * @param codeImported Whether the code of methods, constructors and static initializers is visited
+     *                     (compare {@link ClassFileImporter.ImportDepth})
+     */
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, boolean codeImported, DeclarationHandler declarationHandler) {
+        this(sourceDescriptor, codeImported, declarationHandler, NO_OP);
     }
 
-    JavaClassProcessor(SourceDescriptor sourceDescriptor, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
+    JavaClassProcessor(SourceDescriptor sourceDescriptor, boolean codeImported, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
         super(ASM_API_VERSION);
         this.sourceDescriptor = sourceDescriptor;
+        this.codeImported = codeImported;
         this.declarationHandler = declarationHandler;
         this.accessHandler = accessHandler;
     }
@@ -116,6 +122,7 @@ class JavaClassProcessor extends ClassVisitor {
 
         javaClassBuilder = new DomainBuilders.JavaClassBuilder()
                 .withSourceDescriptor(sourceDescriptor)
+                .withCodeImported(codeImported)
                 .withDescriptor(descriptor)
                 .withInterface(opCodeForInterfaceIsPresent)
                 .withEnum(opCodeForEnumIsPresent)
@@ -20,14 +20,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -44,11 +41,12 @@ import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.ArchUnitException.LocationException;
 import com.tngtech.archunit.base.ArchUnitException.UnsupportedUriSchemeException;
 import com.tngtech.archunit.core.InitialConfiguration;
+import com.tngtech.archunit.core.importer.ClassFileDirectoryScanner.ScanFailedException;
+import com.tngtech.archunit.core.importer.ImportOption.Hierarchical.Decision;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
-import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 
 /**
@@ -363,33 +361,38 @@ public abstract class Location {
 
         @Override
         Iterable<NormalizedResourceName> iterateEntriesInternal() {
+            return getAllFilesBeneath(Paths.get(uri.toURI()));
+        }
+
+        private List<NormalizedResourceName> getAllFilesBeneath(Path root) {
             try {
-                return getAllFilesBeneath(uri);
-            } catch (IOException e) {
+                return getAllClassFilesBeneath(root);
+            } catch (ScanFailedException e) {
                 throw new LocationException(e);
             }
         }
 
-        private List<NormalizedResourceName> getAllFilesBeneath(NormalizedUri uri) throws IOException {
-            File rootFile = new File(uri.toURI());
-            if (!rootFile.exists()) {
-                return emptyList();
-            }
+        private List<NormalizedResourceName> getAllClassFilesBeneath(Path root) {
+            ImmutableList.Builder<NormalizedResourceName> result = ImmutableList.builder();
+            Iterator<Path> files = ClassFileDirectoryScanner.fromConfiguration().scan(root, new ClassFileDirectoryScanner.Filter() {
+                @Override
+                public boolean isRelevant(String fileName) {
+                    return fileName.endsWith(".class");
+                }
 
-            return getAllFilesBeneath(rootFile.toPath());
-        }
+                @Override
+                public Decision decideBeneath(Path directory) {
+                    return Decision.INCLUDE_ALL;
+                }
 
-        private List<NormalizedResourceName> getAllFilesBeneath(final Path root) throws IOException {
-            final ImmutableList.Builder<NormalizedResourceName> result = ImmutableList.builder();
-            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
                 @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    if (file.toString().endsWith(".class")) {
-                        result.add(NormalizedResourceName.from(root.relativize(file).toString()));
-                    }
-                    return FileVisitResult.CONTINUE;
+                public boolean includes(Path file) {
+                    return true;
                 }
             });
+            while (files.hasNext()) {
+                result.add(NormalizedResourceName.from(root.relativize(files.next()).toString()));
+            }
             return result.build();
         }
     }
@@ -17,13 +17,25 @@ package com.tngtech.archunit.core.importer;
 
 import java.net.URI;
 
+import com.tngtech.archunit.base.Optional;
+
 class SourceDescriptor {
     private final URI sourceUri;
     private final boolean md5InClassSourcesEnabled;
+    private final Optional<byte[]> knownContents;
 
     SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled) {
+        this(sourceUri, md5InClassSourcesEnabled, Optional.<byte[]>empty());
+    }
+
+    /**
+     * @param knownContents The contents of the class file, if they have already been read, so they don't need to be read again
+     *                      to calculate the md5 sum
+     */
+    SourceDescriptor(URI sourceUri, boolean md5InClassSourcesEnabled, Optional<byte[]> knownContents) {
         this.sourceUri = sourceUri;
         this.md5InClassSourcesEnabled = md5InClassSourcesEnabled;
+        this.knownContents = knownContents;
     }
 
     URI getUri() {
@@ -33,4 +45,8 @@ class SourceDescriptor {
     boolean isMd5InClassSourcesEnabled() {
         return md5InClassSourcesEnabled;
     }
+
+    Optional<byte[]> getKnownContents() {
+        return knownContents;
+    }
 }
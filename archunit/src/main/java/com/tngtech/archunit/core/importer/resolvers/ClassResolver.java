@@ -87,6 +87,16 @@ public interface ClassResolver {
         Optional<JavaClass> tryImport(URI uri);
     }
 
+    /**
+     * Marks a {@link ClassResolver} that is safe to call from several threads in parallel. Only such a resolver
+     * is used to resolve missing dependencies in parallel, if {@code import.dependencyResolutionProcess.parallelism}
+     * is configured within {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}.
+     * Any other {@link ClassResolver} will always be called sequentially.
+     */
+    @PublicAPI(usage = INHERITANCE)
+    interface ThreadSafe extends ClassResolver {
+    }
+
     @Internal
     final class Factory {
         public ClassResolver create() {
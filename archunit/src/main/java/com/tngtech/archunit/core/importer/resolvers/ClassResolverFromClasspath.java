@@ -33,7 +33,7 @@ import static com.tngtech.archunit.base.ClassLoaders.getCurrentClassLoader;
  * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.
  */
 @MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
-public final class ClassResolverFromClasspath implements ClassResolver {
+public final class ClassResolverFromClasspath implements ClassResolver.ThreadSafe {
     private ClassUriImporter classUriImporter;
 
     @Override
@@ -32,7 +32,7 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  *
  * @see ClassResolverFromClasspath
  */
-public final class SelectedClassResolverFromClasspath implements ClassResolver {
+public final class SelectedClassResolverFromClasspath implements ClassResolver.ThreadSafe {
     private final Set<String> packageRoots;
     private final ClassResolverFromClasspath classResolverFromClasspath = new ClassResolverFromClasspath();
 
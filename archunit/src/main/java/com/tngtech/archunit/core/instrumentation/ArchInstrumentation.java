@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import java.util.Properties;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
+
+/**
+ * Receives timings and counts of the import of classes and the evaluation of rules, e.g. to find out where the time
+ * of an ArchUnit test run is actually spent. Instrumentation is disabled by default and can be enabled via
+ * {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}:
+ *
+ * <pre><code>
+ * instrumentation.enabled=true
+ * </code></pre>
+ *
+ * Without further configuration ArchUnit will then log a summary of all recorded timings when the JVM shuts down and optionally write it
+ * as JSON to the file configured by {@code instrumentation.report.json}. A custom {@link ArchInstrumentation} can be configured via
+ * {@code instrumentation.implementation=some.fully.qualified.ClassName}. It must provide a default constructor and will be instantiated
+ * only once per JVM.
+ * <br><br>
+ * Note that {@link ArchInstrumentation} will be called from whichever thread imports classes or evaluates rules,
+ * so implementations must be thread safe.
+ */
+@PublicAPI(usage = INHERITANCE)
+public interface ArchInstrumentation {
+
+    /**
+     * Provides custom initialization with the sub properties of {@code instrumentation}, i.e. if
+     * {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME} contains
+     * {@code instrumentation.some.prop=value}, then the passed properties will contain {@code some.prop=value}.
+     *
+     * @param properties The properties derived from the {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME} prefix
+     *                   {@code instrumentation}.
+     */
+    void initialize(Properties properties);
+
+    /**
+     * @param phase The {@link Phase} that has just finished
+     * @param durationNanos The time the phase took in nanoseconds
+     */
+    void onPhaseFinished(Phase phase, long durationNanos);
+
+    /**
+     * @param counter The {@link Counter} that was counted
+     * @param value The number of elements counted, e.g. the number of classes imported by one import
+     */
+    void onCount(Counter counter, long value);
+
+    /**
+     * @param ruleDescription The description of the rule that has just been evaluated
+     * @param durationNanos The time the evaluation took in nanoseconds
+     */
+    void onRuleEvaluated(String ruleDescription, long durationNanos);
+
+    @PublicAPI(usage = ACCESS)
+    enum Phase {
+        /**
+         * Locating and reading class files
+         */
+        SCAN,
+        /**
+         * Parsing the bytecode of class files
+         */
+        PARSE,
+        /**
+         * Resolving classes that were not imported directly, but are referenced by imported classes
+         */
+        RESOLVE,
+        /**
+         * Completing the domain objects, e.g. class hierarchies, members and accesses
+         */
+        COMPLETE,
+        /**
+         * Building the lookup indexes of {@link com.tngtech.archunit.core.domain.JavaClasses}
+         */
+        INDEX,
+        /**
+         * Matching the violations of a {@link com.tngtech.archunit.library.freeze.FreezingArchRule} against the violation store
+         */
+        FREEZE
+    }
+
+    @PublicAPI(usage = ACCESS)
+    enum Counter {
+        /**
+         * Classes imported directly from the class files
+         */
+        CLASSES,
+        /**
+         * Classes added by resolving dependencies of the directly imported classes
+         */
+        RESOLVED_CLASSES,
+        /**
+         * Accesses (field accesses, calls and references) between code units
+         */
+        ACCESSES
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import com.tngtech.archunit.base.HasDescription;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reports all spans as durations to the configured {@link ArchInstrumentation}.
+ */
+class ArchInstrumentationAdapter implements Instrumentation {
+    private final ArchInstrumentation delegate;
+
+    ArchInstrumentationAdapter(ArchInstrumentation delegate) {
+        this.delegate = checkNotNull(delegate);
+    }
+
+    ArchInstrumentation getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public Span beginPhase(final Phase phase) {
+        final long start = System.nanoTime();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                delegate.onPhaseFinished(phase, System.nanoTime() - start);
+            }
+        };
+    }
+
+    @Override
+    public void onPhaseFinished(Phase phase, long durationNanos, long count) {
+        delegate.onPhaseFinished(phase, durationNanos);
+    }
+
+    @Override
+    public void onCount(Counter counter, long value) {
+        delegate.onCount(counter, value);
+    }
+
+    @Override
+    public Span beginRuleEvaluation(final HasDescription rule) {
+        final long start = System.nanoTime();
+        return new Span() {
+            @Override
+            public void end(long count) {
+                delegate.onRuleEvaluated(rule.getDescription(), System.nanoTime() - start);
+            }
+        };
+    }
+
+    @Override
+    public Span beginCompositeRuleEvaluation(HasDescription rule) {
+        return Span.NO_OP;
+    }
+
+    @Override
+    public Span beginCycleDetection() {
+        return Span.NO_OP;
+    }
+}
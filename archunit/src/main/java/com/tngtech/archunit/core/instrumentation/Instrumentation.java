@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.HasDescription;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase;
+
+/**
+ * The single API through which ArchUnit reports the import of classes and the evaluation of rules.
+ * It is implemented by every instrumentation backend, i.e. the configured {@link ArchInstrumentation} and
+ * the Java Flight Recorder events, and obtained via {@link InstrumentationFactory#get()}.
+ */
+@Internal
+public interface Instrumentation {
+    /**
+     * @return {@code true}, if any backend currently records anything, i.e. if it is worth measuring
+     *         durations that have to be reported via {@link #onPhaseFinished(Phase, long, long)}
+     */
+    boolean isEnabled();
+
+    /**
+     * @param phase The {@link Phase} to record
+     * @return A {@link Span} to be {@link Span#end(long) ended} with the number of elements processed within the phase,
+     *         i.e. the number of classes for import phases and the number of rules for {@link Phase#FREEZE}
+     */
+    Span beginPhase(Phase phase);
+
+    /**
+     * Reports a phase that does not run as one block, but interleaved with other phases,
+     * like {@link Phase#SCAN} and {@link Phase#PARSE}, which alternate for every class file.
+     *
+     * @param phase The {@link Phase} that has finished
+     * @param durationNanos The accumulated time spent within the phase in nanoseconds
+     * @param count The number of elements processed within the phase (compare {@link #beginPhase(Phase)})
+     */
+    void onPhaseFinished(Phase phase, long durationNanos, long count);
+
+    /**
+     * @param counter The {@link Counter} that was counted
+     * @param value The number of elements counted
+     */
+    void onCount(Counter counter, long value);
+
+    /**
+     * @param rule The rule to record the evaluation of
+     * @return A {@link Span} to be {@link Span#end(long) ended} with the number of violations found
+     */
+    Span beginRuleEvaluation(HasDescription rule);
+
+    /**
+     * @param rule The composite rule to record the evaluation of
+     * @return A {@link Span} to be {@link Span#end(long) ended} with the number of rules the composite rule consists of
+     */
+    Span beginCompositeRuleEvaluation(HasDescription rule);
+
+    /**
+     * @return A {@link Span} to be {@link Span#end(long) ended} with the number of cycles detected
+     */
+    Span beginCycleDetection();
+
+    @Internal
+    interface Span {
+        Span NO_OP = new Span() {
+            @Override
+            public void end(long count) {
+            }
+        };
+
+        /**
+         * Ends this span and reports it to the respective backend.
+         *
+         * @param count The number of elements processed or found, depending on the type of the span
+         */
+        void end(long count);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Supplier;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.HasDescription;
+import com.tngtech.archunit.base.MayResolveTypesViaReflection;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.PluginLoader;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter;
+import com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Suppliers.memoize;
+import static com.tngtech.archunit.base.ReflectionUtils.newInstanceOf;
+import static com.tngtech.archunit.core.PluginLoader.JavaVersion.JAVA_11;
+
+@Internal
+public final class InstrumentationFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(InstrumentationFactory.class);
+
+    static final String INSTRUMENTATION_PROPERTY_PREFIX = "instrumentation";
+    private static final String ENABLED_PROPERTY_NAME = INSTRUMENTATION_PROPERTY_PREFIX + ".enabled";
+    private static final String IMPLEMENTATION_PROPERTY_NAME = INSTRUMENTATION_PROPERTY_PREFIX + ".implementation";
+
+    private static final Instrumentation NO_OP = new NoOpInstrumentation();
+    private static final ConcurrentMap<String, ArchInstrumentationAdapter> instancesByType = new ConcurrentHashMap<>();
+
+    private static final PluginLoader<Instrumentation> flightRecorderPluginLoader = PluginLoader
+            .forType(Instrumentation.class)
+            .ifVersionGreaterOrEqualTo(JAVA_11).load("com.tngtech.archunit.core.instrumentation.JavaFlightRecorderPlugin")
+            .fallback(NO_OP);
+
+    private static final Supplier<Instrumentation> flightRecorder = memoize(new Supplier<Instrumentation>() {
+        @Override
+        public Instrumentation get() {
+            try {
+                return flightRecorderPluginLoader.load();
+            } catch (RuntimeException | LinkageError e) {
+                LOG.debug("Java Flight Recorder is not available, no events will be emitted", e);
+                return NO_OP;
+            }
+        }
+    });
+
+    private InstrumentationFactory() {
+    }
+
+    /**
+     * @return The {@link Instrumentation} reporting to the {@link ArchInstrumentation} configured in
+     * {@value ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}, if instrumentation is enabled,
+     * as well as to the Java Flight Recorder, if available
+     */
+    public static Instrumentation get() {
+        Optional<ArchInstrumentationAdapter> configured = getConfiguredInstrumentation();
+        Instrumentation flightRecorderInstrumentation = flightRecorder.get();
+        if (!configured.isPresent()) {
+            return flightRecorderInstrumentation;
+        }
+        return flightRecorderInstrumentation == NO_OP
+                ? configured.get()
+                : new CompositeInstrumentation(configured.get(), flightRecorderInstrumentation);
+    }
+
+    static Optional<ArchInstrumentation> getArchInstrumentation() {
+        Optional<ArchInstrumentationAdapter> configured = getConfiguredInstrumentation();
+        return configured.isPresent() ? Optional.of(configured.get().getDelegate()) : Optional.<ArchInstrumentation>empty();
+    }
+
+    private static Optional<ArchInstrumentationAdapter> getConfiguredInstrumentation() {
+        ArchConfiguration configuration = ArchConfiguration.get();
+        if (!Boolean.parseBoolean(configuration.getPropertyOrDefault(ENABLED_PROPERTY_NAME, Boolean.FALSE.toString()))) {
+            return Optional.empty();
+        }
+
+        String type = configuration.getPropertyOrDefault(IMPLEMENTATION_PROPERTY_NAME, ReportingInstrumentation.class.getName());
+        ArchInstrumentationAdapter instrumentation = instancesByType.get(type);
+        if (instrumentation == null) {
+            ArchInstrumentation newInstrumentation = createInstance(type);
+            newInstrumentation.initialize(configuration.getSubProperties(INSTRUMENTATION_PROPERTY_PREFIX));
+            ArchInstrumentationAdapter newAdapter = new ArchInstrumentationAdapter(newInstrumentation);
+            instrumentation = instancesByType.putIfAbsent(type, newAdapter);
+            if (instrumentation == null) {
+                instrumentation = newAdapter;
+            }
+        }
+        return Optional.of(instrumentation);
+    }
+
+    @MayResolveTypesViaReflection(reason = "This only resolves the configured instrumentation, not any imported class")
+    private static ArchInstrumentation createInstance(String instrumentationClassName) {
+        if (instrumentationClassName.equals(ReportingInstrumentation.class.getName())) {
+            return new ReportingInstrumentation();
+        }
+        try {
+            return (ArchInstrumentation) newInstanceOf(Class.forName(instrumentationClassName));
+        } catch (Exception e) {
+            String message = String.format("Could not instantiate %s of configured type '%s=%s'",
+                    ArchInstrumentation.class.getSimpleName(), IMPLEMENTATION_PROPERTY_NAME, instrumentationClassName);
+            throw new InstrumentationInitializationFailedException(message, e);
+        }
+    }
+
+    private static class NoOpInstrumentation implements Instrumentation {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public Span beginPhase(Phase phase) {
+            return Span.NO_OP;
+        }
+
+        @Override
+        public void onPhaseFinished(Phase phase, long durationNanos, long count) {
+        }
+
+        @Override
+        public void onCount(Counter counter, long value) {
+        }
+
+        @Override
+        public Span beginRuleEvaluation(HasDescription rule) {
+            return Span.NO_OP;
+        }
+
+        @Override
+        public Span beginCompositeRuleEvaluation(HasDescription rule) {
+            return Span.NO_OP;
+        }
+
+        @Override
+        public Span beginCycleDetection() {
+            return Span.NO_OP;
+        }
+    }
+
+    private static class CompositeInstrumentation implements Instrumentation {
+        private final Instrumentation first;
+        private final Instrumentation second;
+
+        CompositeInstrumentation(Instrumentation first, Instrumentation second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return first.isEnabled() || second.isEnabled();
+        }
+
+        @Override
+        public Span beginPhase(Phase phase) {
+            return combine(first.beginPhase(phase), second.beginPhase(phase));
+        }
+
+        @Override
+        public void onPhaseFinished(Phase phase, long durationNanos, long count) {
+            first.onPhaseFinished(phase, durationNanos, count);
+            second.onPhaseFinished(phase, durationNanos, count);
+        }
+
+        @Override
+        public void onCount(Counter counter, long value) {
+            first.onCount(counter, value);
+            second.onCount(counter, value);
+        }
+
+        @Override
+        public Span beginRuleEvaluation(HasDescription rule) {
+            return combine(first.beginRuleEvaluation(rule), second.beginRuleEvaluation(rule));
+        }
+
+        @Override
+        public Span beginCompositeRuleEvaluation(HasDescription rule) {
+            return combine(first.beginCompositeRuleEvaluation(rule), second.beginCompositeRuleEvaluation(rule));
+        }
+
+        @Override
+        public Span beginCycleDetection() {
+            return combine(first.beginCycleDetection(), second.beginCycleDetection());
+        }
+
+        private static Span combine(final Span first, final Span second) {
+            if (first == Span.NO_OP) {
+                return second;
+            }
+            if (second == Span.NO_OP) {
+                return first;
+            }
+            return new Span() {
+                @Override
+                public void end(long count) {
+                    first.end(count);
+                    second.end(count);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.google.common.io.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.base.JsonStrings.quote;
+import static java.lang.System.lineSeparator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Aggregates all recorded timings and counts and publishes them when the JVM shuts down,
+ * as summary log and, if {@code instrumentation.report.json} is configured, as JSON file.
+ */
+class ReportingInstrumentation implements ArchInstrumentation {
+    private static final Logger log = LoggerFactory.getLogger(ReportingInstrumentation.class);
+
+    private static final String JSON_REPORT_PROPERTY_NAME = "report.json";
+    private static final int NUMBER_OF_RULES_TO_LOG = 10;
+
+    private final Map<Phase, Timing> phases = new EnumMap<>(Phase.class);
+    private final Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+    private final Map<String, Timing> rules = new HashMap<>();
+
+    @Override
+    public void initialize(Properties properties) {
+        final String jsonReportPath = properties.getProperty(JSON_REPORT_PROPERTY_NAME);
+        Runtime.getRuntime().addShutdownHook(new Thread(getClass().getSimpleName()) {
+            @Override
+            public void run() {
+                publish(jsonReportPath);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void onPhaseFinished(Phase phase, long durationNanos) {
+        if (!phases.containsKey(phase)) {
+            phases.put(phase, new Timing());
+        }
+        phases.get(phase).add(durationNanos);
+    }
+
+    @Override
+    public synchronized void onCount(Counter counter, long value) {
+        Long count = counts.get(counter);
+        counts.put(counter, count == null ? value : count + value);
+    }
+
+    @Override
+    public synchronized void onRuleEvaluated(String ruleDescription, long durationNanos) {
+        if (!rules.containsKey(ruleDescription)) {
+            rules.put(ruleDescription, new Timing());
+        }
+        rules.get(ruleDescription).add(durationNanos);
+    }
+
+    private void publish(String jsonReportPath) {
+        log.info(createSummary());
+        if (jsonReportPath != null) {
+            File reportFile = new File(jsonReportPath);
+            try {
+                Files.createParentDirs(reportFile);
+                Files.write(toJson(), reportFile, UTF_8);
+            } catch (IOException e) {
+                log.warn("Could not write instrumentation report to " + reportFile.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    synchronized String createSummary() {
+        StringBuilder result = new StringBuilder("ArchUnit instrumentation summary:");
+        result.append(lineSeparator()).append("  Import phases:");
+        for (Phase phase : Phase.values()) {
+            Timing timing = phases.containsKey(phase) ? phases.get(phase) : new Timing();
+            result.append(String.format(" %s %d ms", phase.name().toLowerCase(), NANOSECONDS.toMillis(timing.totalNanos)));
+        }
+        result.append(lineSeparator()).append(String.format("  Imported %d classes (%d resolved classes, %d accesses)",
+                getCount(Counter.CLASSES), getCount(Counter.RESOLVED_CLASSES), getCount(Counter.ACCESSES)));
+        List<Map.Entry<String, Timing>> sortedRules = getRulesSortedByTotalDuration();
+        result.append(lineSeparator()).append(String.format("  Evaluated %d rules", sortedRules.size()));
+        for (Map.Entry<String, Timing> rule : sortedRules.subList(0, Math.min(NUMBER_OF_RULES_TO_LOG, sortedRules.size()))) {
+            result.append(lineSeparator()).append(String.format("    %d ms (%d evaluations): %s",
+                    NANOSECONDS.toMillis(rule.getValue().totalNanos), rule.getValue().count, rule.getKey()));
+        }
+        return result.toString();
+    }
+
+    synchronized String toJson() {
+        StringBuilder result = new StringBuilder("{").append(lineSeparator()).append("  \"phases\": {");
+        String separator = "";
+        for (Map.Entry<Phase, Timing> phase : phases.entrySet()) {
+            result.append(separator).append(lineSeparator())
+                    .append("    ").append(quote(phase.getKey().name().toLowerCase())).append(": ").append(phase.getValue().toJson());
+            separator = ",";
+        }
+        result.append(phases.isEmpty() ? "" : lineSeparator() + "  ").append("},").append(lineSeparator()).append("  \"counts\": {");
+        separator = "";
+        for (Map.Entry<Counter, Long> count : counts.entrySet()) {
+            result.append(separator).append(lineSeparator())
+                    .append("    ").append(quote(count.getKey().name().toLowerCase())).append(": ").append(count.getValue());
+            separator = ",";
+        }
+        result.append(counts.isEmpty() ? "" : lineSeparator() + "  ").append("},").append(lineSeparator()).append("  \"rules\": [");
+        separator = "";
+        for (Map.Entry<String, Timing> rule : getRulesSortedByTotalDuration()) {
+            result.append(separator).append(lineSeparator())
+                    .append("    {\"rule\": ").append(quote(rule.getKey())).append(", ").append(rule.getValue().toJsonFields()).append("}");
+            separator = ",";
+        }
+        return result.append(rules.isEmpty() ? "" : lineSeparator() + "  ").append("]").append(lineSeparator()).append("}").toString();
+    }
+
+    private long getCount(Counter counter) {
+        return counts.containsKey(counter) ? counts.get(counter) : 0;
+    }
+
+    private List<Map.Entry<String, Timing>> getRulesSortedByTotalDuration() {
+        List<Map.Entry<String, Timing>> result = new ArrayList<>(rules.entrySet());
+        Collections.sort(result, new Comparator<Map.Entry<String, Timing>>() {
+            @Override
+            public int compare(Map.Entry<String, Timing> first, Map.Entry<String, Timing> second) {
+                int byDuration = Long.compare(second.getValue().totalNanos, first.getValue().totalNanos);
+                return byDuration != 0 ? byDuration : first.getKey().compareTo(second.getKey());
+            }
+        });
+        return result;
+    }
+
+    private static class Timing {
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void add(long durationNanos) {
+            count++;
+            totalNanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+        }
+
+        String toJson() {
+            return "{" + toJsonFields() + "}";
+        }
+
+        String toJsonFields() {
+            return String.format("\"count\": %d, \"totalNanos\": %d, \"maxNanos\": %d", count, totalNanos, maxNanos);
+        }
+    }
+}
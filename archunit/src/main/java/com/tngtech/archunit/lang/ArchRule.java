@@ -29,6 +29,8 @@ import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.properties.CanOverrideDescription;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
 import com.tngtech.archunit.lang.extension.ArchUnitExtensions;
 import com.tngtech.archunit.lang.extension.EvaluatedRule;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
@@ -95,6 +97,16 @@ public interface ArchRule extends CanBeEvaluated, CanOverrideDescription<ArchRul
             assertNoViolation(result);
         }
 
+        /**
+         * Waits until all rules checked so far have been handled by the configured
+         * {@link com.tngtech.archunit.lang.extension.ArchUnitExtension ArchUnitExtensions}.
+         * Only relevant, if rules are dispatched to extensions asynchronously (compare {@link ArchUnitExtensions}).
+         */
+        @Internal
+        public static void flushExtensions() {
+            extensions.flush();
+        }
+
         @PublicAPI(usage = ACCESS)
         public static void assertNoViolation(EvaluationResult result) {
             FailureReport report = result.getFailureReport();
@@ -227,6 +239,13 @@ public interface ArchRule extends CanBeEvaluated, CanOverrideDescription<ArchRul
 
             @Override
             public EvaluationResult evaluate(JavaClasses classes) {
+                Span span = InstrumentationFactory.get().beginRuleEvaluation(this);
+                ConditionEvents events = evaluateConditionOn(classes);
+                span.end(events.getViolating().size());
+                return new EvaluationResult(this, events, priority);
+            }
+
+            private ConditionEvents evaluateConditionOn(JavaClasses classes) {
                 Iterable<T> allObjects = classesTransformer.transform(classes);
                 verifyNoEmptyShouldIfEnabled(allObjects);
 
@@ -236,7 +255,7 @@ public interface ArchRule extends CanBeEvaluated, CanOverrideDescription<ArchRul
                     condition.check(object, events);
                 }
                 condition.finish(events);
-                return new EvaluationResult(this, events, priority);
+                return events;
             }
 
             private void verifyNoEmptyShouldIfEnabled(Iterable<T> allObjects) {
@@ -21,6 +21,8 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
@@ -95,10 +97,12 @@ public final class CompositeArchRule implements ArchRule {
     @Override
     @PublicAPI(usage = ACCESS)
     public EvaluationResult evaluate(JavaClasses classes) {
+        Span span = InstrumentationFactory.get().beginCompositeRuleEvaluation(this);
         EvaluationResult result = new EvaluationResult(this, priority);
         for (ArchRule rule : rules) {
             result.add(rule.evaluate(classes));
         }
+        span.end(rules.size());
         return result;
     }
 
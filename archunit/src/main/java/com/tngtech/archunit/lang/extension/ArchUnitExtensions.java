@@ -15,6 +15,8 @@
  */
 package com.tngtech.archunit.lang.extension;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import com.tngtech.archunit.ArchConfiguration;
@@ -22,13 +24,26 @@ import com.tngtech.archunit.Internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Dispatches {@link EvaluatedRule EvaluatedRules} to all enabled {@link ArchUnitExtension ArchUnitExtensions}.
+ * By default each evaluated rule is dispatched synchronously, configuring each extension anew with the current
+ * {@link ArchConfiguration}. If
+ * <pre><code>{@value #ASYNC_DISPATCH_PROPERTY_NAME}=true</code></pre>
+ * is configured, extensions are configured only once and evaluated rules are handed over to a dedicated worker
+ * thread via a queue bounded by {@value #QUEUE_CAPACITY_PROPERTY_NAME} (default {@value #DEFAULT_QUEUE_CAPACITY}).
+ * Pending evaluated rules are dispatched at the latest when the JVM shuts down, or when {@link #flush()} is called.
+ */
 @Internal
 public class ArchUnitExtensions {
     private static final Logger LOG = LoggerFactory.getLogger(ArchUnitExtensions.class);
 
     private static final String ENABLED_PROPERTY = "enabled";
+    static final String ASYNC_DISPATCH_PROPERTY_NAME = "extensions.dispatch.async";
+    static final String QUEUE_CAPACITY_PROPERTY_NAME = "extensions.dispatch.queueCapacity";
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
 
     private final ArchUnitExtensionLoader extensionLoader;
+    private AsynchronousExtensionDispatcher asynchronousDispatcher;
 
     public ArchUnitExtensions() {
         this(new ArchUnitExtensionLoader());
@@ -40,17 +55,78 @@ public class ArchUnitExtensions {
     }
 
     public void dispatch(EvaluatedRule evaluatedRule) {
+        if (isAsynchronousDispatchEnabled()) {
+            getAsynchronousDispatcher().submit(evaluatedRule);
+            return;
+        }
+
         for (ArchUnitExtension extension : extensionLoader.getAll()) {
             dispatch(evaluatedRule, extension);
         }
     }
 
+    /**
+     * Blocks until all {@link EvaluatedRule EvaluatedRules} dispatched so far have been handled by the extensions.
+     * Only has an effect if evaluated rules are dispatched asynchronously.
+     */
+    public void flush() {
+        AsynchronousExtensionDispatcher dispatcher;
+        synchronized (this) {
+            dispatcher = asynchronousDispatcher;
+        }
+        if (dispatcher != null) {
+            dispatcher.flush();
+        }
+    }
+
+    private boolean isAsynchronousDispatchEnabled() {
+        return Boolean.parseBoolean(ArchConfiguration.get().getPropertyOrDefault(ASYNC_DISPATCH_PROPERTY_NAME, "false"));
+    }
+
+    private synchronized AsynchronousExtensionDispatcher getAsynchronousDispatcher() {
+        if (asynchronousDispatcher == null) {
+            int queueCapacity = Integer.parseInt(ArchConfiguration.get().getPropertyOrDefault(
+                    QUEUE_CAPACITY_PROPERTY_NAME, String.valueOf(DEFAULT_QUEUE_CAPACITY)));
+            asynchronousDispatcher = AsynchronousExtensionDispatcher.start(configureEnabledExtensions(), queueCapacity);
+        }
+        return asynchronousDispatcher;
+    }
+
+    private List<ArchUnitExtension> configureEnabledExtensions() {
+        List<ArchUnitExtension> result = new ArrayList<>();
+        for (ArchUnitExtension extension : extensionLoader.getAll()) {
+            Properties extensionProperties = ArchConfiguration.get().getExtensionProperties(extension.getUniqueIdentifier());
+            if (!isEnabled(extensionProperties)) {
+                logDisabled(extension);
+            } else if (configure(extension, extensionProperties)) {
+                result.add(extension);
+            }
+        }
+        return result;
+    }
+
+    private boolean configure(ArchUnitExtension extension, Properties extensionProperties) {
+        try {
+            extension.configure(extensionProperties);
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn(String.format("Error in extension '%s'", extension.getUniqueIdentifier()), e);
+            return false;
+        }
+    }
+
     private void dispatch(EvaluatedRule evaluatedRule, ArchUnitExtension extension) {
         ArchConfiguration configuration = ArchConfiguration.get();
         Properties extensionProperties = configuration.getExtensionProperties(extension.getUniqueIdentifier());
         if (isEnabled(extensionProperties)) {
             configureAndDispatch(extension, extensionProperties, evaluatedRule);
-        } else if (LOG.isDebugEnabled()) {
+        } else {
+            logDisabled(extension);
+        }
+    }
+
+    private void logDisabled(ArchUnitExtension extension) {
+        if (LOG.isDebugEnabled()) {
             LOG.debug("Extension '{}' is disabled, skipping... (to enable this extension, configure extension.{}.{}=true)",
                     extension.getUniqueIdentifier(), extension.getUniqueIdentifier(), ENABLED_PROPERTY);
         }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.lang.extension;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands {@link EvaluatedRule EvaluatedRules} over to a dedicated worker thread that passes them on to the
+ * already configured extensions. The queue between callers and worker is bounded, i.e. if the extensions
+ * cannot keep up, callers will block until there is space again.
+ */
+class AsynchronousExtensionDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(AsynchronousExtensionDispatcher.class);
+    private static final long FLUSH_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final List<ArchUnitExtension> extensions;
+    private final BlockingQueue<EvaluatedRule> queue;
+    private int numberOfPendingRules = 0;
+    private Thread worker;
+
+    private AsynchronousExtensionDispatcher(List<ArchUnitExtension> extensions, int queueCapacity) {
+        this.extensions = ImmutableList.copyOf(extensions);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void submit(EvaluatedRule evaluatedRule) {
+        synchronized (this) {
+            numberOfPendingRules++;
+            ensureWorkerIsRunning();
+        }
+        try {
+            queue.put(evaluatedRule);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting to dispatch evaluated rule to extensions, skipping...");
+            markHandled();
+        }
+    }
+
+    /**
+     * Blocks until all {@link EvaluatedRule EvaluatedRules} submitted so far have been handled by all extensions,
+     * but at most for one minute, so a hanging extension cannot block the caller (or the JVM shutdown) forever.
+     */
+    synchronized void flush() {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        while (numberOfPendingRules > 0) {
+            long remainingMillis = deadline - System.currentTimeMillis();
+            if (remainingMillis <= 0) {
+                LOG.warn("Timed out after {} ms waiting for extensions to handle {} pending evaluated rules",
+                        FLUSH_TIMEOUT_MILLIS, numberOfPendingRules);
+                return;
+            }
+            try {
+                wait(remainingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void markHandled() {
+        numberOfPendingRules--;
+        if (numberOfPendingRules == 0) {
+            notifyAll();
+        }
+    }
+
+    private synchronized void ensureWorkerIsRunning() {
+        if (worker != null && worker.isAlive()) {
+            return;
+        }
+        if (worker != null) {
+            LOG.warn("Extension dispatch thread died, restarting it...");
+        }
+        worker = new Thread(AsynchronousExtensionDispatcher.class.getSimpleName()) {
+            @Override
+            public void run() {
+                try {
+                    dispatchSubmittedRules();
+                } catch (InterruptedException e) {
+                    LOG.debug("Extension dispatch was interrupted", e);
+                }
+            }
+        };
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void dispatchSubmittedRules() throws InterruptedException {
+        while (true) {
+            EvaluatedRule evaluatedRule = queue.take();
+            try {
+                for (ArchUnitExtension extension : extensions) {
+                    handle(extension, evaluatedRule);
+                }
+            } finally {
+                markHandled();
+            }
+        }
+    }
+
+    private void handle(ArchUnitExtension extension, EvaluatedRule evaluatedRule) {
+        try {
+            extension.handle(evaluatedRule);
+        } catch (Throwable e) {
+            // any failure of one extension, including errors, must neither affect other extensions nor stop the dispatch
+            LOG.warn(String.format("Error in extension '%s'", extension.getUniqueIdentifier()), e);
+        }
+    }
+
+    /**
+     * @param extensions The extensions to dispatch to, which must already be configured
+     * @param queueCapacity The maximum number of {@link EvaluatedRule EvaluatedRules} waiting to be dispatched
+     * @return A dispatcher with a running worker thread, that will be flushed at JVM shutdown
+     */
+    static AsynchronousExtensionDispatcher start(List<ArchUnitExtension> extensions, int queueCapacity) {
+        final AsynchronousExtensionDispatcher dispatcher = new AsynchronousExtensionDispatcher(extensions, queueCapacity);
+        dispatcher.ensureWorkerIsRunning();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(AsynchronousExtensionDispatcher.class.getSimpleName() + "-flush") {
+            @Override
+            public void run() {
+                dispatcher.flush();
+            }
+        });
+        return dispatcher;
+    }
+}
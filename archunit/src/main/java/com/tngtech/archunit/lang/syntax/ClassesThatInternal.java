@@ -20,6 +20,7 @@ import java.lang.annotation.Annotation;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.Function;
 import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.IndexedClassPredicate;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaConstructor;
@@ -82,7 +83,7 @@ class ClassesThatInternal<CONJUNCTION> implements ClassesThat<CONJUNCTION> {
 
     @Override
     public CONJUNCTION areAnnotatedWith(Class<? extends Annotation> annotationType) {
-        return givenWith(are(annotatedWith(annotationType)));
+        return givenWith(are(IndexedClassPredicate.annotatedWith(annotationType)));
     }
 
     @Override
@@ -92,7 +93,7 @@ class ClassesThatInternal<CONJUNCTION> implements ClassesThat<CONJUNCTION> {
 
     @Override
     public CONJUNCTION areAnnotatedWith(String annotationTypeName) {
-        return givenWith(are(annotatedWith(annotationTypeName)));
+        return givenWith(are(IndexedClassPredicate.annotatedWith(annotationTypeName)));
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.tngtech.archunit.lang.syntax;
 import com.tngtech.archunit.Internal;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.IndexedClassPredicate;
 
 @Internal
 public final class PredicateAggregator<T> {
@@ -59,7 +60,7 @@ public final class PredicateAggregator<T> {
                 @Override
                 DescribedPredicate<T> apply(Optional<DescribedPredicate<T>> first, DescribedPredicate<? super T> other) {
                     DescribedPredicate<T> second = other.forSubtype();
-                    return first.isPresent() ? first.get().and(second) : second;
+                    return first.isPresent() ? IndexedClassPredicate.and(first.get(), second) : second;
                 }
             };
         }
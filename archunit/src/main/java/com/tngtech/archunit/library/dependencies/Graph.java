@@ -15,23 +15,24 @@
  */
 package com.tngtech.archunit.library.dependencies;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ForwardingCollection;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Multimap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+/**
+ * Keeps the nodes and edges of the graph as objects only to translate them from and to a {@link PrimitiveGraph}.
+ * Nodes are mapped to their node index, edges are kept as a plain list indexed by their edge id.
+ */
 class Graph<T, ATTACHMENT> {
     private final Map<T, Integer> nodes = new HashMap<>();
-    private final ListMultimap<Integer, Edge<T, ATTACHMENT>> outgoingEdges = ArrayListMultimap.create();
+    private final List<Edge<T, ATTACHMENT>> edges = new ArrayList<>();
 
     void addNodes(Iterable<T> nodes) {
         for (T node : nodes) {
@@ -45,58 +46,40 @@ class Graph<T, ATTACHMENT> {
         for (Edge<T, ATTACHMENT> edge : outgoingEdges) {
             checkArgument(nodes.containsKey(edge.getFrom()), "Node %s of edge %s is not part of the graph", edge.getFrom(), edge);
             checkArgument(nodes.containsKey(edge.getTo()), "Node %s of edge %s is not part of the graph", edge.getTo(), edge);
-            this.outgoingEdges.put(nodes.get(edge.getFrom()), edge);
+            this.edges.add(edge);
         }
     }
 
     Cycles<T, ATTACHMENT> findCycles() {
-        Map<Integer, Map<Integer, Edge<T, ATTACHMENT>>> edgesByTargetIndexByOriginIndex = indexEdgesByTargetIndexByOriginIndex(nodes, outgoingEdges);
-        JohnsonCycleFinder johnsonCycleFinder = new JohnsonCycleFinder(createPrimitiveGraph());
+        PrimitiveGraph primitiveGraph = createPrimitiveGraph();
+        JohnsonCycleFinder johnsonCycleFinder = new JohnsonCycleFinder(primitiveGraph);
         ImmutableList.Builder<Cycle<T, ATTACHMENT>> result = ImmutableList.builder();
         JohnsonCycleFinder.Result cycles = johnsonCycleFinder.findCycles();
         for (int[] rawCycle : cycles) {
-            result.add(mapToCycle(edgesByTargetIndexByOriginIndex, rawCycle));
+            result.add(mapToCycle(primitiveGraph, rawCycle));
         }
         return new Cycles<>(result.build(), cycles.maxNumberOfCyclesReached());
     }
 
+    // the edge ids of the primitive graph are exactly the indexes within edges
     private PrimitiveGraph createPrimitiveGraph() {
-        int[][] edges = new int[nodes.size()][];
-        for (Map.Entry<T, Integer> nodeToIndex : nodes.entrySet()) {
-            List<Edge<T, ATTACHMENT>> outgoing = outgoingEdges.get(nodeToIndex.getValue());
-            edges[nodeToIndex.getValue()] = new int[outgoing.size()];
-            for (int j = 0; j < outgoing.size(); j++) {
-                edges[nodeToIndex.getValue()][j] = nodes.get(outgoing.get(j).getTo());
-            }
-        }
-        return new PrimitiveGraph(edges);
-    }
-
-    private ImmutableMap<Integer, Map<Integer, Edge<T, ATTACHMENT>>> indexEdgesByTargetIndexByOriginIndex(
-            Map<T, Integer> nodes,
-            Multimap<Integer, Edge<T, ATTACHMENT>> outgoingEdges) {
-
-        ImmutableMap.Builder<Integer, Map<Integer, Edge<T, ATTACHMENT>>> edgeMapBuilder = ImmutableMap.builder();
-        for (Map.Entry<Integer, Collection<Edge<T, ATTACHMENT>>> originIndexToEdges : outgoingEdges.asMap().entrySet()) {
-            ImmutableMap.Builder<Integer, Edge<T, ATTACHMENT>> targetIndexToEdges = ImmutableMap.builder();
-            for (Edge<T, ATTACHMENT> edge : originIndexToEdges.getValue()) {
-                targetIndexToEdges.put(nodes.get(edge.getTo()), edge);
-            }
-            edgeMapBuilder.put(originIndexToEdges.getKey(), targetIndexToEdges.build());
+        PrimitiveGraph.Builder builder = PrimitiveGraph.builder(nodes.size());
+        for (Edge<T, ATTACHMENT> edge : edges) {
+            builder.addEdge(nodes.get(edge.getFrom()), nodes.get(edge.getTo()));
         }
-        return edgeMapBuilder.build();
+        return builder.build();
     }
 
-    private Cycle<T, ATTACHMENT> mapToCycle(Map<Integer, Map<Integer, Edge<T, ATTACHMENT>>> edgesByTargetIndexByOriginIndex, int[] rawCycle) {
+    private Cycle<T, ATTACHMENT> mapToCycle(PrimitiveGraph primitiveGraph, int[] rawCycle) {
         ImmutableList.Builder<Edge<T, ATTACHMENT>> edges = ImmutableList.builder();
         int originIndex = -1;
         for (int targetIndex : rawCycle) {
             if (originIndex >= 0) {
-                edges.add(edgesByTargetIndexByOriginIndex.get(originIndex).get(targetIndex));
+                edges.add(this.edges.get(primitiveGraph.getEdgeId(originIndex, targetIndex)));
             }
             originIndex = targetIndex;
         }
-        edges.add(edgesByTargetIndexByOriginIndex.get(originIndex).get(rawCycle[0]));
+        edges.add(this.edges.get(primitiveGraph.getEdgeId(originIndex, rawCycle[0])));
         return new Cycle<>(edges.build());
     }
 
@@ -104,7 +87,7 @@ class Graph<T, ATTACHMENT> {
     public String toString() {
         return "Graph{" +
                 "nodes=" + nodes +
-                ", edges=" + outgoingEdges +
+                ", edges=" + edges +
                 '}';
     }
 
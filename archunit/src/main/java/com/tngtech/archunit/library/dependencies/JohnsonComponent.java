@@ -86,7 +86,8 @@ class JohnsonComponent {
 
     int[] getAdjacentNodesOf(int nodeIndex) {
         int index = 0;
-        for (int candidate : graph.getAdjacentNodesOf(nodeIndex)) {
+        for (int edgeIndex = graph.getFirstEdgeIndexOf(nodeIndex); edgeIndex < graph.getEndEdgeIndexOf(nodeIndex); edgeIndex++) {
+            int candidate = graph.getEdgeTarget(edgeIndex);
             if (componentContains(candidate)) {
                 tempAdjacentNodesInComponent[index++] = candidate;
             }
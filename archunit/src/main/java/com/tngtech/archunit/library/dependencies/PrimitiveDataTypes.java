@@ -68,6 +68,14 @@ class PrimitiveDataTypes {
             return stack[--pointer];
         }
 
+        int peek() {
+            return stack[pointer - 1];
+        }
+
+        boolean isEmpty() {
+            return pointer == 0;
+        }
+
         void reset() {
             pointer = 0;
         }
@@ -15,25 +15,174 @@
  */
 package com.tngtech.archunit.library.dependencies;
 
+import java.util.Arrays;
+
+import com.tngtech.archunit.Internal;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
 /**
- * An optimized graph stripped down to the bare minimum for cycle detection.
- * We represent nodes as integers from 0 ..< graph.size() and an edge as an array of two integers (node origin and node target).
- * To further optimize we represent all edges of a graph as a 2-dim array where the first index represents the node origin and
- * all entries for this index represent node targets, e.g.
- * {1 -> 2}, {1 -> 3}, {3 -> 5} => edges == [[], [2, 3], [], [5]]
+ * An optimized graph stripped down to the bare minimum for graph algorithms like cycle detection.
+ * We represent nodes as integers from 0 ..< graph.size(). All edges are stored in one array of edge targets,
+ * sorted by their origin and then by their target (i.e. compressed sparse row format).
+ * The edges originating from a node {@code n} are the edge indexes {@code edgeOffsets[n] ..< edgeOffsets[n + 1]}, e.g. for 6 nodes
+ * {1 -> 2}, {1 -> 3}, {3 -> 5} => edgeOffsets == [0, 0, 2, 2, 3, 3, 3], edgeTargets == [2, 3, 5]
+ * <br><br>
+ * Additionally, every edge keeps the id it was {@link Builder#addEdge(int, int) added} with (i.e. the number of edges
+ * added before). Thus any payload of the edges can simply be stored in a list next to the graph and looked up by
+ * {@link #getEdgeId(int, int)}, without the graph having to deal with any objects.
  */
-class PrimitiveGraph {
-    private final int[][] edges;
+@Internal
+public final class PrimitiveGraph {
+    public static final int NO_EDGE = -1;
+
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final int[] edgeIds;
+
+    private PrimitiveGraph(int[] edgeOffsets, int[] edgeTargets, int[] edgeIds) {
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeIds = edgeIds;
+    }
+
+    public int getSize() {
+        return edgeOffsets.length - 1;
+    }
+
+    public int getNumberOfEdges() {
+        return edgeTargets.length;
+    }
+
+    /**
+     * @return the first edge index of all edges originating from the node, compare {@link #getEdgeTarget(int)}
+     */
+    public int getFirstEdgeIndexOf(int nodeIndex) {
+        return edgeOffsets[nodeIndex];
+    }
+
+    /**
+     * @return the edge index after the last edge originating from the node, compare {@link #getEdgeTarget(int)}
+     */
+    public int getEndEdgeIndexOf(int nodeIndex) {
+        return edgeOffsets[nodeIndex + 1];
+    }
 
-    PrimitiveGraph(int[][] edges) {
-        this.edges = edges;
+    public int getEdgeTarget(int edgeIndex) {
+        return edgeTargets[edgeIndex];
     }
 
-    int getSize() {
-        return edges.length;
+    public int[] getAdjacentNodesOf(int nodeIndex) {
+        return Arrays.copyOfRange(edgeTargets, edgeOffsets[nodeIndex], edgeOffsets[nodeIndex + 1]);
     }
 
-    int[] getAdjacentNodesOf(int nodeIndex) {
-        return edges[nodeIndex];
+    /**
+     * @return the id the edge from {@code originNodeIndex} to {@code targetNodeIndex} has been {@link Builder#addEdge(int, int) added} with,
+     *         or {@link #NO_EDGE} if there is no such edge. If the same edge has been added multiple times, any of its ids is returned.
+     */
+    public int getEdgeId(int originNodeIndex, int targetNodeIndex) {
+        int edgeIndex = Arrays.binarySearch(edgeTargets, edgeOffsets[originNodeIndex], edgeOffsets[originNodeIndex + 1], targetNodeIndex);
+        return edgeIndex >= 0 ? edgeIds[edgeIndex] : NO_EDGE;
+    }
+
+    /**
+     * @return a graph with the same nodes, but all edges reversed; the edges keep their ids
+     */
+    public PrimitiveGraph reverse() {
+        Builder result = builder(getSize());
+        for (int origin = 0; origin < getSize(); origin++) {
+            for (int edgeIndex = edgeOffsets[origin]; edgeIndex < edgeOffsets[origin + 1]; edgeIndex++) {
+                result.addEdge(edgeTargets[edgeIndex], origin, edgeIds[edgeIndex]);
+            }
+        }
+        return result.build();
+    }
+
+    public static Builder builder(int numberOfNodes) {
+        return new Builder(numberOfNodes);
+    }
+
+    @Internal
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int numberOfNodes;
+        private int[] origins = new int[INITIAL_CAPACITY];
+        private int[] targets = new int[INITIAL_CAPACITY];
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int numberOfEdges = 0;
+
+        private Builder(int numberOfNodes) {
+            this.numberOfNodes = numberOfNodes;
+        }
+
+        /**
+         * @return the id of the added edge
+         */
+        public int addEdge(int originNodeIndex, int targetNodeIndex) {
+            int id = numberOfEdges;
+            addEdge(originNodeIndex, targetNodeIndex, id);
+            return id;
+        }
+
+        private void addEdge(int originNodeIndex, int targetNodeIndex, int id) {
+            checkElementIndex(originNodeIndex, numberOfNodes, "origin node index");
+            checkElementIndex(targetNodeIndex, numberOfNodes, "target node index");
+            if (numberOfEdges == origins.length) {
+                origins = Arrays.copyOf(origins, 2 * numberOfEdges);
+                targets = Arrays.copyOf(targets, 2 * numberOfEdges);
+                ids = Arrays.copyOf(ids, 2 * numberOfEdges);
+            }
+            origins[numberOfEdges] = originNodeIndex;
+            targets[numberOfEdges] = targetNodeIndex;
+            ids[numberOfEdges] = id;
+            numberOfEdges++;
+        }
+
+        /**
+         * Sorts the edges by target and then stably by origin (i.e. two passes of counting sort),
+         * so within each origin the targets end up in ascending order.
+         */
+        public PrimitiveGraph build() {
+            int[] edgesSortedByTarget = sortEdges(identity(numberOfEdges), targets);
+            int[] edgesSortedByOriginAndTarget = sortEdges(edgesSortedByTarget, origins);
+
+            int[] edgeOffsets = new int[numberOfNodes + 1];
+            int[] edgeTargets = new int[numberOfEdges];
+            int[] edgeIds = new int[numberOfEdges];
+            for (int i = 0; i < numberOfEdges; i++) {
+                int edge = edgesSortedByOriginAndTarget[i];
+                edgeOffsets[origins[edge] + 1]++;
+                edgeTargets[i] = targets[edge];
+                edgeIds[i] = ids[edge];
+            }
+            for (int node = 0; node < numberOfNodes; node++) {
+                edgeOffsets[node + 1] += edgeOffsets[node];
+            }
+            return new PrimitiveGraph(edgeOffsets, edgeTargets, edgeIds);
+        }
+
+        private int[] sortEdges(int[] edges, int[] nodeIndexByEdge) {
+            int[] nextPositionByNode = new int[numberOfNodes + 1];
+            for (int edge : edges) {
+                nextPositionByNode[nodeIndexByEdge[edge] + 1]++;
+            }
+            for (int node = 0; node < numberOfNodes; node++) {
+                nextPositionByNode[node + 1] += nextPositionByNode[node];
+            }
+            int[] result = new int[edges.length];
+            for (int edge : edges) {
+                result[nextPositionByNode[nodeIndexByEdge[edge]]++] = edge;
+            }
+            return result;
+        }
+
+        private static int[] identity(int size) {
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
     }
 }
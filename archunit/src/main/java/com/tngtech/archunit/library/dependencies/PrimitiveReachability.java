@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.library.dependencies;
+
+import java.util.BitSet;
+
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.library.dependencies.PrimitiveDataTypes.IntStack;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Determines which nodes of a {@link PrimitiveGraph} can be reached from which other nodes via a path of at least one edge.
+ * Instead of searching the graph from every node, we
+ * <ul>
+ *     <li>condense the graph into its strongly connected components (compare {@link TarjanComponentFinder}),
+ *         since all nodes of such a component can reach exactly the same nodes</li>
+ *     <li>compute the reachable nodes of each component as a bitset, visiting the components in reverse topological order,
+ *         so the bitsets of all components reachable from a component are complete when we arrive at it,
+ *         i.e. we only have to combine the bitsets of the direct successors</li>
+ * </ul>
+ * Thus the reachability of the whole graph is computed in {@code O(edges * nodes / 64)}.<br>
+ * Note that a node can only reach itself, if it is part of a cycle.
+ */
+@Internal
+public final class PrimitiveReachability {
+    private final int[] componentIndexByNode;
+    private final BitSet[] reachableNodesByComponentIndex;
+
+    private PrimitiveReachability(PrimitiveGraph graph) {
+        componentIndexByNode = new int[graph.getSize()];
+        int numberOfComponents = new StronglyConnectedComponents(graph).assignComponentIndexes(componentIndexByNode);
+        reachableNodesByComponentIndex = calculateReachableNodes(graph, numberOfComponents);
+    }
+
+    private BitSet[] calculateReachableNodes(PrimitiveGraph graph, int numberOfComponents) {
+        int[][] nodesByComponentIndex = groupNodesByComponentIndex(numberOfComponents);
+        BitSet[] result = new BitSet[numberOfComponents];
+        int[] lastVisitedFromComponent = new int[numberOfComponents];
+        fill(lastVisitedFromComponent, -1);
+        // components are numbered in reverse topological order, i.e. edges only lead to components with a lower or the same index
+        for (int component = 0; component < numberOfComponents; component++) {
+            BitSet reachableNodes = new BitSet(graph.getSize());
+            for (int node : nodesByComponentIndex[component]) {
+                for (int edgeIndex = graph.getFirstEdgeIndexOf(node); edgeIndex < graph.getEndEdgeIndexOf(node); edgeIndex++) {
+                    int target = graph.getEdgeTarget(edgeIndex);
+                    int targetComponent = componentIndexByNode[target];
+                    if (targetComponent == component) {
+                        setAll(reachableNodes, nodesByComponentIndex[component]);
+                    } else if (lastVisitedFromComponent[targetComponent] != component) {
+                        lastVisitedFromComponent[targetComponent] = component;
+                        reachableNodes.set(target);
+                        reachableNodes.or(result[targetComponent]);
+                    }
+                }
+            }
+            result[component] = reachableNodes;
+        }
+        return result;
+    }
+
+    private int[][] groupNodesByComponentIndex(int numberOfComponents) {
+        int[] componentSizes = new int[numberOfComponents];
+        for (int componentIndex : componentIndexByNode) {
+            componentSizes[componentIndex]++;
+        }
+        int[][] result = new int[numberOfComponents][];
+        for (int component = 0; component < numberOfComponents; component++) {
+            result[component] = new int[componentSizes[component]];
+        }
+        int[] nextPositionByComponent = new int[numberOfComponents];
+        for (int node = 0; node < componentIndexByNode.length; node++) {
+            int component = componentIndexByNode[node];
+            result[component][nextPositionByComponent[component]++] = node;
+        }
+        return result;
+    }
+
+    private static void setAll(BitSet bitSet, int[] indexes) {
+        for (int index : indexes) {
+            bitSet.set(index);
+        }
+    }
+
+    public boolean canReach(int originNodeIndex, int targetNodeIndex) {
+        return reachableNodesOf(originNodeIndex).get(targetNodeIndex);
+    }
+
+    public int getNumberOfReachableNodes(int nodeIndex) {
+        return reachableNodesOf(nodeIndex).cardinality();
+    }
+
+    /**
+     * @return the indexes of all nodes reachable from the node in ascending order
+     */
+    public int[] getReachableNodes(int nodeIndex) {
+        BitSet reachableNodes = reachableNodesOf(nodeIndex);
+        int[] result = new int[reachableNodes.cardinality()];
+        int i = 0;
+        for (int node = reachableNodes.nextSetBit(0); node >= 0; node = reachableNodes.nextSetBit(node + 1)) {
+            result[i++] = node;
+        }
+        return result;
+    }
+
+    private BitSet reachableNodesOf(int nodeIndex) {
+        return reachableNodesByComponentIndex[componentIndexByNode[nodeIndex]];
+    }
+
+    public static PrimitiveReachability of(PrimitiveGraph graph) {
+        return new PrimitiveReachability(graph);
+    }
+
+    /**
+     * Tarjan's algorithm (compare {@link TarjanComponentFinder}) to find all strongly connected components, including the trivial ones.
+     * The depth first search is done with an explicit stack, so deep graphs can't cause a {@link StackOverflowError}.
+     * Tarjan's algorithm completes a component only after all components reachable from it,
+     * so numbering the components in the order they are completed yields a reverse topological order.
+     */
+    private static class StronglyConnectedComponents {
+        private static final int UNVISITED = -1;
+
+        private final PrimitiveGraph graph;
+        private final int[] visitationIndexes;
+        private final int[] lowLinks;
+        private final int[] nextEdgeIndexes;
+        private final boolean[] nodeOnStack;
+        private final IntStack nodeStack;
+        private final IntStack depthFirstSearchPath;
+
+        StronglyConnectedComponents(PrimitiveGraph graph) {
+            this.graph = graph;
+            visitationIndexes = new int[graph.getSize()];
+            lowLinks = new int[graph.getSize()];
+            nextEdgeIndexes = new int[graph.getSize()];
+            nodeOnStack = new boolean[graph.getSize()];
+            nodeStack = new IntStack(graph.getSize());
+            depthFirstSearchPath = new IntStack(graph.getSize());
+        }
+
+        /**
+         * @return the number of strongly connected components
+         */
+        int assignComponentIndexes(int[] componentIndexByNode) {
+            fill(visitationIndexes, UNVISITED);
+            int nextVisitationIndex = 0;
+            int nextComponentIndex = 0;
+            for (int root = 0; root < graph.getSize(); root++) {
+                if (visitationIndexes[root] != UNVISITED) {
+                    continue;
+                }
+                nextVisitationIndex = visit(root, nextVisitationIndex);
+                while (!depthFirstSearchPath.isEmpty()) {
+                    int node = depthFirstSearchPath.peek();
+                    if (nextEdgeIndexes[node] < graph.getEndEdgeIndexOf(node)) {
+                        int target = graph.getEdgeTarget(nextEdgeIndexes[node]++);
+                        if (visitationIndexes[target] == UNVISITED) {
+                            nextVisitationIndex = visit(target, nextVisitationIndex);
+                        } else if (nodeOnStack[target]) {
+                            lowLinks[node] = Math.min(lowLinks[node], visitationIndexes[target]);
+                        }
+                        continue;
+                    }
+
+                    depthFirstSearchPath.pop();
+                    if (!depthFirstSearchPath.isEmpty()) {
+                        int parent = depthFirstSearchPath.peek();
+                        lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+                    }
+                    if (lowLinks[node] == visitationIndexes[node]) {
+                        int member;
+                        do {
+                            member = nodeStack.pop();
+                            nodeOnStack[member] = false;
+                            componentIndexByNode[member] = nextComponentIndex;
+                        } while (member != node);
+                        nextComponentIndex++;
+                    }
+                }
+            }
+            return nextComponentIndex;
+        }
+
+        private int visit(int node, int visitationIndex) {
+            visitationIndexes[node] = visitationIndex;
+            lowLinks[node] = visitationIndex;
+            nextEdgeIndexes[node] = graph.getFirstEdgeIndexOf(node);
+            nodeStack.push(node);
+            nodeOnStack[node] = true;
+            depthFirstSearchPath.push(node);
+            return visitationIndex + 1;
+        }
+    }
+}
@@ -22,20 +22,22 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedSet;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import com.google.common.collect.ForwardingSet;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Ordering;
-import com.google.common.collect.SortedSetMultimap;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.base.Guava;
 import com.tngtech.archunit.core.domain.Dependency;
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ConditionEvent;
 import com.tngtech.archunit.lang.ConditionEvents;
@@ -80,7 +82,9 @@ class SliceCycleArchCondition extends ArchCondition<Slice> {
 
     @Override
     public void finish(ConditionEvents events) {
+        Span span = InstrumentationFactory.get().beginCycleDetection();
         Graph.Cycles<Slice, Dependency> cycles = graph.findCycles();
+        span.end(cycles.size());
         if (cycles.maxNumberOfCyclesReached()) {
             events.setInformationAboutNumberOfViolations(String.format(
                     " >= %d times - the maximum number of cycles to detect has been reached; "
@@ -133,17 +137,18 @@ class SliceCycleArchCondition extends ArchCondition<Slice> {
         private final Set<Edge<Slice, Dependency>> edges;
 
         private SliceDependencies(Slice slice, ClassesToSlicesMapping classesToSlicesMapping, DescribedPredicate<Dependency> predicate) {
-            SortedSetMultimap<Slice, Dependency> targetSlicesWithDependencies = targetsOf(slice, classesToSlicesMapping, predicate);
+            ListMultimap<Slice, Dependency> targetSlicesWithDependencies = targetsOf(slice, classesToSlicesMapping, predicate);
             ImmutableSet.Builder<Edge<Slice, Dependency>> edgeBuilder = ImmutableSet.builder();
-            for (Map.Entry<Slice, SortedSet<Dependency>> entry : sortedEntries(targetSlicesWithDependencies)) {
-                edgeBuilder.add(new Edge<>(slice, entry.getKey(), entry.getValue()));
+            for (Map.Entry<Slice, Collection<Dependency>> entry : targetSlicesWithDependencies.asMap().entrySet()) {
+                // the dependencies of a slice are already distinct, so sorting once per edge suffices (no need for a TreeSet per edge)
+                edgeBuilder.add(new Edge<>(slice, entry.getKey(), ImmutableList.sortedCopyOf(entry.getValue())));
             }
             this.edges = edgeBuilder.build();
         }
 
-        private SortedSetMultimap<Slice, Dependency> targetsOf(Slice slice,
+        private ListMultimap<Slice, Dependency> targetsOf(Slice slice,
                 ClassesToSlicesMapping classesToSlicesMapping, DescribedPredicate<Dependency> predicate) {
-            SortedSetMultimap<Slice, Dependency> result = hashKeys().treeSetValues().build();
+            ListMultimap<Slice, Dependency> result = hashKeys().arrayListValues().build();
             for (Dependency dependency : Guava.Iterables.filter(slice.getDependenciesFromSelf(), predicate)) {
                 if (classesToSlicesMapping.containsKey(dependency.getTargetClass())) {
                     result.put(classesToSlicesMapping.get(dependency.getTargetClass()), dependency);
@@ -152,12 +157,6 @@ class SliceCycleArchCondition extends ArchCondition<Slice> {
             return result;
         }
 
-        // unfortunately SortedSetMultimap has no good API to iterate over all SortedSet values :-(
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        private Set<Map.Entry<Slice, SortedSet<Dependency>>> sortedEntries(SortedSetMultimap<Slice, Dependency> multimap) {
-            return (Set) multimap.asMap().entrySet();
-        }
-
         @Override
         protected Set<Edge<Slice, Dependency>> delegate() {
             return edges;
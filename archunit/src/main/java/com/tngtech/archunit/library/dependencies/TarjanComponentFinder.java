@@ -101,7 +101,8 @@ class TarjanComponentFinder {
 
     private List<int[]> findNonTrivialStronglyConnectedComponentsOfDescendants(int nodeToVisit, int lowerIndexBound) {
         List<int[]> result = new ArrayList<>();
-        for (int targetNode : graph.getAdjacentNodesOf(nodeToVisit)) {
+        for (int edgeIndex = graph.getFirstEdgeIndexOf(nodeToVisit); edgeIndex < graph.getEndEdgeIndexOf(nodeToVisit); edgeIndex++) {
+            int targetNode = graph.getEdgeTarget(edgeIndex);
             if (targetNode < lowerIndexBound) {
                 continue;
             }
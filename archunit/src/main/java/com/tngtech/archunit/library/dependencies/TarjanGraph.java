@@ -80,8 +80,16 @@ class TarjanGraph {
         return graph.getSize();
     }
 
-    int[] getAdjacentNodesOf(int nodeIndex) {
-        return graph.getAdjacentNodesOf(nodeIndex);
+    int getFirstEdgeIndexOf(int nodeIndex) {
+        return graph.getFirstEdgeIndexOf(nodeIndex);
+    }
+
+    int getEndEdgeIndexOf(int nodeIndex) {
+        return graph.getEndEdgeIndexOf(nodeIndex);
+    }
+
+    int getEdgeTarget(int edgeIndex) {
+        return graph.getEdgeTarget(edgeIndex);
     }
 
     boolean isVisitationIndexUnset(int nodeIndex) {
@@ -26,6 +26,8 @@ import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.Predicate;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.instrumentation.Instrumentation.Span;
+import com.tngtech.archunit.core.instrumentation.InstrumentationFactory;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.EvaluationResult;
 import com.tngtech.archunit.lang.Priority;
@@ -34,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.FREEZE;
 import static com.tngtech.archunit.library.freeze.ViolationStoreFactory.FREEZE_STORE_PROPERTY_NAME;
 
 /**
@@ -69,6 +72,8 @@ import static com.tngtech.archunit.library.freeze.ViolationStoreFactory.FREEZE_S
  *   <pre><code>freeze.lineMatcher=com.fully.qualified.MyViolationLineMatcher</code></pre>
  * </li>
  * </ul>
+ * For large code bases the evaluation of rules that only consider single classes and their direct dependencies can be limited
+ * to classes affected by changes since the last evaluation via {@link #evaluateIncrementally()}.
  */
 @PublicAPI(usage = ACCESS)
 public final class FreezingArchRule implements ArchRule {
@@ -79,15 +84,17 @@ public final class FreezingArchRule implements ArchRule {
     private final ArchRule delegate;
     private final ViolationStoreLineBreakAdapter store;
     private final ViolationLineMatcher matcher;
+    private final boolean incremental;
 
-    private FreezingArchRule(ArchRule delegate, ViolationStore store, ViolationLineMatcher matcher) {
-        this(delegate, new ViolationStoreLineBreakAdapter(store), matcher);
+    private FreezingArchRule(ArchRule delegate, ViolationStore store, ViolationLineMatcher matcher, boolean incremental) {
+        this(delegate, new ViolationStoreLineBreakAdapter(store), matcher, incremental);
     }
 
-    private FreezingArchRule(ArchRule delegate, ViolationStoreLineBreakAdapter store, ViolationLineMatcher matcher) {
+    private FreezingArchRule(ArchRule delegate, ViolationStoreLineBreakAdapter store, ViolationLineMatcher matcher, boolean incremental) {
         this.delegate = checkNotNull(delegate);
         this.store = store;
         this.matcher = checkNotNull(matcher);
+        this.incremental = incremental;
     }
 
     @Override
@@ -99,19 +106,19 @@ public final class FreezingArchRule implements ArchRule {
     @Override
     @PublicAPI(usage = ACCESS)
     public FreezingArchRule because(String reason) {
-        return new FreezingArchRule(delegate.because(reason), store, matcher);
+        return new FreezingArchRule(delegate.because(reason), store, matcher, incremental);
     }
 
     @Override
     @PublicAPI(usage = ACCESS)
     public ArchRule allowEmptyShould(boolean allowEmptyShould) {
-        return new FreezingArchRule(delegate.allowEmptyShould(allowEmptyShould), store, matcher);
+        return new FreezingArchRule(delegate.allowEmptyShould(allowEmptyShould), store, matcher, incremental);
     }
 
     @Override
     @PublicAPI(usage = ACCESS)
     public FreezingArchRule as(String newDescription) {
-        return new FreezingArchRule(delegate.as(newDescription), store, matcher);
+        return new FreezingArchRule(delegate.as(newDescription), store, matcher, incremental);
     }
 
     @Override
@@ -119,7 +126,16 @@ public final class FreezingArchRule implements ArchRule {
     public EvaluationResult evaluate(JavaClasses classes) {
         store.initialize(ArchConfiguration.get().getSubProperties(FREEZE_STORE_PROPERTY_NAME));
 
-        EvaluationResultLineBreakAdapter result = new EvaluationResultLineBreakAdapter(delegate.evaluate(classes));
+        EvaluationResult delegateResult = incremental
+                ? new IncrementalEvaluation(delegate).evaluate(classes, refreezeViolations())
+                : delegate.evaluate(classes);
+        Span span = InstrumentationFactory.get().beginPhase(FREEZE);
+        EvaluationResult result = freeze(new EvaluationResultLineBreakAdapter(delegateResult));
+        span.end(1);
+        return result;
+    }
+
+    private EvaluationResult freeze(EvaluationResultLineBreakAdapter result) {
         if (!store.contains(delegate) || refreezeViolations()) {
             return storeViolationsAndReturnSuccess(result);
         } else {
@@ -181,7 +197,7 @@ public final class FreezingArchRule implements ArchRule {
      */
     @PublicAPI(usage = ACCESS)
     public FreezingArchRule persistIn(ViolationStore store) {
-        return new FreezingArchRule(delegate, store, matcher);
+        return new FreezingArchRule(delegate, store, matcher, incremental);
     }
 
     /**
@@ -195,7 +211,31 @@ public final class FreezingArchRule implements ArchRule {
      */
     @PublicAPI(usage = ACCESS)
     public FreezingArchRule associateViolationLinesVia(ViolationLineMatcher matcher) {
-        return new FreezingArchRule(delegate, store, matcher);
+        return new FreezingArchRule(delegate, store, matcher, incremental);
+    }
+
+    /**
+     * Evaluates the original rule only on those classes that have changed since the last evaluation, that depend on changed classes
+     * or that changed classes depend on, and carries over the violations of all other classes. For this to work, the md5 sums of all imported classes
+     * have to be calculated (configure {@code enableMd5InClassSources=true} within
+     * {@value com.tngtech.archunit.ArchConfiguration#ARCHUNIT_PROPERTIES_RESOURCE_NAME}). These md5 sums are recorded together
+     * with the violations per class in a local state file apart from the {@link ViolationStore}, by default within the folder
+     * {@code archunit_incremental_state} (configure {@code freeze.incremental.path=...} to change it).
+     * Besides the md5 sums the state contains the dependencies between classes and the classes involved in each violation.
+     * This state is just a cache of the last evaluation and should not be committed to version control.
+     * <br><br>
+     * Note that this is only correct for rules where every violation solely depends on the checked class and its direct dependencies
+     * in either direction (like {@code classes().that(..).should().accessClassesThat(..)} or
+     * {@code classes().that(..).should().onlyHaveDependentClassesThat(..)}), but not on transitive dependencies.
+     * If some violation can't be attributed to the imported classes or md5 sums are missing, the original rule will be evaluated completely.
+     *
+     * @return An adjusted {@link FreezingArchRule} which will only reevaluate changed classes
+     *
+     * @see FreezingArchRule
+     */
+    @PublicAPI(usage = ACCESS)
+    public FreezingArchRule evaluateIncrementally() {
+        return new FreezingArchRule(delegate, store, matcher, true);
     }
 
     @Override
@@ -212,7 +252,7 @@ public final class FreezingArchRule implements ArchRule {
      */
     @PublicAPI(usage = ACCESS)
     public static FreezingArchRule freeze(ArchRule rule) {
-        return new FreezingArchRule(rule, ViolationStoreFactory.create(), ViolationLineMatcherFactory.create());
+        return new FreezingArchRule(rule, ViolationStoreFactory.create(), ViolationLineMatcherFactory.create(), false);
     }
 
     static String ensureUnixLineBreaks(String string) {
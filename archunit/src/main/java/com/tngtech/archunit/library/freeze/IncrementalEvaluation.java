@@ -0,0 +1,457 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.library.freeze;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.domain.properties.HasOwner;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.ViolationHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.ArchConfiguration.ENABLE_MD5_IN_CLASS_SOURCES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Evaluates an {@link ArchRule} only on those classes that might be affected by changes since the last evaluation
+ * and carries over the violations of all other classes. To do so, the md5 sum and the direct dependencies of every
+ * evaluated class together with the violation lines and the classes involved in each violation are saved to a state file
+ * within the folder configured by {@value #STATE_PATH_PROPERTY_NAME}. This state is a local cache of the last evaluation and thus
+ * kept apart from the {@link ViolationStore}, i.e. the frozen violations are only updated as for any other {@link FreezingArchRule}.
+ * <br><br>
+ * A class is reevaluated if it has changed, if it depends on a changed class, or if a changed class depends on it
+ * (now or at the last evaluation). The latter covers rules checking the origins of dependencies to a class,
+ * like {@code classes().should().onlyHaveDependentClassesThat()..}. Furthermore all classes involved in a previous violation
+ * together with a reevaluated class (e.g. origin and target of a violating dependency) are reevaluated,
+ * because the violation might have been reported while checking either of them.
+ * <br><br>
+ * Whenever the state can't be determined reliably (e.g. md5 sums are disabled or a violation can't be attributed to
+ * the imported classes), the rule is simply evaluated on all classes.
+ */
+class IncrementalEvaluation {
+    private static final Logger log = LoggerFactory.getLogger(IncrementalEvaluation.class);
+
+    static final String STATE_PATH_PROPERTY_NAME = "freeze.incremental.path";
+    private static final String STATE_PATH_DEFAULT = "archunit_incremental_state";
+    private static final int STATE_FORMAT_VERSION = 2;
+
+    private final ArchRule rule;
+    private final File stateFile;
+
+    IncrementalEvaluation(ArchRule rule) {
+        this.rule = rule;
+        File stateFolder = new File(ArchConfiguration.get().getPropertyOrDefault(STATE_PATH_PROPERTY_NAME, STATE_PATH_DEFAULT));
+        this.stateFile = new File(stateFolder, Hashing.sha256().hashString(rule.getDescription(), UTF_8) + ".state");
+    }
+
+    EvaluationResult evaluate(JavaClasses classes, boolean ignoreStoredState) {
+        Optional<Map<String, String>> md5sums = md5sumsOf(classes);
+        if (!md5sums.isPresent()) {
+            log.info("Evaluating rule '{}' completely, because md5 sums of classes are missing (enable by configuration {}=true)",
+                    rule.getDescription(), ENABLE_MD5_IN_CLASS_SOURCES);
+            return rule.evaluate(classes);
+        }
+
+        Map<String, Set<String>> dependencies = dependenciesOf(classes);
+        byte[] storedState = ignoreStoredState ? new byte[0] : readStateFile();
+        Optional<State> previousState = State.read(storedState);
+        if (!previousState.isPresent()) {
+            return evaluateCompletely(classes, md5sums.get(), dependencies, storedState);
+        }
+
+        Set<String> changedClassNames = getChangedClassNames(md5sums.get(), previousState.get().md5sums);
+        Set<String> classNamesToEvaluate = getClassNamesToReevaluate(changedClassNames, dependencies, previousState.get());
+        JavaClasses classesToEvaluate = classes.that(haveNameIn(classNamesToEvaluate));
+        log.debug("Reevaluating rule '{}' on {} of {} classes", rule.getDescription(), classesToEvaluate.size(), classes.size());
+        EvaluationResult partialResult = rule.allowEmptyShould(true).evaluate(classesToEvaluate);
+        Optional<List<Violation>> partialViolations = violationsOf(partialResult, md5sums.get().keySet());
+        if (!partialViolations.isPresent() || !allInvolveAnyOf(partialViolations.get(), classNamesToEvaluate)) {
+            return evaluateCompletely(classes, md5sums.get(), dependencies, storedState);
+        }
+
+        ConditionEvents carriedOverEvents = new ConditionEvents();
+        List<Violation> violations = new ArrayList<>(partialViolations.get());
+        for (Violation violation : previousState.get().violations) {
+            if (Collections.disjoint(violation.involvedClassNames, classNamesToEvaluate)) {
+                JavaClass involvedClass = classes.get(violation.involvedClassNames.first());
+                carriedOverEvents.add(SimpleConditionEvent.violated(involvedClass, violation.message));
+                violations.add(violation);
+            }
+        }
+        writeStateFileIfChanged(new State(md5sums.get(), dependencies, violations).write(), storedState);
+
+        EvaluationResult result = new EvaluationResult(rule, partialResult.getPriority());
+        result.add(partialResult);
+        result.add(new EvaluationResult(rule, carriedOverEvents, partialResult.getPriority()));
+        return result;
+    }
+
+    private EvaluationResult evaluateCompletely(JavaClasses classes, Map<String, String> md5sums,
+            Map<String, Set<String>> dependencies, byte[] storedState) {
+
+        EvaluationResult result = rule.evaluate(classes);
+        Optional<List<Violation>> violations = violationsOf(result, md5sums.keySet());
+        if (!violations.isPresent()) {
+            log.info("Can't evaluate rule '{}' incrementally, because not all violations can be attributed to the imported classes",
+                    rule.getDescription());
+            deleteStateFile();
+            return result;
+        }
+
+        writeStateFileIfChanged(new State(md5sums, dependencies, violations.get()).write(), storedState);
+        return result;
+    }
+
+    private byte[] readStateFile() {
+        if (!stateFile.exists()) {
+            return new byte[0];
+        }
+        try {
+            return Files.toByteArray(stateFile);
+        } catch (IOException e) {
+            log.warn("Could not read incremental evaluation state from " + stateFile.getAbsolutePath(), e);
+            return new byte[0];
+        }
+    }
+
+    private void writeStateFileIfChanged(byte[] state, byte[] storedState) {
+        if (Arrays.equals(state, storedState)) {
+            return;
+        }
+        try {
+            Files.createParentDirs(stateFile);
+            Files.write(state, stateFile);
+        } catch (IOException e) {
+            log.warn("Could not write incremental evaluation state to " + stateFile.getAbsolutePath(), e);
+        }
+    }
+
+    private void deleteStateFile() {
+        if (stateFile.exists() && !stateFile.delete()) {
+            log.warn("Could not delete outdated incremental evaluation state {}", stateFile.getAbsolutePath());
+        }
+    }
+
+    private static Optional<Map<String, String>> md5sumsOf(JavaClasses classes) {
+        Map<String, String> result = new TreeMap<>();
+        for (JavaClass javaClass : classes) {
+            Optional<Source> source = javaClass.getSource();
+            if (!source.isPresent() || source.get().getMd5sum().asBytes().length == 0) {
+                return Optional.empty();
+            }
+            result.put(javaClass.getName(), source.get().getMd5sum().toString());
+        }
+        return Optional.of(result);
+    }
+
+    // only dependencies between imported classes are relevant, since all other classes can't change between evaluations
+    private static Map<String, Set<String>> dependenciesOf(JavaClasses classes) {
+        Map<String, Set<String>> result = new TreeMap<>();
+        for (JavaClass javaClass : classes) {
+            Set<String> targetNames = new TreeSet<>();
+            for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+                String targetName = dependency.getTargetClass().getName();
+                if (classes.contain(targetName) && !targetName.equals(javaClass.getName())) {
+                    targetNames.add(targetName);
+                }
+            }
+            result.put(javaClass.getName(), targetNames);
+        }
+        return result;
+    }
+
+    private static Set<String> getChangedClassNames(Map<String, String> md5sums, Map<String, String> previousMd5sums) {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, String> md5sum : md5sums.entrySet()) {
+            String previousMd5sum = previousMd5sums.get(md5sum.getKey());
+            if (previousMd5sum == null || !previousMd5sum.equals(md5sum.getValue())) {
+                result.add(md5sum.getKey());
+            }
+        }
+        for (String previousClassName : previousMd5sums.keySet()) {
+            if (!md5sums.containsKey(previousClassName)) {
+                result.add(previousClassName);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> getClassNamesToReevaluate(Set<String> changedClassNames, Map<String, Set<String>> dependencies, State previousState) {
+        SetMultimap<String, String> dependentOrDependencyNames = HashMultimap.create();
+        addInBothDirections(dependentOrDependencyNames, dependencies);
+        addInBothDirections(dependentOrDependencyNames, previousState.dependencies);
+
+        Set<String> result = new HashSet<>(changedClassNames);
+        for (String changedClassName : changedClassNames) {
+            result.addAll(dependentOrDependencyNames.get(changedClassName));
+        }
+
+        SetMultimap<String, Violation> previousViolationsByInvolvedClassName = HashMultimap.create();
+        for (Violation violation : previousState.violations) {
+            for (String involvedClassName : violation.involvedClassNames) {
+                previousViolationsByInvolvedClassName.put(involvedClassName, violation);
+            }
+        }
+        Deque<String> classNamesToVisit = new ArrayDeque<>(result);
+        while (!classNamesToVisit.isEmpty()) {
+            for (Violation violation : previousViolationsByInvolvedClassName.get(classNamesToVisit.poll())) {
+                for (String involvedClassName : violation.involvedClassNames) {
+                    if (result.add(involvedClassName)) {
+                        classNamesToVisit.add(involvedClassName);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addInBothDirections(SetMultimap<String, String> dependentOrDependencyNames, Map<String, Set<String>> dependencies) {
+        for (Map.Entry<String, Set<String>> originToTargets : dependencies.entrySet()) {
+            for (String targetName : originToTargets.getValue()) {
+                dependentOrDependencyNames.put(originToTargets.getKey(), targetName);
+                dependentOrDependencyNames.put(targetName, originToTargets.getKey());
+            }
+        }
+    }
+
+    private static DescribedPredicate<JavaClass> haveNameIn(final Set<String> classNames) {
+        return new DescribedPredicate<JavaClass>("are affected by changed classes") {
+            @Override
+            public boolean apply(JavaClass input) {
+                return classNames.contains(input.getName());
+            }
+        };
+    }
+
+    private static boolean allInvolveAnyOf(List<Violation> violations, Set<String> classNames) {
+        for (Violation violation : violations) {
+            if (Collections.disjoint(violation.involvedClassNames, classNames)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The violations of the result together with the imported classes involved in each of them,
+     *         or {@link Optional#empty()} if some violation doesn't involve any imported class
+     */
+    private static Optional<List<Violation>> violationsOf(EvaluationResult result, final Set<String> importedClassNames) {
+        final List<Violation> violations = new ArrayList<>();
+        final List<String> attributedViolations = new ArrayList<>();
+        final boolean[] allAttributed = {true};
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                Optional<SortedSet<String>> involvedClassNames = getInvolvedClassNames(violatingObjects, importedClassNames);
+                if (!involvedClassNames.isPresent()) {
+                    allAttributed[0] = false;
+                    return;
+                }
+                violations.add(new Violation(message, involvedClassNames.get()));
+                attributedViolations.add(message);
+            }
+        });
+
+        Collections.sort(attributedViolations);
+        boolean consistentWithReport = attributedViolations.equals(result.getFailureReport().getDetails());
+        return allAttributed[0] && consistentWithReport
+                ? Optional.of(violations)
+                : Optional.<List<Violation>>empty();
+    }
+
+    private static Optional<SortedSet<String>> getInvolvedClassNames(Collection<Object> violatingObjects, Set<String> importedClassNames) {
+        SortedSet<String> result = new TreeSet<>();
+        for (Object violatingObject : violatingObjects) {
+            Optional<Set<JavaClass>> involvedClasses = getInvolvedClasses(violatingObject);
+            if (!involvedClasses.isPresent()) {
+                return Optional.empty();
+            }
+            for (JavaClass involvedClass : involvedClasses.get()) {
+                if (importedClassNames.contains(involvedClass.getName())) {
+                    result.add(involvedClass.getName());
+                }
+            }
+        }
+        return !result.isEmpty() ? Optional.of(result) : Optional.<SortedSet<String>>empty();
+    }
+
+    private static Optional<Set<JavaClass>> getInvolvedClasses(Object object) {
+        if (object instanceof JavaClass) {
+            return Optional.of(Collections.singleton((JavaClass) object));
+        }
+        if (object instanceof Dependency) {
+            Dependency dependency = (Dependency) object;
+            return Optional.<Set<JavaClass>>of(new HashSet<>(Arrays.asList(dependency.getOriginClass(), dependency.getTargetClass())));
+        }
+        if (object instanceof JavaAccess<?>) {
+            JavaAccess<?> access = (JavaAccess<?>) object;
+            return Optional.<Set<JavaClass>>of(new HashSet<>(Arrays.asList(access.getOriginOwner(), access.getTargetOwner())));
+        }
+        if (object instanceof HasOwner<?> && ((HasOwner<?>) object).getOwner() instanceof JavaClass) {
+            return Optional.of(Collections.singleton((JavaClass) ((HasOwner<?>) object).getOwner()));
+        }
+        return Optional.empty();
+    }
+
+    private static class State {
+        private final Map<String, String> md5sums;
+        private final Map<String, Set<String>> dependencies;
+        private final List<Violation> violations;
+
+        State(Map<String, String> md5sums, Map<String, Set<String>> dependencies, List<Violation> violations) {
+            this.md5sums = md5sums;
+            this.dependencies = dependencies;
+            this.violations = violations;
+        }
+
+        byte[] write() {
+            List<Violation> sortedViolations = new ArrayList<>(violations);
+            Collections.sort(sortedViolations);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(STATE_FORMAT_VERSION);
+                out.writeInt(md5sums.size());
+                for (Map.Entry<String, String> md5sum : md5sums.entrySet()) {
+                    out.writeUTF(md5sum.getKey());
+                    out.writeUTF(md5sum.getValue());
+                    writeStrings(out, dependencies.get(md5sum.getKey()));
+                }
+                out.writeInt(sortedViolations.size());
+                for (Violation violation : sortedViolations) {
+                    writeString(out, violation.message);
+                    writeStrings(out, violation.involvedClassNames);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Writing to memory must not fail", e);
+            }
+            return bytes.toByteArray();
+        }
+
+        static Optional<State> read(byte[] state) {
+            if (state.length == 0) {
+                return Optional.empty();
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+                if (in.readInt() != STATE_FORMAT_VERSION) {
+                    return Optional.empty();
+                }
+                Map<String, String> md5sums = new TreeMap<>();
+                Map<String, Set<String>> dependencies = new TreeMap<>();
+                int numberOfClasses = in.readInt();
+                for (int i = 0; i < numberOfClasses; i++) {
+                    String className = in.readUTF();
+                    md5sums.put(className, in.readUTF());
+                    dependencies.put(className, new TreeSet<>(readStrings(in)));
+                }
+                List<Violation> violations = new ArrayList<>();
+                int numberOfViolations = in.readInt();
+                for (int i = 0; i < numberOfViolations; i++) {
+                    String message = readString(in);
+                    violations.add(new Violation(message, new TreeSet<>(readStrings(in))));
+                }
+                return md5sums.isEmpty() ? Optional.<State>empty() : Optional.of(new State(md5sums, dependencies, violations));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring malformed incremental evaluation state", e);
+                return Optional.empty();
+            }
+        }
+
+        private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(out, string);
+            }
+        }
+
+        // strings are written as raw UTF-8 bytes, since violation messages are not limited in length like DataOutput.writeUTF(..)
+        private static void writeString(DataOutputStream out, String string) throws IOException {
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static List<String> readStrings(DataInputStream in) throws IOException {
+            int numberOfStrings = in.readInt();
+            List<String> result = new ArrayList<>();
+            for (int i = 0; i < numberOfStrings; i++) {
+                result.add(readString(in));
+            }
+            return result;
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0 || length > in.available()) {
+                throw new IOException("Invalid length of string: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+
+    private static class Violation implements Comparable<Violation> {
+        private final String message;
+        private final SortedSet<String> involvedClassNames;
+
+        Violation(String message, SortedSet<String> involvedClassNames) {
+            this.message = message;
+            this.involvedClassNames = involvedClassNames;
+        }
+
+        @Override
+        public int compareTo(Violation other) {
+            int result = message.compareTo(other.message);
+            return result != 0 ? result : involvedClassNames.toString().compareTo(other.involvedClassNames.toString());
+        }
+    }
+}
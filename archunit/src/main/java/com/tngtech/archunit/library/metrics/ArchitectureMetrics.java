@@ -94,6 +94,33 @@ public final class ArchitectureMetrics {
         return new VisibilityMetrics(components, isVisible);
     }
 
+    /**
+     * Calculates the {@link ComponentDependencyMetrics component dependency metrics} and the {@link VisibilityMetrics relative visibility}
+     * of all components in one pass, using one thread per available processor.
+     * This method is a specific version of {@link #componentMetricsTable(MetricsComponents, int)}.
+     *
+     * @param components The components to calculate the metrics for
+     * @return The calculated {@link ComponentMetricsTable}
+     */
+    @PublicAPI(usage = ACCESS)
+    public static ComponentMetricsTable componentMetricsTable(MetricsComponents<JavaClass> components) {
+        return componentMetricsTable(components, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Calculates the {@link ComponentDependencyMetrics component dependency metrics} and the {@link VisibilityMetrics relative visibility}
+     * of all components in one pass. The components are split between {@code parallelism} threads, which first collect the dependencies
+     * between the components and then calculate the metrics of each component. A class is considered visible, if and only if it is public.
+     *
+     * @param components The components to calculate the metrics for
+     * @param parallelism The number of threads to use; {@code 1} calculates all metrics on the calling thread
+     * @return The calculated {@link ComponentMetricsTable}
+     */
+    @PublicAPI(usage = ACCESS)
+    public static ComponentMetricsTable componentMetricsTable(MetricsComponents<JavaClass> components, int parallelism) {
+        return new ComponentMetricsTable(components, GET_JAVA_CLASS_DEPENDENCIES, modifier(PUBLIC), parallelism);
+    }
+
     private static final Function<JavaClass, Collection<JavaClass>> GET_JAVA_CLASS_DEPENDENCIES = new Function<JavaClass, Collection<JavaClass>>() {
         @Override
         public Collection<JavaClass> apply(JavaClass javaClass) {
@@ -133,7 +133,7 @@ public final class ComponentDependencyMetrics {
                 "Unknown component with identifier '" + componentIdentifier + "'");
     }
 
-    private static class SingleComponentMetrics {
+    static class SingleComponentMetrics {
         private final int efferentCoupling;
         private final int afferentCoupling;
         private final double instability;
@@ -141,8 +141,8 @@ public final class ComponentDependencyMetrics {
         private final double normalizedDistanceFromMainSequence;
 
         SingleComponentMetrics(MetricsComponent<JavaClass> component, MetricsComponentDependencyGraph<JavaClass> graph) {
-            efferentCoupling = graph.getDirectDependenciesFrom(component).size();
-            afferentCoupling = graph.getDirectDependenciesTo(component).size();
+            efferentCoupling = graph.getNumberOfDirectDependenciesFrom(component);
+            afferentCoupling = graph.getNumberOfDirectDependenciesTo(component);
             instability = divideSafely(efferentCoupling, efferentCoupling + afferentCoupling, 1);
             ContainedPublicClasses classes = new ContainedPublicClasses(component);
             abstractness = divideSafely(classes.numberOfAbstractClasses, classes.numberOfAllClasses, 0);
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.library.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.base.Function;
+import com.tngtech.archunit.base.Predicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.library.metrics.ComponentDependencyMetrics.SingleComponentMetrics;
+import com.tngtech.archunit.library.metrics.VisibilityMetrics.ComponentVisibility;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+import static com.tngtech.archunit.base.JsonStrings.quote;
+import static java.lang.System.lineSeparator;
+
+/**
+ * All {@link ComponentDependencyMetrics component dependency metrics} and the {@link VisibilityMetrics relative visibility}
+ * of a set of components, with one {@link Row} per component.<br>
+ * All metrics are calculated in one pass, where the components are processed by several threads in parallel
+ * (compare {@link ArchitectureMetrics#componentMetricsTable(MetricsComponents, int)}).<br>
+ * The table can be exported via {@link #toCsv()} or {@link #toJson()}, e.g. to track the metrics over time.
+ */
+@PublicAPI(usage = ACCESS)
+public final class ComponentMetricsTable {
+    private static final List<String> COLUMNS = ImmutableList.of(
+            "component",
+            "efferentCoupling",
+            "afferentCoupling",
+            "instability",
+            "abstractness",
+            "normalizedDistanceFromMainSequence",
+            "relativeVisibility");
+
+    private final List<Row> rows;
+    private final Map<String, Row> rowsByComponentIdentifier;
+
+    ComponentMetricsTable(MetricsComponents<JavaClass> components, Function<JavaClass, Collection<JavaClass>> getDependencies,
+            Predicate<? super JavaClass> isVisible, int parallelism) {
+        try (ParallelLoop loop = ParallelLoop.withParallelism(parallelism)) {
+            rows = calculateRows(ImmutableList.copyOf(components), getDependencies, isVisible, loop);
+        }
+        ImmutableMap.Builder<String, Row> rowsByComponentIdentifier = ImmutableMap.builder();
+        for (Row row : rows) {
+            rowsByComponentIdentifier.put(row.componentIdentifier, row);
+        }
+        this.rowsByComponentIdentifier = rowsByComponentIdentifier.build();
+    }
+
+    private static List<Row> calculateRows(final List<MetricsComponent<JavaClass>> components,
+            Function<JavaClass, Collection<JavaClass>> getDependencies, final Predicate<? super JavaClass> isVisible, ParallelLoop loop) {
+
+        final MetricsComponentDependencyGraph<JavaClass> graph = MetricsComponentDependencyGraph.of(components, getDependencies, loop);
+        final Row[] rows = new Row[components.size()];
+        loop.forEachIndex(components.size(), new ParallelLoop.Body() {
+            @Override
+            public void apply(int fromInclusive, int toExclusive) {
+                for (int i = fromInclusive; i < toExclusive; i++) {
+                    MetricsComponent<JavaClass> component = components.get(i);
+                    rows[i] = new Row(component.getIdentifier(),
+                            new SingleComponentMetrics(component, graph),
+                            new ComponentVisibility(component, isVisible));
+                }
+            }
+        });
+        return ImmutableList.copyOf(rows);
+    }
+
+    /**
+     * @return One row for each component in the order of the components the table was calculated for
+     */
+    @PublicAPI(usage = ACCESS)
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public Row getRow(String componentIdentifier) {
+        checkArgument(rowsByComponentIdentifier.containsKey(componentIdentifier),
+                "Unknown component with identifier '" + componentIdentifier + "'");
+        return rowsByComponentIdentifier.get(componentIdentifier);
+    }
+
+    /**
+     * @return The table as comma separated values with one header line naming the columns and one line per {@link Row}
+     */
+    @PublicAPI(usage = ACCESS)
+    public String toCsv() {
+        StringBuilder result = new StringBuilder();
+        appendCsvLine(result, COLUMNS);
+        for (Row row : rows) {
+            appendCsvLine(result, row.values());
+        }
+        return result.toString();
+    }
+
+    private static void appendCsvLine(StringBuilder result, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append(escapeCsv(values.get(i)));
+        }
+        result.append(lineSeparator());
+    }
+
+    private static String escapeCsv(String value) {
+        return value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")
+                ? '"' + value.replace("\"", "\"\"") + '"'
+                : value;
+    }
+
+    /**
+     * @return The table as JSON array with one object per {@link Row}, where the keys are the column names
+     *         (i.e. the property names of {@link Row}). Undefined values (e.g. the relative visibility of an empty component)
+     *         are written as {@code null}.
+     */
+    @PublicAPI(usage = ACCESS)
+    public String toJson() {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < rows.size(); i++) {
+            result.append(i > 0 ? "," : "").append(lineSeparator()).append("  {");
+            List<String> values = rows.get(i).values();
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                String value = column == 0 ? quote(values.get(column)) : jsonNumber(values.get(column));
+                result.append(column > 0 ? ", " : "").append(quote(COLUMNS.get(column))).append(": ").append(value);
+            }
+            result.append("}");
+        }
+        return result.append(rows.isEmpty() ? "" : lineSeparator()).append("]").toString();
+    }
+
+    private static String jsonNumber(String value) {
+        return value.equals("NaN") || value.contains("Infinity") ? "null" : value;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("rows", rows)
+                .toString();
+    }
+
+    /**
+     * The metrics of a single component.
+     *
+     * @see ComponentDependencyMetrics
+     * @see VisibilityMetrics
+     */
+    @PublicAPI(usage = ACCESS)
+    public static final class Row {
+        private final String componentIdentifier;
+        private final SingleComponentMetrics dependencyMetrics;
+        private final double relativeVisibility;
+
+        private Row(String componentIdentifier, SingleComponentMetrics dependencyMetrics, ComponentVisibility visibility) {
+            this.componentIdentifier = componentIdentifier;
+            this.dependencyMetrics = dependencyMetrics;
+            this.relativeVisibility = visibility.relativeVisibility;
+        }
+
+        @PublicAPI(usage = ACCESS)
+        public String getComponentIdentifier() {
+            return componentIdentifier;
+        }
+
+        /**
+         * @see ComponentDependencyMetrics#getEfferentCoupling(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public int getEfferentCoupling() {
+            return dependencyMetrics.getEfferentCoupling();
+        }
+
+        /**
+         * @see ComponentDependencyMetrics#getAfferentCoupling(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public int getAfferentCoupling() {
+            return dependencyMetrics.getAfferentCoupling();
+        }
+
+        /**
+         * @see ComponentDependencyMetrics#getInstability(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public double getInstability() {
+            return dependencyMetrics.getInstability();
+        }
+
+        /**
+         * @see ComponentDependencyMetrics#getAbstractness(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public double getAbstractness() {
+            return dependencyMetrics.getAbstractness();
+        }
+
+        /**
+         * @see ComponentDependencyMetrics#getNormalizedDistanceFromMainSequence(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public double getNormalizedDistanceFromMainSequence() {
+            return dependencyMetrics.getNormalizedDistanceFromMainSequence();
+        }
+
+        /**
+         * @see VisibilityMetrics#getRelativeVisibility(String)
+         */
+        @PublicAPI(usage = ACCESS)
+        public double getRelativeVisibility() {
+            return relativeVisibility;
+        }
+
+        private List<String> values() {
+            return Arrays.asList(
+                    componentIdentifier,
+                    String.valueOf(getEfferentCoupling()),
+                    String.valueOf(getAfferentCoupling()),
+                    String.valueOf(getInstability()),
+                    String.valueOf(getAbstractness()),
+                    String.valueOf(getNormalizedDistanceFromMainSequence()),
+                    String.valueOf(getRelativeVisibility()));
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("componentIdentifier", componentIdentifier)
+                    .add("efferentCoupling", getEfferentCoupling())
+                    .add("afferentCoupling", getAfferentCoupling())
+                    .add("instability", getInstability())
+                    .add("abstractness", getAbstractness())
+                    .add("normalizedDistanceFromMainSequence", getNormalizedDistanceFromMainSequence())
+                    .add("relativeVisibility", getRelativeVisibility())
+                    .toString();
+        }
+    }
+}
@@ -18,12 +18,10 @@ package com.tngtech.archunit.library.metrics;
 import java.util.Collection;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.Sets;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.Function;
 
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
-import static java.util.Collections.singleton;
 
 /**
  * Calculates architecture metrics as defined by John Lakos in his book "Large-Scale C++ Software Design".<br>
@@ -61,7 +59,7 @@ public final class LakosMetrics {
         int cumulativeComponentDependency = 0;
         MetricsComponentDependencyGraph<T> graph = MetricsComponentDependencyGraph.of(components, getDependencies);
         for (MetricsComponent<T> component : components) {
-            cumulativeComponentDependency += 1 + getNumberOfTransitiveDependencies(graph, component);
+            cumulativeComponentDependency += 1 + graph.getNumberOfTransitiveDependenciesWithoutSelfOf(component);
         }
         this.cumulativeComponentDependency = cumulativeComponentDependency;
         this.averageComponentDependency = ((double) cumulativeComponentDependency) / components.size();
@@ -70,11 +68,6 @@ public final class LakosMetrics {
                 ((double) cumulativeComponentDependency) / calculateCumulativeComponentDependencyOfBinaryTree(components.size());
     }
 
-    private <T> int getNumberOfTransitiveDependencies(MetricsComponentDependencyGraph<T> graph, MetricsComponent<T> component) {
-        Sets.SetView<MetricsComponent<T>> transitiveDependenciesWithoutSelf = Sets.difference(graph.getTransitiveDependenciesOf(component), singleton(component));
-        return transitiveDependenciesWithoutSelf.size();
-    }
-
     private int calculateCumulativeComponentDependencyOfBinaryTree(int treeSize) {
         int ccdOfBinaryTree = 0;
         int level = 1;
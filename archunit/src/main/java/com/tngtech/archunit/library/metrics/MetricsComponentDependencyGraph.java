@@ -17,87 +17,168 @@ package com.tngtech.archunit.library.metrics;
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ImmutableSetMultimap;
-import com.google.common.collect.SetMultimap;
 import com.tngtech.archunit.base.Function;
+import com.tngtech.archunit.library.dependencies.PrimitiveGraph;
+import com.tngtech.archunit.library.dependencies.PrimitiveReachability;
 
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * The dependencies between components are kept as a {@link PrimitiveGraph}, where the node index of each component
+ * is its position within {@link #components}. Only the results of queries are translated back to components.
+ */
 class MetricsComponentDependencyGraph<T> {
-    private final SetMultimap<MetricsComponent<T>, MetricsComponent<T>> outgoingComponentDependencies;
-    private final SetMultimap<MetricsComponent<T>, MetricsComponent<T>> incomingComponentDependencies;
+    private final List<MetricsComponent<T>> components;
+    private final Map<MetricsComponent<T>, Integer> componentIndexes;
+    private final PrimitiveGraph outgoingComponentDependencies;
+    private final PrimitiveGraph incomingComponentDependencies;
+    private final Supplier<PrimitiveReachability> reachability = Suppliers.memoize(new Supplier<PrimitiveReachability>() {
+        @Override
+        public PrimitiveReachability get() {
+            return PrimitiveReachability.of(outgoingComponentDependencies);
+        }
+    });
 
-    private MetricsComponentDependencyGraph(Iterable<MetricsComponent<T>> components, Function<T, Collection<T>> getDependencies) {
-        ImmutableSetMultimap<MetricsComponent<T>, MetricsComponent<T>> componentDependencies = createComponentDependencies(components, getDependencies);
-        this.outgoingComponentDependencies = componentDependencies;
-        this.incomingComponentDependencies = componentDependencies.inverse();
+    private MetricsComponentDependencyGraph(Iterable<MetricsComponent<T>> components, Function<T, Collection<T>> getDependencies, ParallelLoop loop) {
+        this.components = ImmutableList.copyOf(components);
+        this.componentIndexes = indexComponents(this.components);
+        this.outgoingComponentDependencies = createComponentDependencies(getDependencies, loop);
+        this.incomingComponentDependencies = outgoingComponentDependencies.reverse();
     }
 
-    private ImmutableSetMultimap<MetricsComponent<T>, MetricsComponent<T>> createComponentDependencies(Iterable<MetricsComponent<T>> components, Function<T, Collection<T>> getDependencies) {
-        Map<T, MetricsComponent<T>> componentsByElements = indexComponentByElement(components);
-        ImmutableSetMultimap.Builder<MetricsComponent<T>, MetricsComponent<T>> componentDependencies = ImmutableSetMultimap.builder();
-        for (MetricsComponent<T> component : components) {
-            componentDependencies.putAll(component, createDependenciesOf(component, componentsByElements, getDependencies));
+    private static <T> Map<MetricsComponent<T>, Integer> indexComponents(List<MetricsComponent<T>> components) {
+        Map<MetricsComponent<T>, Integer> result = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            result.put(components.get(i), i);
         }
-        return componentDependencies.build();
+        return result;
     }
 
-    private Map<T, MetricsComponent<T>> indexComponentByElement(Iterable<MetricsComponent<T>> components) {
-        Map<T, MetricsComponent<T>> componentsByElements = new HashMap<>();
-        for (MetricsComponent<T> component : components) {
-            for (T element : component.getElements()) {
-                componentsByElements.put(element, component);
+    private PrimitiveGraph createComponentDependencies(final Function<T, Collection<T>> getDependencies, ParallelLoop loop) {
+        final Map<T, Integer> componentIndexesByElement = indexComponentIndexByElement();
+        final int[][] targetsByOrigin = new int[components.size()][];
+        loop.forEachIndex(components.size(), new ParallelLoop.Body() {
+            @Override
+            public void apply(int fromInclusive, int toExclusive) {
+                // records the last origin that had the respective target added, to add each target only once per origin
+                int[] lastOriginByTarget = new int[components.size()];
+                fill(lastOriginByTarget, -1);
+                int[] tempTargets = new int[components.size()];
+                for (int origin = fromInclusive; origin < toExclusive; origin++) {
+                    targetsByOrigin[origin] = findTargetsOf(origin, componentIndexesByElement, getDependencies, lastOriginByTarget, tempTargets);
+                }
+            }
+        });
+
+        PrimitiveGraph.Builder componentDependencies = PrimitiveGraph.builder(components.size());
+        for (int origin = 0; origin < components.size(); origin++) {
+            for (int target : targetsByOrigin[origin]) {
+                componentDependencies.addEdge(origin, target);
             }
         }
-        return componentsByElements;
+        return componentDependencies.build();
     }
 
-    private ImmutableSet<MetricsComponent<T>> createDependenciesOf(MetricsComponent<T> component, Map<T, MetricsComponent<T>> componentsByElements, Function<T, Collection<T>> getDependencies) {
-        ImmutableSet.Builder<MetricsComponent<T>> builder = ImmutableSet.builder();
-        for (T element : component.getElements()) {
+    private int[] findTargetsOf(int origin, Map<T, Integer> componentIndexesByElement, Function<T, Collection<T>> getDependencies,
+            int[] lastOriginByTarget, int[] tempTargets) {
+        int numberOfTargets = 0;
+        for (T element : components.get(origin).getElements()) {
             for (T dependency : getDependencies.apply(element)) {
-                MetricsComponent<T> target = componentsByElements.get(dependency);
-                if (target != null && !target.equals(component)) {
-                    builder.add(target);
+                Integer target = componentIndexesByElement.get(dependency);
+                if (target != null && target != origin && lastOriginByTarget[target] != origin) {
+                    tempTargets[numberOfTargets++] = target;
+                    lastOriginByTarget[target] = origin;
                 }
             }
         }
-        return builder.build();
+        return copyOf(tempTargets, numberOfTargets);
+    }
+
+    private Map<T, Integer> indexComponentIndexByElement() {
+        Map<T, Integer> componentIndexesByElement = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            for (T element : components.get(i).getElements()) {
+                componentIndexesByElement.put(element, i);
+            }
+        }
+        return componentIndexesByElement;
+    }
+
+    int getNumberOfDirectDependenciesFrom(MetricsComponent<T> origin) {
+        return getNumberOfAdjacentComponentsOf(origin, outgoingComponentDependencies);
+    }
+
+    int getNumberOfDirectDependenciesTo(MetricsComponent<T> target) {
+        return getNumberOfAdjacentComponentsOf(target, incomingComponentDependencies);
+    }
+
+    private int getNumberOfAdjacentComponentsOf(MetricsComponent<T> component, PrimitiveGraph graph) {
+        Integer index = componentIndexes.get(component);
+        return index != null ? graph.getEndEdgeIndexOf(index) - graph.getFirstEdgeIndexOf(index) : 0;
     }
 
     Set<MetricsComponent<T>> getDirectDependenciesFrom(MetricsComponent<T> origin) {
-        return outgoingComponentDependencies.get(origin);
+        return getAdjacentComponentsOf(origin, outgoingComponentDependencies);
     }
 
     Set<MetricsComponent<T>> getDirectDependenciesTo(MetricsComponent<T> target) {
-        return incomingComponentDependencies.get(target);
+        return getAdjacentComponentsOf(target, incomingComponentDependencies);
     }
 
-    Set<MetricsComponent<T>> getTransitiveDependenciesOf(MetricsComponent<T> origin) {
-        ImmutableSet.Builder<MetricsComponent<T>> transitiveDependencies = ImmutableSet.builder();
-        Set<MetricsComponent<T>> analyzedComponents = new HashSet<>();  // to avoid infinite recursion for cyclic dependencies
-        addTransitiveDependenciesFrom(origin, transitiveDependencies, analyzedComponents);
-        return transitiveDependencies.build();
+    private Set<MetricsComponent<T>> getAdjacentComponentsOf(MetricsComponent<T> component, PrimitiveGraph graph) {
+        Integer index = componentIndexes.get(component);
+        if (index == null) {
+            return ImmutableSet.of();
+        }
+        ImmutableSet.Builder<MetricsComponent<T>> result = ImmutableSet.builder();
+        for (int edgeIndex = graph.getFirstEdgeIndexOf(index); edgeIndex < graph.getEndEdgeIndexOf(index); edgeIndex++) {
+            result.add(components.get(graph.getEdgeTarget(edgeIndex)));
+        }
+        return result.build();
     }
 
-    private void addTransitiveDependenciesFrom(MetricsComponent<T> component, ImmutableSet.Builder<MetricsComponent<T>> transitiveDependencies, Set<MetricsComponent<T>> analyzedComponents) {
-        analyzedComponents.add(component);  // currently being analyzed
-        Set<MetricsComponent<T>> dependencyTargetsToRecurse = new HashSet<>();
-        for (MetricsComponent<T> dependency : getDirectDependenciesFrom(component)) {
-            transitiveDependencies.add(dependency);
-            dependencyTargetsToRecurse.add(dependency);
+    /**
+     * @return all components reachable from the origin; the origin itself is only contained, if it is part of a cycle
+     */
+    Set<MetricsComponent<T>> getTransitiveDependenciesOf(MetricsComponent<T> origin) {
+        Integer originIndex = componentIndexes.get(origin);
+        if (originIndex == null) {
+            return ImmutableSet.of();
         }
-        for (MetricsComponent<T> dependency : dependencyTargetsToRecurse) {
-            if (!analyzedComponents.contains(dependency)) {
-                addTransitiveDependenciesFrom(dependency, transitiveDependencies, analyzedComponents);
-            }
+        ImmutableSet.Builder<MetricsComponent<T>> result = ImmutableSet.builder();
+        for (int target : reachability.get().getReachableNodes(originIndex)) {
+            result.add(components.get(target));
         }
+        return result.build();
+    }
+
+    /**
+     * @return the number of components reachable from the origin, not counting the origin itself
+     */
+    int getNumberOfTransitiveDependenciesWithoutSelfOf(MetricsComponent<T> origin) {
+        Integer originIndex = componentIndexes.get(origin);
+        if (originIndex == null) {
+            return 0;
+        }
+        PrimitiveReachability reachability = this.reachability.get();
+        int result = reachability.getNumberOfReachableNodes(originIndex);
+        return reachability.canReach(originIndex, originIndex) ? result - 1 : result;
     }
 
     static <T> MetricsComponentDependencyGraph<T> of(Iterable<MetricsComponent<T>> components, Function<T, Collection<T>> getDependencies) {
-        return new MetricsComponentDependencyGraph<>(components, getDependencies);
+        return of(components, getDependencies, ParallelLoop.sequential());
+    }
+
+    static <T> MetricsComponentDependencyGraph<T> of(Iterable<MetricsComponent<T>> components, Function<T, Collection<T>> getDependencies, ParallelLoop loop) {
+        return new MetricsComponentDependencyGraph<>(components, getDependencies, loop);
     }
 }
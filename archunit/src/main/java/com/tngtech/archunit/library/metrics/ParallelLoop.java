@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2022 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.library.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.tngtech.archunit.base.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+
+/**
+ * Runs a loop over the indexes {@code 0 ..< size} either on the calling thread, or split into ranges
+ * that are processed by a fixed number of worker threads. The loop body must only write state that
+ * belongs to the indexes of the range it is called with.
+ */
+class ParallelLoop implements AutoCloseable {
+    private static final int RANGES_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final Optional<ExecutorService> executor;
+
+    private ParallelLoop(int parallelism) {
+        this.parallelism = parallelism;
+        this.executor = parallelism > 1
+                ? Optional.of(Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("archunit-metrics-%d").setDaemon(true).build()))
+                : Optional.<ExecutorService>empty();
+    }
+
+    void forEachIndex(int size, final Body body) {
+        if (!executor.isPresent() || size <= 1) {
+            body.apply(0, size);
+            return;
+        }
+
+        int rangeSize = Math.max(1, size / (parallelism * RANGES_PER_THREAD));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += rangeSize) {
+            final int fromInclusive = from;
+            final int toExclusive = Math.min(size, from + rangeSize);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    body.apply(fromInclusive, toExclusive);
+                    return null;
+                }
+            });
+        }
+        awaitAll(tasks);
+    }
+
+    private void awaitAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.get().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calculating metrics", e);
+        } catch (ExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor.isPresent()) {
+            executor.get().shutdownNow();
+        }
+    }
+
+    static ParallelLoop sequential() {
+        return new ParallelLoop(1);
+    }
+
+    static ParallelLoop withParallelism(int parallelism) {
+        checkArgument(parallelism >= 1, "Parallelism must be at least 1, but was %s", parallelism);
+        return new ParallelLoop(parallelism);
+    }
+
+    interface Body {
+        void apply(int fromInclusive, int toExclusive);
+    }
+}
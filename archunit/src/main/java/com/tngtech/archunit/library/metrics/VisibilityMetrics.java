@@ -120,7 +120,7 @@ public final class VisibilityMetrics {
                 "Unknown component with identifier '" + componentIdentifier + "'");
     }
 
-    private static class ComponentVisibility {
+    static class ComponentVisibility {
         final int numberOfVisibleElements;
         final int numberOfAllElements;
         final double relativeVisibility;
@@ -18,6 +18,8 @@ package com.tngtech.archunit.library.plantuml;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableSet;
@@ -26,8 +28,14 @@ import com.tngtech.archunit.core.domain.JavaClass;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
 
+/**
+ * Associates classes with the components of a diagram by their package. Since all classes of a package always belong
+ * to the same components, the components are only determined once per distinct package name by matching all stereotypes,
+ * every further lookup for a class (or the origin and target of a dependency) is a single hash lookup.
+ */
 class JavaClassDiagramAssociation {
     private final Set<AssociatedComponent> components;
+    private final ConcurrentMap<String, Set<AssociatedComponent>> associatedComponentsByPackageName = new ConcurrentHashMap<>();
 
     JavaClassDiagramAssociation(PlantUmlDiagram diagram) {
         ImmutableSet.Builder<AssociatedComponent> components = ImmutableSet.builder();
@@ -51,18 +59,14 @@ class JavaClassDiagramAssociation {
     }
 
     Set<String> getTargetPackageIdentifiers(final JavaClass javaClass) {
-        ImmutableSet.Builder<String> result = ImmutableSet.builder();
-        for (PlantUmlComponent target : getComponentOf(javaClass).getDependencies()) {
-            result.addAll(getPackageIdentifiersFromComponentOf(target));
-        }
-        return result.build();
+        return getComponentOf(javaClass).targetPackageIdentifiers;
     }
 
     Set<String> getPackageIdentifiersFromComponentOf(JavaClass javaClass) {
-        return getPackageIdentifiersFromComponentOf(getComponentOf(javaClass));
+        return getComponentOf(javaClass).packageIdentifiers;
     }
 
-    private Set<String> getPackageIdentifiersFromComponentOf(PlantUmlComponent component) {
+    private static Set<String> getPackageIdentifiersFromComponentOf(PlantUmlComponent component) {
         ImmutableSet.Builder<String> result = ImmutableSet.builder();
         for (Stereotype stereotype : component.getStereotypes()) {
             result.add(stereotype.asString());
@@ -70,8 +74,8 @@ class JavaClassDiagramAssociation {
         return result.build();
     }
 
-    private PlantUmlComponent getComponentOf(final JavaClass javaClass) {
-        Set<PlantUmlComponent> associatedComponents = getAssociatedComponents(javaClass);
+    private AssociatedComponent getComponentOf(final JavaClass javaClass) {
+        Set<AssociatedComponent> associatedComponents = getAssociatedComponents(javaClass);
 
         if (associatedComponents.size() > 1) {
             throw new ComponentIntersectionException(
@@ -89,20 +93,30 @@ class JavaClassDiagramAssociation {
         return !getAssociatedComponents(javaClass).isEmpty();
     }
 
-    private Set<PlantUmlComponent> getAssociatedComponents(JavaClass javaClass) {
-        ImmutableSet.Builder<PlantUmlComponent> result = ImmutableSet.builder();
+    private Set<AssociatedComponent> getAssociatedComponents(JavaClass javaClass) {
+        String packageName = javaClass.getPackageName();
+        Set<AssociatedComponent> result = associatedComponentsByPackageName.get(packageName);
+        if (result == null) {
+            result = findAssociatedComponents(packageName);
+            associatedComponentsByPackageName.putIfAbsent(packageName, result);
+        }
+        return result;
+    }
+
+    private Set<AssociatedComponent> findAssociatedComponents(String packageName) {
+        ImmutableSet.Builder<AssociatedComponent> result = ImmutableSet.builder();
         for (AssociatedComponent component : components) {
-            if (component.contains(javaClass)) {
-                result.add(component.asPlantUmlComponent());
+            if (component.containsPackage(packageName)) {
+                result.add(component);
             }
         }
         return result.build();
     }
 
-    private Set<String> getComponentNames(Set<PlantUmlComponent> associatedComponents) {
+    private Set<String> getComponentNames(Set<AssociatedComponent> associatedComponents) {
         Set<String> associatedComponentNames = new TreeSet<>();
-        for (PlantUmlComponent associatedComponent : associatedComponents) {
-            associatedComponentNames.add(associatedComponent.getComponentName().asString());
+        for (AssociatedComponent associatedComponent : associatedComponents) {
+            associatedComponentNames.add(associatedComponent.component.getComponentName().asString());
         }
         return associatedComponentNames;
     }
@@ -110,6 +124,8 @@ class JavaClassDiagramAssociation {
     private static class AssociatedComponent {
         private final PlantUmlComponent component;
         private final Set<PackageMatcher> packageMatchers;
+        private final Set<String> packageIdentifiers;
+        private final Set<String> targetPackageIdentifiers;
 
         private AssociatedComponent(PlantUmlComponent component) {
             this.component = component;
@@ -118,19 +134,21 @@ class JavaClassDiagramAssociation {
                 packageMatchers.add(PackageMatcher.of(stereotype.asString()));
             }
             this.packageMatchers = packageMatchers.build();
+            this.packageIdentifiers = getPackageIdentifiersFromComponentOf(component);
+            ImmutableSet.Builder<String> targetPackageIdentifiers = ImmutableSet.builder();
+            for (PlantUmlComponent target : component.getDependencies()) {
+                targetPackageIdentifiers.addAll(getPackageIdentifiersFromComponentOf(target));
+            }
+            this.targetPackageIdentifiers = targetPackageIdentifiers.build();
         }
 
-        private boolean contains(JavaClass javaClass) {
+        private boolean containsPackage(String packageName) {
             for (PackageMatcher packageMatcher : packageMatchers) {
-                if (packageMatcher.matches(javaClass.getPackageName())) {
+                if (packageMatcher.matches(packageName)) {
                     return true;
                 }
             }
             return false;
         }
-
-        PlantUmlComponent asPlantUmlComponent() {
-            return component;
-        }
     }
-}
\ No newline at end of file
+}
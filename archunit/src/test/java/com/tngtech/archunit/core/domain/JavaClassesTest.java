@@ -1,17 +1,31 @@
 package com.tngtech.archunit.core.domain;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.base.CacheablePredicate;
 import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
 
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableTo;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAnyPackage;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameEndingWith;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameStartingWith;
 import static com.tngtech.archunit.core.domain.TestUtils.importClassWithContext;
 import static com.tngtech.archunit.core.domain.TestUtils.importClassesWithContext;
+import static com.tngtech.archunit.core.domain.properties.HasName.Predicates.nameMatching;
+import static com.tngtech.archunit.core.domain.properties.HasName.Predicates.nameStartingWith;
 import static com.tngtech.archunit.testutil.Assertions.assertThatTypes;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -115,6 +129,159 @@ public class JavaClassesTest {
         classes.get(String.class);
     }
 
+    @Test
+    public void restriction_on_classes_via_indexes_selects_the_same_classes_as_testing_every_class() {
+        JavaClasses classes = new ClassFileImporter().importPackagesOf(JavaClassesTest.class);
+        String packageName = JavaClassesTest.class.getPackage().getName();
+
+        List<DescribedPredicate<JavaClass>> predicates = ImmutableList.of(
+                resideInAPackage(packageName),
+                resideInAPackage(packageName + ".."),
+                resideInAnyPackage(packageName + ".testobjects", "..correct.."),
+                assignableTo(Serializable.class),
+                simpleNameEndingWith("Test"),
+                IndexedClassPredicate.annotatedWith(RunWith.class),
+                resideInAPackage(packageName + "..").and(simpleNameEndingWith("Test")),
+                IndexedClassPredicate.and(haveTheNameOf(SomeClass.class), resideInAPackage(packageName)),
+                assignableTo(Serializable.class).or(simpleNameEndingWith("Test")),
+                assignableTo(Serializable.class).or(haveTheNameOf(SomeClass.class)),
+                simpleNameEndingWith("Test").as("customized"),
+                nameMatching(".*Test").<JavaClass>forSubtype().as("have name matching '.*Test'"),
+                haveTheNameOf(SomeClass.class).or(nameStartingWith(packageName + ".JavaClassesTest")));
+
+        for (DescribedPredicate<JavaClass> predicate : predicates) {
+            Set<JavaClass> expected = new HashSet<>();
+            for (JavaClass javaClass : classes) {
+                if (predicate.apply(javaClass)) {
+                    expected.add(javaClass);
+                }
+            }
+
+            JavaClasses selected = classes.that(predicate);
+
+            assertThat(selected).as("classes that " + predicate.getDescription()).containsOnlyElementsOf(expected).hasSameSizeAs(expected);
+            assertThat(selected.getDescription()).isEqualTo("classes that " + predicate.getDescription());
+        }
+    }
+
+    @Test
+    public void restriction_on_classes_via_indexes_only_tests_candidates() {
+        final List<JavaClass> testedClasses = new ArrayList<>();
+        DescribedPredicate<JavaClass> recordTestedClasses = new DescribedPredicate<JavaClass>("are recorded") {
+            @Override
+            public boolean apply(JavaClass input) {
+                testedClasses.add(input);
+                return true;
+            }
+        };
+
+        JavaClasses selected = ALL_CLASSES.that(simpleNameEndingWith("OtherClass").and(recordTestedClasses));
+
+        assertThat(selected).containsExactly(SOME_OTHER_CLASS);
+        assertThat(testedClasses).containsExactly(SOME_OTHER_CLASS);
+    }
+
+    @Test
+    public void restriction_on_classes_evaluates_equal_cacheable_predicates_only_once() {
+        JavaClasses classes = importClassesWithContext(SomeClass.class, SomeOtherClass.class);
+        List<JavaClass> testedClasses = new ArrayList<>();
+
+        classes.that(new RecordingCacheablePredicate("SomeClass", testedClasses));
+        JavaClasses selected = classes.that(new RecordingCacheablePredicate("SomeClass", testedClasses).as("customized"));
+
+        assertThat(selected).containsExactly(classes.get(SomeClass.class));
+        assertThat(testedClasses).containsOnly(classes.get(SomeClass.class), classes.get(SomeOtherClass.class)).hasSize(2);
+    }
+
+    @Test
+    public void restriction_on_restricted_classes_evaluates_cacheable_predicates_only_once_per_class() {
+        JavaClasses classes = importClassesWithContext(SomeClass.class, SomeOtherClass.class);
+        List<JavaClass> testedClasses = new ArrayList<>();
+
+        classes.that(haveTheNameOf(SomeClass.class)).that(new RecordingCacheablePredicate("Class", testedClasses));
+        assertThat(testedClasses).containsExactly(classes.get(SomeClass.class));
+
+        JavaClasses selected = classes.that(new RecordingCacheablePredicate("Class", testedClasses));
+        assertThat(testedClasses).containsExactly(classes.get(SomeClass.class), classes.get(SomeOtherClass.class));
+        assertThat(selected).containsOnly(classes.get(SomeClass.class), classes.get(SomeOtherClass.class));
+    }
+
+    @Test
+    public void restriction_on_restricted_classes_only_tests_the_remaining_classes() {
+        final List<JavaClass> testedClasses = new ArrayList<>();
+        DescribedPredicate<JavaClass> recordTestedClasses = new DescribedPredicate<JavaClass>("are recorded") {
+            @Override
+            public boolean apply(JavaClass input) {
+                testedClasses.add(input);
+                return true;
+            }
+        };
+
+        JavaClasses selected = ALL_CLASSES.that(haveTheNameOf(SomeClass.class)).that(recordTestedClasses);
+
+        assertThat(selected).containsExactly(SOME_CLASS);
+        assertThat(testedClasses).containsExactly(SOME_CLASS);
+        assertThat(selected.contain(SomeClass.class)).isTrue();
+        assertThat(selected.contain(SomeOtherClass.class)).isFalse();
+        assertThat(selected.contains(SOME_OTHER_CLASS)).isFalse();
+    }
+
+    @Test
+    public void union_and_intersection_of_restricted_classes() {
+        JavaClasses onlySomeClass = ALL_CLASSES.that(haveTheNameOf(SomeClass.class));
+        JavaClasses onlySomeOtherClass = ALL_CLASSES.that(haveTheNameOf(SomeOtherClass.class));
+
+        JavaClasses union = onlySomeClass.union(onlySomeOtherClass);
+        assertThat(union).containsOnly(SOME_CLASS, SOME_OTHER_CLASS);
+        assertThat(union.getDescription()).isEqualTo(onlySomeClass.getDescription() + " and " + onlySomeOtherClass.getDescription());
+
+        assertThat(onlySomeClass.intersection(onlySomeOtherClass)).isEmpty();
+        JavaClasses intersection = ALL_CLASSES.intersection(onlySomeClass);
+        assertThat(intersection).containsExactly(SOME_CLASS);
+        assertThat(intersection.getDescription()).isEqualTo("classes that are also " + onlySomeClass.getDescription());
+    }
+
+    @Test
+    public void union_and_intersection_of_independently_imported_classes() {
+        JavaClass object = importClassWithContext(Object.class);
+        JavaClasses otherClasses = JavaClasses.of(ImmutableSet.of(object, importClassWithContext(SomeClass.class)));
+
+        assertThatTypes(ALL_CLASSES.union(otherClasses)).matchInAnyOrder(SomeClass.class, SomeOtherClass.class, Object.class);
+        assertThat(ALL_CLASSES.intersection(otherClasses)).containsExactly(SOME_CLASS);
+        assertThat(otherClasses.intersection(ALL_CLASSES)).containsExactly(otherClasses.get(SomeClass.class));
+    }
+
+    @Test
+    public void copy_contains_the_same_classes_with_the_same_description() {
+        JavaClasses onlySomeClass = ALL_CLASSES.that(haveTheNameOf(SomeClass.class));
+
+        JavaClasses copy = onlySomeClass.copy();
+
+        assertThat(copy).containsExactly(SOME_CLASS);
+        assertThat(copy.contain(SomeOtherClass.class)).isFalse();
+        assertThat(copy.getDescription()).isEqualTo(onlySomeClass.getDescription());
+        assertThat(copy).isEqualTo(onlySomeClass);
+        assertThat(copy.hashCode()).isEqualTo(onlySomeClass.hashCode());
+        assertThat(copy.getPackage(SomeClass.class.getPackage().getName())).isEqualTo(onlySomeClass.getPackage(SomeClass.class.getPackage().getName()));
+    }
+
+    @Test
+    public void restricted_classes_are_equal_if_they_contain_the_same_classes_with_the_same_description() {
+        assertThat(ALL_CLASSES.that(haveTheNameOf(SomeClass.class))).isEqualTo(ALL_CLASSES.that(haveTheNameOf(SomeClass.class)))
+                .isNotEqualTo(ALL_CLASSES.that(haveTheNameOf(SomeOtherClass.class)).as("classes that have the name SomeClass"))
+                .isNotEqualTo(ALL_CLASSES.that(haveTheNameOf(SomeClass.class)).as("changed"));
+    }
+
+    @Test
+    public void built_in_predicates_are_equal_by_structure() {
+        assertThat(resideInAPackage("some.pkg..")).isEqualTo(resideInAnyPackage("some.pkg.."))
+                .isNotEqualTo(resideInAPackage("other.pkg.."));
+        assertThat(simpleNameEndingWith("Test")).isEqualTo(simpleNameEndingWith("Test"))
+                .isNotEqualTo(simpleNameStartingWith("Test"));
+        assertThat(nameMatching(".*").as("customized")).isEqualTo(nameMatching(".*"))
+                .isNotEqualTo(nameMatching(".+"));
+    }
+
     private DescribedPredicate<JavaClass> haveTheNameOf(final Class<?> clazz) {
         return new DescribedPredicate<JavaClass>("have the name " + clazz.getSimpleName()) {
             @Override
@@ -131,6 +298,38 @@ public class JavaClassesTest {
         }
     };
 
+    private static class RecordingCacheablePredicate extends DescribedPredicate<JavaClass> implements CacheablePredicate {
+        private final String simpleNameSuffix;
+        private final List<JavaClass> testedClasses;
+
+        RecordingCacheablePredicate(String simpleNameSuffix, List<JavaClass> testedClasses) {
+            super("have simple name ending with " + simpleNameSuffix);
+            this.simpleNameSuffix = simpleNameSuffix;
+            this.testedClasses = testedClasses;
+        }
+
+        @Override
+        public DescribedPredicate<JavaClass> as(String description, Object... params) {
+            return this;
+        }
+
+        @Override
+        public boolean apply(JavaClass input) {
+            testedClasses.add(input);
+            return input.getSimpleName().endsWith(simpleNameSuffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return simpleNameSuffix.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RecordingCacheablePredicate && ((RecordingCacheablePredicate) obj).simpleNameSuffix.equals(simpleNameSuffix);
+        }
+    }
+
     private static class SomeClass {
     }
 
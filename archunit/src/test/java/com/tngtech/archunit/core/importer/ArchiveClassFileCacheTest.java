@@ -0,0 +1,112 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.net.URI;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source.Md5sum;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.google.common.io.ByteStreams.toByteArray;
+import static com.tngtech.archunit.core.importer.ArchiveClassFileCache.CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME;
+import static com.tngtech.archunit.testutil.TestUtils.newTemporaryFolder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArchiveClassFileCacheTest {
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule()
+            .resolveAdditionalDependenciesFromClassPath(true);
+
+    private final ArchiveClassFileCache cache = new ArchiveClassFileCache(10 * 1024 * 1024);
+    @SuppressWarnings("unused")
+    private ImmutableList<?> typeFromArchive;
+
+    @Test
+    public void caches_contents_of_class_files_within_archives() throws Exception {
+        URI uri = uriOf(ImmutableList.class);
+
+        byte[] contents = cache.read(uri);
+
+        assertThat(contents).isEqualTo(toByteArray(uri.toURL().openStream()));
+        assertThat(cache.read(uri)).isSameAs(contents);
+    }
+
+    @Test
+    public void reads_class_files_within_archives_again_if_archive_was_modified() throws Exception {
+        File jarFile = new File(newTemporaryFolder(), "test.jar");
+        new TestJarFile().withEntry(classFileResource(getClass())).create(jarFile).close();
+        URI uri = URI.create("jar:" + jarFile.toURI() + "!/" + classFileResource(getClass()));
+
+        byte[] contents = cache.read(uri);
+        assertThat(cache.read(uri)).isSameAs(contents);
+
+        assertThat(jarFile.setLastModified(jarFile.lastModified() - 10000)).as("last modified was changed").isTrue();
+
+        assertThat(cache.read(uri)).isNotSameAs(contents).isEqualTo(contents);
+    }
+
+    @Test
+    public void does_not_keep_more_contents_than_the_configured_maximum_size() throws Exception {
+        URI uri = uriOf(ImmutableList.class);
+        ArchiveClassFileCache tooSmallCache = new ArchiveClassFileCache(toByteArray(uri.toURL().openStream()).length - 1);
+
+        byte[] contents = tooSmallCache.read(uri);
+
+        assertThat(tooSmallCache.read(uri)).isNotSameAs(contents).isEqualTo(contents);
+    }
+
+    @Test
+    public void does_not_cache_class_files_outside_of_archives() throws Exception {
+        URI uri = uriOf(getClass());
+
+        byte[] contents = cache.read(uri);
+
+        assertThat(contents).isEqualTo(toByteArray(uri.toURL().openStream()));
+        assertThat(cache.read(uri)).isNotSameAs(contents);
+    }
+
+    @Test
+    public void imports_resolve_the_same_classes_with_cached_class_files() {
+        JavaClasses withoutCache = new ClassFileImporter().importClasses(getClass());
+        ArchConfiguration.get().setProperty(CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME, "true");
+
+        for (int i = 0; i < 2; i++) {
+            JavaClass withCache = new ClassFileImporter().importClasses(getClass()).get(getClass());
+
+            assertThat(withCache.getRawSuperclass().get().getName()).isEqualTo(Object.class.getName());
+            assertThat(withCache.getField("cache").getRawType().getMethods())
+                    .hasSameSizeAs(withoutCache.get(getClass()).getField("cache").getRawType().getMethods());
+            assertThat(withCache.getField("archConfigurationRule").getRawType().getSource().get().getUri())
+                    .isEqualTo(withoutCache.get(getClass()).getField("archConfigurationRule").getRawType().getSource().get().getUri());
+        }
+    }
+
+    @Test
+    public void md5_sums_of_classes_are_calculated_from_cached_class_files() {
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
+        Md5sum withoutCache = md5SumOfTypeFromArchive();
+
+        ArchConfiguration.get().setProperty(CACHE_ARCHIVE_CLASS_FILES_PROPERTY_NAME, "true");
+
+        assertThat(md5SumOfTypeFromArchive()).isEqualTo(withoutCache);
+        assertThat(withoutCache.asBytes()).isNotEmpty();
+    }
+
+    private Md5sum md5SumOfTypeFromArchive() {
+        return new ClassFileImporter().importClasses(getClass()).get(getClass())
+                .getField("typeFromArchive").getRawType().getSource().get().getMd5sum();
+    }
+
+    private static URI uriOf(Class<?> clazz) throws Exception {
+        return clazz.getResource(clazz.getSimpleName() + ".class").toURI();
+    }
+
+    private static String classFileResource(Class<?> clazz) {
+        return String.format("/%s.class", clazz.getName().replace('.', '/'));
+    }
+}
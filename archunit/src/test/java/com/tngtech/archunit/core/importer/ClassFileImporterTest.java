@@ -11,6 +11,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -18,7 +19,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.AccessTarget.CodeUnitAccessTarget;
+import com.tngtech.archunit.core.domain.Dependency;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaEnumConstant;
@@ -28,6 +31,7 @@ import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.domain.JavaPackage;
 import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.testexamples.OtherClass;
 import com.tngtech.archunit.core.importer.testexamples.SomeClass;
 import com.tngtech.archunit.core.importer.testexamples.SomeEnum;
@@ -80,6 +84,7 @@ import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 import org.apache.logging.log4j.Level;
 import org.assertj.core.api.Condition;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -98,6 +103,7 @@ import static com.tngtech.archunit.core.domain.SourceTest.bytesAt;
 import static com.tngtech.archunit.core.domain.TestUtils.MD5_SUM_DISABLED;
 import static com.tngtech.archunit.core.domain.TestUtils.md5sumOf;
 import static com.tngtech.archunit.core.domain.properties.HasName.Utils.namesOf;
+import static com.tngtech.archunit.core.importer.ClassFileImporter.ImportDepth.DECLARATIONS_ONLY;
 import static com.tngtech.archunit.core.importer.ClassFileImporterTestUtils.findAnyByName;
 import static com.tngtech.archunit.core.importer.ClassFileImporterTestUtils.jarFileOf;
 import static com.tngtech.archunit.testutil.Assertions.assertThat;
@@ -112,6 +118,7 @@ import static com.tngtech.archunit.testutil.TestUtils.urlOf;
 import static com.tngtech.archunit.testutil.assertion.ExpectedConcreteType.ExpectedConcreteParameterizedType.parameterizedType;
 import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assume.assumeTrue;
 
 @RunWith(DataProviderRunner.class)
@@ -783,6 +790,149 @@ public class ClassFileImporterTest {
         assertThat(clazz.getRawSuperclass().get().getMethods()).isEmpty();
     }
 
+    @Test
+    public void resolving_missing_dependencies_in_parallel_imports_the_same_classes() {
+        ArchConfiguration.get().unsetClassResolver();
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+        Set<String> sequentiallyResolved = describeAllClassesResolvedFrom(getClass());
+
+        ArchConfiguration.get().setProperty("import.dependencyResolutionProcess.parallelism", "4");
+        Set<String> resolvedInParallel = describeAllClassesResolvedFrom(getClass());
+
+        assertThat(resolvedInParallel).isNotEmpty().isEqualTo(sequentiallyResolved);
+    }
+
+    @Test
+    public void resolves_missing_dependencies_in_parallel_only_if_class_resolver_is_thread_safe() {
+        ArchConfiguration.get().setProperty("import.dependencyResolutionProcess.parallelism", "4");
+
+        ArchConfiguration.get().setClassResolver(ThreadRecordingClassResolver.class);
+        ThreadRecordingClassResolver.threadNames.clear();
+        new ClassFileImporter().importClass(getClass());
+
+        assertThat(ThreadRecordingClassResolver.threadNames).containsOnly(Thread.currentThread().getName());
+
+        ArchConfiguration.get().setClassResolver(ThreadSafeThreadRecordingClassResolver.class);
+        ThreadRecordingClassResolver.threadNames.clear();
+        new ClassFileImporter().importClass(getClass());
+
+        assertThat(ThreadRecordingClassResolver.threadNames).contains("archunit-dependency-resolution-0");
+    }
+
+    private Set<String> describeAllClassesResolvedFrom(Class<?> clazz) {
+        Set<String> result = new HashSet<>();
+        for (Dependency dependency : new ClassFileImporter().importClass(clazz).getDirectDependenciesFromSelf()) {
+            JavaClass javaClass = dependency.getTargetClass();
+            result.add(javaClass.getName() + ": " + javaClass.getModifiers() + " " + namesOf(javaClass.getRawInterfaces()));
+            for (JavaMethod method : javaClass.getMethods()) {
+                result.add(method.getFullName() + ": " + method.getRawReturnType().getName());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void imports_only_declarations_if_configured() {
+        JavaClass fullyImported = new ClassFileImporter().importClass(getClass());
+        JavaClass declarationsOnly = new ClassFileImporter().withImportDepth(DECLARATIONS_ONLY).importClass(getClass());
+
+        assertThat(namesOf(declarationsOnly.getRawInterfaces())).isEqualTo(namesOf(fullyImported.getRawInterfaces()));
+        assertThat(declarationsOnly.getFields()).hasSameSizeAs(fullyImported.getFields());
+        assertThat(declarationsOnly.getMethods()).hasSameSizeAs(fullyImported.getMethods());
+        assertThat(declarationsOnly.getMethod("imports_only_declarations_if_configured").isAnnotatedWith(Test.class)).isTrue();
+
+        assertThat(fullyImported.getAccessesFromSelf()).isNotEmpty();
+        assertThat(declarationsOnly.getDirectDependenciesFromSelf()).isNotEmpty();
+    }
+
+    @Test
+    public void accessing_code_of_classes_imported_only_with_declarations_fails() {
+        final JavaClass declarationsOnly = new ClassFileImporter().withImportDepth(DECLARATIONS_ONLY).importClass(getClass());
+
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                declarationsOnly.getAccessesFromSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(getClass().getName())
+                .hasMessageContaining("DECLARATIONS_ONLY");
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                declarationsOnly.getMethodCallsFromSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                declarationsOnly.getAccessesToSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                declarationsOnly.getInstanceofChecks();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                declarationsOnly.getReferencedClassObjects();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void accessing_code_of_members_imported_only_with_declarations_fails() {
+        JavaClass declarationsOnly = new ClassFileImporter().withImportDepth(DECLARATIONS_ONLY).importClass(getClass());
+        final JavaMethod method = declarationsOnly.getMethod("accessing_code_of_members_imported_only_with_declarations_fails");
+        final JavaField field = declarationsOnly.getField("temporaryFolder");
+
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                method.getInstanceofChecks();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(method.getFullName())
+                .hasMessageContaining("DECLARATIONS_ONLY");
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                method.getAccessesFromSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                method.getCallsOfSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                field.getAccessesToSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DataProvider(value = {"true", "false"})
+    public void accessing_code_of_classes_resolved_during_import_only_with_declarations_fails(boolean resolveFromClassPath) {
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(resolveFromClassPath);
+        JavaClass declarationsOnly = new ClassFileImporter().withImportDepth(DECLARATIONS_ONLY).importClass(getClass());
+        final JavaClass resolvedClass = declarationsOnly.getField("temporaryFolder").getRawType();
+
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                resolvedClass.getAccessesToSelf();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(TemporaryFolder.class.getName());
+    }
+
     @Test
     public void import_is_resilient_against_broken_class_files() throws Exception {
         Class<?> expectedClass = getClass();
@@ -932,4 +1082,21 @@ public class ClassFileImporterTest {
             }
         };
     }
+
+    public static class ThreadRecordingClassResolver implements ClassResolver {
+        static final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+
+        @Override
+        public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        }
+
+        @Override
+        public Optional<JavaClass> tryResolve(String typeName) {
+            threadNames.add(Thread.currentThread().getName());
+            return Optional.empty();
+        }
+    }
+
+    public static class ThreadSafeThreadRecordingClassResolver extends ThreadRecordingClassResolver implements ClassResolver.ThreadSafe {
+    }
 }
@@ -4,16 +4,23 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarFile;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -22,9 +29,11 @@ import org.junit.runner.RunWith;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.google.common.io.ByteStreams.toByteArray;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(DataProviderRunner.class)
 public class ClassFileSourceTest {
@@ -32,6 +41,8 @@ public class ClassFileSourceTest {
 
     @Rule
     public final TemporaryFolder tempDir = new TemporaryFolder();
+    @Rule
+    public final ArchConfigurationRule archConfigurationRule = new ArchConfigurationRule();
 
     @DataProvider
     public static Object[][] expected_classes() {
@@ -54,7 +65,11 @@ public class ClassFileSourceTest {
 
                 $(ImmutableSet.of("/one/Foo.class", "/one/Bar.class", "/two/Bar.class"),
                         locationContains("notthere"),
-                        ImmutableSet.of()));
+                        ImmutableSet.of()),
+
+                $(ImmutableSet.of("/one/Foo.class", "/one/Bar.class", "/two/Bar.class", "/two/sub/Foo.class"),
+                        excludeAllBeneath("/two/"),
+                        ImmutableSet.of("/one/Foo.class", "/one/Bar.class")));
     }
 
     @Test
@@ -89,6 +104,36 @@ public class ClassFileSourceTest {
         assertSourceMatches(source, expectedIncluded);
     }
 
+    @Test
+    @UseDataProvider("expected_classes")
+    public void classes_from_file_path_are_filtered_if_scanned_in_parallel(
+            Set<String> givenFiles, ImportOptions importOptions, final Set<String> expectedIncluded) throws IOException {
+        ArchConfiguration.get().setProperty(ClassFileDirectoryScanner.DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME, "3");
+
+        classes_from_file_path_are_filtered(givenFiles, importOptions, expectedIncluded);
+    }
+
+    @Test
+    public void errors_while_scanning_file_path_in_parallel_are_not_swallowed() throws IOException {
+        ArchConfiguration.get().setProperty(ClassFileDirectoryScanner.DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME, "3");
+        File dir = tempDir.newFolder();
+        createDummyclassFileIn(tempDir.newFolder(dir.getName(), "sub"));
+
+        final ClassFileSource source = Location.of(dir.toPath()).asClassFileSource(new ImportOptions().with(new ImportOption() {
+            @Override
+            public boolean includes(Location location) {
+                throw new NoClassDefFoundError("simulated");
+            }
+        }));
+
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                Iterables.size(source);
+            }
+        }).isInstanceOf(NoClassDefFoundError.class).hasMessage("simulated");
+    }
+
     @Test
     public void filters_out_module_infos_in_Jar_location() {
         String onlyExpectedEntry = "pkg/Some.class";
@@ -134,6 +179,34 @@ public class ClassFileSourceTest {
         checkAllElementsCanBeRead(classFileSource);
     }
 
+    @Test
+    public void reads_classes_in_JAR_in_parallel_in_the_same_order_and_with_the_same_contents() throws IOException {
+        URL jarUrl = new URL(getClass().getResource("/com/google/common/collect/ImmutableList.class").toString().split("!/")[0] + "!/");
+        Map<URI, byte[]> sequentiallyRead = readAll(new ClassFileSource.FromJar(jarUrl, "com/google/common/collect", new ImportOptions()));
+
+        ArchConfiguration.get().setProperty(ClassFileSource.FromJar.JAR_READ_PARALLELISM_PROPERTY_NAME, "3");
+        ClassFileSource source = new ClassFileSource.FromJar(jarUrl, "com/google/common/collect", new ImportOptions());
+
+        for (int i = 0; i < 2; i++) {
+            Map<URI, byte[]> readInParallel = readAll(source);
+
+            assertThat(readInParallel.keySet()).hasSize(sequentiallyRead.size()).containsExactlyElementsOf(sequentiallyRead.keySet());
+            for (Map.Entry<URI, byte[]> entry : sequentiallyRead.entrySet()) {
+                assertThat(readInParallel.get(entry.getKey())).as("contents of " + entry.getKey()).isEqualTo(entry.getValue());
+            }
+        }
+    }
+
+    private Map<URI, byte[]> readAll(ClassFileSource source) throws IOException {
+        Map<URI, byte[]> result = new LinkedHashMap<>();
+        for (ClassFileLocation location : source) {
+            try (InputStream inputStream = location.openStream()) {
+                result.put(location.getUri(), toByteArray(inputStream));
+            }
+        }
+        return result;
+    }
+
     @SuppressWarnings("EmptyTryBlock")
     private void checkAllElementsCanBeRead(ClassFileSource classFileSource) {
         for (ClassFileLocation location : classFileSource) {
@@ -181,6 +254,21 @@ public class ClassFileSourceTest {
         });
     }
 
+    private static ImportOptions excludeAllBeneath(final String part) {
+        return new ImportOptions().with(new ImportOption.Hierarchical() {
+            @Override
+            public Decision decideBeneath(Location location) {
+                return location.contains(part) ? Decision.EXCLUDE_ALL : Decision.DECIDE_PER_CLASS_FILE;
+            }
+
+            @Override
+            public boolean includes(Location location) {
+                checkArgument(!location.contains(part), "Class file %s beneath excluded location should have been skipped", location);
+                return true;
+            }
+        });
+    }
+
     private static final Comparator<Object> MATCH_IF_EXPECTED_IS_SUBSTRING = new Comparator<Object>() {
         @Override
         public int compare(Object uri, Object expectedSub) {
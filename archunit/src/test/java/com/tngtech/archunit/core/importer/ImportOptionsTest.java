@@ -12,6 +12,7 @@ import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludeArchives;
 import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludeJars;
 import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludePackageInfos;
 import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludeTests;
+import com.tngtech.archunit.core.importer.ImportOption.Hierarchical.Decision;
 import com.tngtech.archunit.core.importer.ImportOption.OnlyIncludeTests;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -123,6 +124,21 @@ public class ImportOptionsTest {
                 .as("includes location %s", targetFile.getAbsolutePath()).isEqualTo(expectedInclude);
     }
 
+    @Test
+    @UseDataProvider("test_location_predicates_and_expected_folder_patterns")
+    public void decides_beneath_output_folders_consistently_with_includes(
+            ImportOption testLocationOption, String[] folderName, boolean expectedInclude) throws IOException {
+
+        File folder = temporaryFolder.newFolder(folderName);
+
+        Decision decision = ((ImportOption.Hierarchical) testLocationOption).decideBeneath(Location.of(folder.toPath()));
+
+        if (decision != Decision.DECIDE_PER_CLASS_FILE) {
+            assertThat(decision == Decision.INCLUDE_ALL)
+                    .as("includes all beneath %s", folder.getAbsolutePath()).isEqualTo(expectedInclude);
+        }
+    }
+
     @DataProvider
     public static Object[][] do_not_include_jars() {
         return testForEach(new DoNotIncludeJars(), DO_NOT_INCLUDE_JARS);
@@ -142,6 +158,16 @@ public class ImportOptionsTest {
                 .isEqualTo(!comesFromJarArchive(Object.class));
     }
 
+    @Test
+    @UseDataProvider("do_not_include_jars")
+    public void decides_beneath_Jars_correctly(ImportOption doNotIncludeJars) {
+        Decision decisionForFolder = ((ImportOption.Hierarchical) doNotIncludeJars).decideBeneath(locationOf(getClass()));
+        Decision decisionForJar = ((ImportOption.Hierarchical) doNotIncludeJars).decideBeneath(locationOf(Rule.class));
+
+        assertThat(decisionForFolder).as("decision for file location").isEqualTo(Decision.INCLUDE_ALL);
+        assertThat(decisionForJar).as("decision for Jar location").isEqualTo(Decision.EXCLUDE_ALL);
+    }
+
     @DataProvider
     public static Object[][] do_not_include_archives() {
         return testForEach(new DoNotIncludeArchives(), DO_NOT_INCLUDE_ARCHIVES);
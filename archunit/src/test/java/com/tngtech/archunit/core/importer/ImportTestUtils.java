@@ -338,6 +338,7 @@ public class ImportTestUtils {
                             return Optional.empty();
                         }
                     },
+                    true,
                     new MethodReturnTypeGetter() {
                         @Override
                         public Optional<JavaClass> getReturnType(String declaringClassName, String methodName) {
@@ -0,0 +1,131 @@
+package com.tngtech.archunit.core.instrumentation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.testutil.ArchConfigurationRule;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.simpleNameEndingWith;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter.ACCESSES;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Counter.CLASSES;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.COMPLETE;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.INDEX;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.PARSE;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.RESOLVE;
+import static com.tngtech.archunit.core.instrumentation.ArchInstrumentation.Phase.SCAN;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InstrumentationFactoryTest {
+    @Rule
+    public final ArchConfigurationRule configurationRule = new ArchConfigurationRule();
+
+    @Test
+    public void instrumentation_does_nothing_by_default() {
+        assertThat(InstrumentationFactory.getArchInstrumentation().isPresent()).isFalse();
+
+        ArchConfiguration.get().setProperty("instrumentation.enabled", "true");
+
+        assertThat(InstrumentationFactory.getArchInstrumentation().get()).isInstanceOf(ReportingInstrumentation.class);
+        assertThat(InstrumentationFactory.get().isEnabled()).isTrue();
+    }
+
+    @Test
+    public void records_import_and_rule_evaluation() {
+        ArchConfiguration.get().setProperty("instrumentation.enabled", "true");
+        ArchConfiguration.get().setProperty("instrumentation.implementation", RecordingInstrumentation.class.getName());
+        ArchConfiguration.get().setProperty("instrumentation.some.prop", "value");
+        RecordingInstrumentation instrumentation = (RecordingInstrumentation) InstrumentationFactory.getArchInstrumentation().get();
+
+        JavaClasses classes = new ClassFileImporter().importClasses(InstrumentationFactoryTest.class, RecordingInstrumentation.class);
+        classes.that(simpleNameEndingWith("Test"));
+        classes().should().bePublic().as("classes are public").evaluate(classes);
+
+        assertThat(instrumentation.properties.getProperty("some.prop")).isEqualTo("value");
+        assertThat(instrumentation.phases.keySet()).contains(SCAN, PARSE, RESOLVE, COMPLETE, INDEX);
+        assertThat(instrumentation.counts.get(CLASSES)).isEqualTo(2);
+        assertThat(instrumentation.counts.get(ACCESSES)).isPositive();
+        assertThat(instrumentation.evaluatedRules).containsExactly("classes are public");
+        assertThat(InstrumentationFactory.getArchInstrumentation().get()).as("instrumentation created once").isSameAs(instrumentation);
+    }
+
+    @Test
+    public void rejects_instrumentation_that_cannot_be_instantiated() {
+        ArchConfiguration.get().setProperty("instrumentation.enabled", "true");
+        ArchConfiguration.get().setProperty("instrumentation.implementation", "not.There");
+
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                InstrumentationFactory.get();
+            }
+        }).isInstanceOf(InstrumentationInitializationFailedException.class)
+                .hasMessageContaining("instrumentation.implementation=not.There");
+    }
+
+    @Test
+    public void reports_aggregated_timings() {
+        ReportingInstrumentation instrumentation = new ReportingInstrumentation();
+        instrumentation.onPhaseFinished(PARSE, 2_000_000);
+        instrumentation.onPhaseFinished(PARSE, 3_000_000);
+        instrumentation.onCount(CLASSES, 5);
+        instrumentation.onCount(CLASSES, 7);
+        instrumentation.onRuleEvaluated("fast \"rule\"", 1_000_000);
+        instrumentation.onRuleEvaluated("slow rule", 4_000_000);
+        instrumentation.onRuleEvaluated("slow rule", 6_000_000);
+
+        assertThat(instrumentation.createSummary())
+                .contains("parse 5 ms")
+                .contains("Imported 12 classes (0 resolved classes, 0 accesses)")
+                .contains("10 ms (2 evaluations): slow rule");
+        assertThat(instrumentation.toJson()).isEqualTo(String.format("{%n"
+                + "  \"phases\": {%n"
+                + "    \"parse\": {\"count\": 2, \"totalNanos\": 5000000, \"maxNanos\": 3000000}%n"
+                + "  },%n"
+                + "  \"counts\": {%n"
+                + "    \"classes\": 12%n"
+                + "  },%n"
+                + "  \"rules\": [%n"
+                + "    {\"rule\": \"slow rule\", \"count\": 2, \"totalNanos\": 10000000, \"maxNanos\": 6000000},%n"
+                + "    {\"rule\": \"fast \\\"rule\\\"\", \"count\": 1, \"totalNanos\": 1000000, \"maxNanos\": 1000000}%n"
+                + "  ]%n"
+                + "}"));
+    }
+
+    public static class RecordingInstrumentation implements ArchInstrumentation {
+        private Properties properties;
+        private final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+        private final Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+        private final List<String> evaluatedRules = new ArrayList<>();
+
+        @Override
+        public void initialize(Properties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public synchronized void onPhaseFinished(Phase phase, long durationNanos) {
+            phases.put(phase, durationNanos);
+        }
+
+        @Override
+        public synchronized void onCount(Counter counter, long value) {
+            counts.put(counter, value);
+        }
+
+        @Override
+        public synchronized void onRuleEvaluated(String ruleDescription, long durationNanos) {
+            evaluatedRules.add(ruleDescription);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.tngtech.archunit.lang.extension;
 
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.ArchConfiguration;
@@ -16,9 +20,11 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
 import static com.tngtech.archunit.testutil.TestUtils.properties;
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class ArchUnitExtensionsTest {
@@ -128,7 +134,110 @@ public class ArchUnitExtensionsTest {
         evaluateExtensionAndVerifyLog(expectedExceptionMessage, evilExtension);
     }
 
-    private TestExtension enabled(TestExtension extension) {
+    @Test
+    public void asynchronously_dispatched_extensions_are_configured_once_and_receive_all_rules_in_order() {
+        enableAsynchronousDispatch(10);
+        RecordingExtension extension = enabled(new RecordingExtension("async"));
+        when(extensionLoader.getAll()).thenReturn(ImmutableSet.<ArchUnitExtension>of(extension));
+        EvaluatedRule first = mock(EvaluatedRule.class);
+        EvaluatedRule second = mock(EvaluatedRule.class);
+        EvaluatedRule third = mock(EvaluatedRule.class);
+
+        extensions.dispatch(first);
+        extensions.dispatch(second);
+        extensions.dispatch(third);
+        extensions.flush();
+
+        assertThat(extension.numberOfConfigurations.get()).as("number of configurations").isEqualTo(1);
+        assertThat(extension.handledRules).containsExactly(first, second, third);
+    }
+
+    @Test
+    public void exception_during_asynchronous_dispatch_does_not_affect_other_extensions() {
+        enableAsynchronousDispatch(10);
+        TestExtension evilExtension = enabled(new TestExtension("evil") {
+            @Override
+            public void handle(EvaluatedRule evaluatedRule) {
+                throw new TestException("Bummer");
+            }
+        });
+        RecordingExtension goodExtension = enabled(new RecordingExtension("good"));
+        when(extensionLoader.getAll()).thenReturn(ImmutableSet.<ArchUnitExtension>of(evilExtension, goodExtension));
+        logTestRule.watch(AsynchronousExtensionDispatcher.class, Level.WARN);
+
+        extensions.dispatch(evaluatedRule);
+        extensions.dispatch(evaluatedRule);
+        extensions.flush();
+
+        assertThat(goodExtension.handledRules).containsExactly(evaluatedRule, evaluatedRule);
+        logTestRule.assertLogMessage(Level.WARN, evilExtension.getUniqueIdentifier());
+        logTestRule.assertException(Level.WARN, TestException.class, "Bummer");
+    }
+
+    @Test
+    public void error_during_asynchronous_dispatch_does_not_stop_dispatching() {
+        enableAsynchronousDispatch(1);
+        TestExtension evilExtension = enabled(new TestExtension("evil") {
+            @Override
+            public void handle(EvaluatedRule evaluatedRule) {
+                throw new StackOverflowError("Bummer");
+            }
+        });
+        RecordingExtension goodExtension = enabled(new RecordingExtension("good"));
+        when(extensionLoader.getAll()).thenReturn(ImmutableSet.<ArchUnitExtension>of(evilExtension, goodExtension));
+        logTestRule.watch(AsynchronousExtensionDispatcher.class, Level.WARN);
+
+        for (int i = 0; i < 5; i++) {
+            extensions.dispatch(evaluatedRule);
+        }
+        extensions.flush();
+
+        assertThat(goodExtension.handledRules).hasSize(5);
+        logTestRule.assertException(Level.WARN, StackOverflowError.class, "Bummer");
+    }
+
+    @Test
+    public void asynchronous_dispatch_blocks_callers_if_queue_is_full() throws InterruptedException {
+        enableAsynchronousDispatch(1);
+        final CountDownLatch handlingStarted = new CountDownLatch(1);
+        final CountDownLatch continueHandling = new CountDownLatch(1);
+        RecordingExtension slowExtension = enabled(new RecordingExtension("slow") {
+            @Override
+            public void handle(EvaluatedRule evaluatedRule) {
+                handlingStarted.countDown();
+                awaitUninterruptibly(continueHandling);
+                super.handle(evaluatedRule);
+            }
+        });
+        when(extensionLoader.getAll()).thenReturn(ImmutableSet.<ArchUnitExtension>of(slowExtension));
+
+        extensions.dispatch(evaluatedRule);
+        handlingStarted.await();
+        extensions.dispatch(evaluatedRule);
+        Thread blockedCaller = new Thread() {
+            @Override
+            public void run() {
+                extensions.dispatch(evaluatedRule);
+            }
+        };
+        blockedCaller.start();
+        blockedCaller.join(200);
+
+        assertThat(blockedCaller.isAlive()).as("caller is blocked while queue is full").isTrue();
+
+        continueHandling.countDown();
+        blockedCaller.join();
+        extensions.flush();
+
+        assertThat(slowExtension.handledRules).hasSize(3);
+    }
+
+    private void enableAsynchronousDispatch(int queueCapacity) {
+        ArchConfiguration.get().setProperty(ArchUnitExtensions.ASYNC_DISPATCH_PROPERTY_NAME, "true");
+        ArchConfiguration.get().setProperty(ArchUnitExtensions.QUEUE_CAPACITY_PROPERTY_NAME, String.valueOf(queueCapacity));
+    }
+
+    private <T extends TestExtension> T enabled(T extension) {
         ArchConfiguration.get().configureExtension(extension.getUniqueIdentifier()).setProperty("enabled", true);
         return extension;
     }
@@ -150,6 +259,27 @@ public class ArchUnitExtensionsTest {
         logTestRule.assertException(Level.WARN, TestException.class, expectedExceptionMessage);
     }
 
+    private static class RecordingExtension extends TestExtension {
+        private final AtomicInteger numberOfConfigurations = new AtomicInteger();
+        private final List<EvaluatedRule> handledRules = new CopyOnWriteArrayList<>();
+
+        RecordingExtension(String identifier) {
+            super(identifier);
+        }
+
+        @Override
+        public void configure(Properties properties) {
+            numberOfConfigurations.incrementAndGet();
+            super.configure(properties);
+        }
+
+        @Override
+        public void handle(EvaluatedRule evaluatedRule) {
+            handledRules.add(evaluatedRule);
+            super.handle(evaluatedRule);
+        }
+    }
+
     private static class TestException extends RuntimeException {
         TestException(String message) {
             super(message);
@@ -0,0 +1,56 @@
+package com.tngtech.archunit.library.dependencies;
+
+import org.junit.Test;
+
+import static com.tngtech.archunit.library.dependencies.PrimitiveGraph.NO_EDGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveGraphTest {
+    @Test
+    public void groups_edges_by_origin_with_targets_in_ascending_order() {
+        PrimitiveGraph.Builder builder = PrimitiveGraph.builder(6);
+        builder.addEdge(3, 5);
+        builder.addEdge(1, 3);
+        builder.addEdge(1, 2);
+
+        PrimitiveGraph graph = builder.build();
+
+        assertThat(graph.getSize()).isEqualTo(6);
+        assertThat(graph.getNumberOfEdges()).isEqualTo(3);
+        assertThat(graph.getAdjacentNodesOf(0)).isEmpty();
+        assertThat(graph.getAdjacentNodesOf(1)).containsExactly(2, 3);
+        assertThat(graph.getAdjacentNodesOf(3)).containsExactly(5);
+        assertThat(graph.getAdjacentNodesOf(5)).isEmpty();
+    }
+
+    @Test
+    public void edges_keep_the_id_they_were_added_with() {
+        PrimitiveGraph.Builder builder = PrimitiveGraph.builder(3);
+        int firstId = builder.addEdge(2, 0);
+        int secondId = builder.addEdge(0, 2);
+        int thirdId = builder.addEdge(0, 1);
+
+        PrimitiveGraph graph = builder.build();
+
+        assertThat(graph.getEdgeId(2, 0)).isEqualTo(firstId).isEqualTo(0);
+        assertThat(graph.getEdgeId(0, 2)).isEqualTo(secondId).isEqualTo(1);
+        assertThat(graph.getEdgeId(0, 1)).isEqualTo(thirdId).isEqualTo(2);
+        assertThat(graph.getEdgeId(1, 0)).isEqualTo(NO_EDGE);
+    }
+
+    @Test
+    public void reverses_edges_keeping_their_ids() {
+        PrimitiveGraph.Builder builder = PrimitiveGraph.builder(3);
+        builder.addEdge(0, 1);
+        builder.addEdge(0, 2);
+        builder.addEdge(1, 2);
+
+        PrimitiveGraph reversed = builder.build().reverse();
+
+        assertThat(reversed.getAdjacentNodesOf(0)).isEmpty();
+        assertThat(reversed.getAdjacentNodesOf(1)).containsExactly(0);
+        assertThat(reversed.getAdjacentNodesOf(2)).containsExactly(0, 1);
+        assertThat(reversed.getEdgeId(2, 0)).isEqualTo(1);
+        assertThat(reversed.getEdgeId(2, 1)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tngtech.archunit.library.dependencies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveReachabilityTest {
+    @Test
+    public void nodes_reach_all_transitive_successors() {
+        // 0 -> 1 -> 2, 0 -> 3
+        PrimitiveReachability reachability = PrimitiveReachability.of(graph(4, new int[][]{{0, 1}, {1, 2}, {0, 3}}));
+
+        assertThat(reachability.getReachableNodes(0)).containsExactly(1, 2, 3);
+        assertThat(reachability.getReachableNodes(1)).containsExactly(2);
+        assertThat(reachability.getReachableNodes(2)).isEmpty();
+        assertThat(reachability.getNumberOfReachableNodes(0)).isEqualTo(3);
+        assertThat(reachability.canReach(0, 0)).as("node without cycle reaches itself").isFalse();
+    }
+
+    @Test
+    public void nodes_of_a_cycle_reach_each_other_and_themselves() {
+        // 0 -> 1 -> 2 -> 1, 2 -> 3, 4 -> 4
+        PrimitiveReachability reachability = PrimitiveReachability.of(graph(5, new int[][]{{0, 1}, {1, 2}, {2, 1}, {2, 3}, {4, 4}}));
+
+        assertThat(reachability.getReachableNodes(0)).containsExactly(1, 2, 3);
+        assertThat(reachability.getReachableNodes(1)).containsExactly(1, 2, 3);
+        assertThat(reachability.getReachableNodes(2)).containsExactly(1, 2, 3);
+        assertThat(reachability.getReachableNodes(4)).containsExactly(4);
+    }
+
+    @Test
+    public void handles_long_paths_without_recursion() {
+        int size = 100_000;
+        int[][] edges = new int[size - 1][];
+        for (int i = 0; i < size - 1; i++) {
+            edges[i] = new int[]{i, i + 1};
+        }
+
+        PrimitiveReachability reachability = PrimitiveReachability.of(graph(size, edges));
+
+        assertThat(reachability.getNumberOfReachableNodes(0)).isEqualTo(size - 1);
+        assertThat(reachability.canReach(0, size - 1)).isTrue();
+        assertThat(reachability.canReach(size - 1, 0)).isFalse();
+    }
+
+    @Test
+    public void matches_depth_first_search_on_random_graphs() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            int size = 1 + random.nextInt(60);
+            List<int[]> edges = new ArrayList<>();
+            for (int i = 0; i < 2 * size; i++) {
+                edges.add(new int[]{random.nextInt(size), random.nextInt(size)});
+            }
+            PrimitiveGraph graph = graph(size, edges.toArray(new int[0][]));
+
+            PrimitiveReachability reachability = PrimitiveReachability.of(graph);
+
+            for (int node = 0; node < size; node++) {
+                assertThat(reachability.getReachableNodes(node)).as("nodes reachable from %d", node)
+                        .isEqualTo(searchReachableNodes(graph, node));
+            }
+        }
+    }
+
+    private static int[] searchReachableNodes(PrimitiveGraph graph, int origin) {
+        boolean[] reached = new boolean[graph.getSize()];
+        search(graph, origin, reached);
+        List<Integer> result = new ArrayList<>();
+        for (int node = 0; node < reached.length; node++) {
+            if (reached[node]) {
+                result.add(node);
+            }
+        }
+        int[] array = new int[result.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = result.get(i);
+        }
+        return array;
+    }
+
+    private static void search(PrimitiveGraph graph, int node, boolean[] reached) {
+        for (int target : graph.getAdjacentNodesOf(node)) {
+            if (!reached[target]) {
+                reached[target] = true;
+                search(graph, target, reached);
+            }
+        }
+    }
+
+    private static PrimitiveGraph graph(int size, int[][] edges) {
+        PrimitiveGraph.Builder builder = PrimitiveGraph.builder(size);
+        for (int[] edge : edges) {
+            builder.addEdge(edge[0], edge[1]);
+        }
+        return builder.build();
+    }
+}
@@ -25,6 +25,7 @@ import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvent;
 import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.testutil.ArchConfigurationRule;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -52,6 +53,7 @@ public class FreezingArchRuleTest {
     private static final String ALLOW_STORE_CREATION_PROPERTY_NAME = "freeze.store.default.allowStoreCreation";
     private static final String ALLOW_STORE_UPDATE_PROPERTY_NAME = "freeze.store.default.allowStoreUpdate";
     private static final String LINE_MATCHER_PROPERTY_NAME = "freeze.lineMatcher";
+    private static final String INCREMENTAL_STATE_PATH_PROPERTY_NAME = "freeze.incremental.path";
 
     @Rule
     public final ArchConfigurationRule configurationRule = new ArchConfigurationRule();
@@ -492,6 +494,95 @@ public class FreezingArchRuleTest {
         freeze(someRule.withViolations("remaining").create()).check(importClasses(getClass()));
     }
 
+    @Test
+    public void only_reevaluates_changed_classes_and_their_dependents_if_evaluating_incrementally() throws IOException {
+        useTemporaryIncrementalStatePath();
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
+        List<String> evaluatedClasses = new ArrayList<>();
+        TestViolationStore violationStore = new TestViolationStore();
+        FreezingArchRule frozen = freeze(ruleRecordingEvaluatedClasses(evaluatedClasses)).persistIn(violationStore).evaluateIncrementally();
+
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependent.class, IncrementalDependency.class, IncrementalUnrelated.class))
+                .hasNoViolation();
+        assertThat(evaluatedClasses).containsOnly("IncrementalDependent", "IncrementalDependency", "IncrementalUnrelated");
+
+        evaluatedClasses.clear();
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependent.class, IncrementalDependency.class, IncrementalUnrelated.class, IncrementalAdded.class))
+                .hasOnlyViolations("violated by IncrementalAdded");
+        assertThat(evaluatedClasses).containsOnly("IncrementalAdded");
+
+        evaluatedClasses.clear();
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependent.class, IncrementalDependency.class, IncrementalUnrelated.class, IncrementalAdded.class))
+                .hasOnlyViolations("violated by IncrementalAdded");
+        assertThat(evaluatedClasses).as("classes evaluated without any change").isEmpty();
+
+        evaluatedClasses.clear();
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependent.class, IncrementalUnrelated.class))
+                .hasNoViolation();
+        assertThat(evaluatedClasses).containsOnly("IncrementalDependent");
+        violationStore.verifyStoredRule("incremental rule", "violated by IncrementalDependent", "violated by IncrementalUnrelated");
+        violationStore.verifyStoredRuleDescriptions("incremental rule");
+    }
+
+    @Test
+    public void reevaluates_classes_depended_on_by_changed_classes_if_evaluating_incrementally() throws IOException {
+        useTemporaryIncrementalStatePath();
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
+        ArchRule rule = classes().that().haveSimpleName(IncrementalDependency.class.getSimpleName())
+                .should().onlyHaveDependentClassesThat().haveSimpleName(IncrementalDependency.class.getSimpleName());
+        FreezingArchRule frozen = freeze(rule).persistIn(new TestViolationStore()).evaluateIncrementally();
+
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependency.class, IncrementalUnrelated.class))
+                .hasNoViolation();
+
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependency.class, IncrementalUnrelated.class, IncrementalDependent.class))
+                .hasOnlyOneViolationMatching(".*" + IncrementalDependent.class.getSimpleName() + ".*" + IncrementalDependency.class.getSimpleName() + ".*");
+
+        assertThatRule(frozen)
+                .checking(importClasses(IncrementalDependency.class, IncrementalUnrelated.class))
+                .hasNoViolation();
+    }
+
+    @Test
+    public void evaluating_incrementally_does_not_update_the_ViolationStore_if_only_classes_have_changed() throws IOException {
+        useTemporaryDefaultStorePath();
+        useTemporaryIncrementalStatePath();
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
+        ArchConfiguration.get().setProperty(ALLOW_STORE_CREATION_PROPERTY_NAME, "true");
+        List<String> evaluatedClasses = new ArrayList<>();
+        ArchRule rule = ruleRecordingEvaluatedClasses(evaluatedClasses);
+
+        freeze(rule).evaluateIncrementally().check(importClasses(IncrementalDependent.class, IncrementalDependency.class));
+
+        ArchConfiguration.get().setProperty(ALLOW_STORE_UPDATE_PROPERTY_NAME, "false");
+        evaluatedClasses.clear();
+        assertThatRule(freeze(rule).evaluateIncrementally())
+                .checking(importClasses(IncrementalDependent.class, IncrementalDependency.class, IncrementalUnrelated.class))
+                .hasOnlyViolations("violated by IncrementalUnrelated");
+        assertThat(evaluatedClasses).containsOnly("IncrementalUnrelated");
+    }
+
+    @Test
+    public void evaluates_all_classes_incrementally_if_md5_sums_are_missing() throws IOException {
+        useTemporaryIncrementalStatePath();
+        ArchConfiguration.get().setMd5InClassSourcesEnabled(false);
+        List<String> evaluatedClasses = new ArrayList<>();
+        FreezingArchRule frozen = freeze(ruleRecordingEvaluatedClasses(evaluatedClasses)).persistIn(new TestViolationStore()).evaluateIncrementally();
+        JavaClasses classes = importClasses(IncrementalDependent.class, IncrementalDependency.class);
+
+        frozen.check(classes);
+        evaluatedClasses.clear();
+        frozen.check(classes);
+
+        assertThat(evaluatedClasses).containsOnly("IncrementalDependent", "IncrementalDependency");
+    }
+
     private void expectStoreUpdateDisabledException() {
         thrown.expect(StoreUpdateFailedException.class);
         thrown.expectMessage("Updating frozen violations is disabled (enable by configuration " + ALLOW_STORE_UPDATE_PROPERTY_NAME + "=true)");
@@ -510,6 +601,21 @@ public class FreezingArchRuleTest {
         ArchConfiguration.get().setProperty(STORE_DEFAULT_PATH_PROPERTY_NAME, folder.getAbsolutePath());
     }
 
+    private void useTemporaryIncrementalStatePath() throws IOException {
+        File folder = temporaryFolder.newFolder();
+        ArchConfiguration.get().setProperty(INCREMENTAL_STATE_PATH_PROPERTY_NAME, folder.getAbsolutePath());
+    }
+
+    private static ArchRule ruleRecordingEvaluatedClasses(final List<String> evaluatedClasses) {
+        return classes().should(new ArchCondition<JavaClass>("be recorded") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents events) {
+                evaluatedClasses.add(javaClass.getSimpleName());
+                events.add(SimpleConditionEvent.violated(javaClass, "violated by " + javaClass.getSimpleName()));
+            }
+        }).as("incremental rule");
+    }
+
     private static RuleCreator rule(String description) {
         return new RuleCreator(description);
     }
@@ -586,6 +692,10 @@ public class FreezingArchRuleTest {
             assertThat(storedRule.violations).containsOnly(violations);
         }
 
+        void verifyStoredRuleDescriptions(String... descriptions) {
+            assertThat(storedRules.keySet()).containsOnly(descriptions);
+        }
+
         void verifyInitializationProperties(String... entries) {
             assertThat(initializationProperties).as("Initialization Properties").isNotNull();
 
@@ -672,4 +782,18 @@ public class FreezingArchRuleTest {
             return new ViolatedEvent(result);
         }
     }
+
+    private static class IncrementalDependency {
+    }
+
+    @SuppressWarnings("unused")
+    private static class IncrementalDependent {
+        IncrementalDependency dependency;
+    }
+
+    private static class IncrementalUnrelated {
+    }
+
+    private static class IncrementalAdded {
+    }
 }
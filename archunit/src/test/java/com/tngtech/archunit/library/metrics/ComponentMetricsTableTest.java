@@ -0,0 +1,95 @@
+package com.tngtech.archunit.library.metrics;
+
+import java.util.Set;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaPackage;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.library.metrics.ComponentMetricsTable.Row;
+import com.tngtech.archunit.library.metrics.testobjects.componentdependency.simple.SimpleWithoutDependencies;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.Test;
+
+import static java.lang.System.lineSeparator;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ComponentMetricsTableTest {
+
+    @Test
+    public void contains_the_same_metrics_as_calculated_separately_no_matter_the_parallelism() {
+        MetricsComponents<JavaClass> components = importTestGraph();
+        ComponentDependencyMetrics dependencyMetrics = ArchitectureMetrics.componentDependencyMetrics(components);
+        VisibilityMetrics visibilityMetrics = ArchitectureMetrics.visibilityMetrics(components);
+
+        for (int parallelism : new int[]{1, 3}) {
+            ComponentMetricsTable table = ArchitectureMetrics.componentMetricsTable(components, parallelism);
+
+            assertThat(table.getRows()).hasSameSizeAs(components);
+            for (MetricsComponent<JavaClass> component : components) {
+                String identifier = component.getIdentifier();
+                Row row = table.getRow(identifier);
+                assertThat(row.getComponentIdentifier()).isEqualTo(identifier);
+                assertThat(row.getEfferentCoupling()).as("Ce of " + identifier).isEqualTo(dependencyMetrics.getEfferentCoupling(identifier));
+                assertThat(row.getAfferentCoupling()).as("Ca of " + identifier).isEqualTo(dependencyMetrics.getAfferentCoupling(identifier));
+                assertThat(row.getInstability()).as("I of " + identifier).isEqualTo(dependencyMetrics.getInstability(identifier));
+                assertThat(row.getAbstractness()).as("A of " + identifier).isEqualTo(dependencyMetrics.getAbstractness(identifier));
+                assertThat(row.getNormalizedDistanceFromMainSequence()).as("D of " + identifier)
+                        .isEqualTo(dependencyMetrics.getNormalizedDistanceFromMainSequence(identifier));
+                assertThat(row.getRelativeVisibility()).as("RV of " + identifier).isEqualTo(visibilityMetrics.getRelativeVisibility(identifier));
+            }
+        }
+    }
+
+    @Test
+    public void exports_csv_and_json() {
+        JavaPackage javaPackage = new ClassFileImporter().importPackagesOf(SimpleWithoutDependencies.class).get(SimpleWithoutDependencies.class).getPackage();
+        MetricsComponents<JavaClass> components = MetricsComponents.fromPackages(singleton(javaPackage));
+
+        ComponentMetricsTable table = ArchitectureMetrics.componentMetricsTable(components, 1);
+
+        assertThat(table.toCsv()).isEqualTo(
+                "component,efferentCoupling,afferentCoupling,instability,abstractness,normalizedDistanceFromMainSequence,relativeVisibility" + lineSeparator()
+                        + javaPackage.getName() + ",0,0,1.0,0.0,0.0,1.0" + lineSeparator());
+        assertThat(table.toJson()).isEqualTo("[" + lineSeparator()
+                + "  {\"component\": \"" + javaPackage.getName() + "\", \"efferentCoupling\": 0, \"afferentCoupling\": 0, \"instability\": 1.0, "
+                + "\"abstractness\": 0.0, \"normalizedDistanceFromMainSequence\": 0.0, \"relativeVisibility\": 1.0}" + lineSeparator()
+                + "]");
+    }
+
+    @Test
+    public void escapes_special_characters_of_component_identifiers() {
+        ComponentMetricsTable table = ArchitectureMetrics.componentMetricsTable(MetricsComponents.of(
+                MetricsComponent.<JavaClass>of("with,comma"),
+                MetricsComponent.<JavaClass>of("with\"quote"),
+                MetricsComponent.<JavaClass>of("with\rcarriage return")));
+
+        assertThat(table.toCsv())
+                .contains(lineSeparator() + "\"with,comma\",")
+                .contains(lineSeparator() + "\"with\"\"quote\",")
+                .contains(lineSeparator() + "\"with\rcarriage return\",");
+        assertThat(table.toJson())
+                .contains("\"with\\\"quote\"")
+                .contains("\"with\\u000dcarriage return\"");
+    }
+
+    @Test
+    public void rejects_requesting_row_of_unknown_component() {
+        final ComponentMetricsTable table = ArchitectureMetrics.componentMetricsTable(MetricsComponents.<JavaClass>of());
+
+        assertThat(table.toJson()).isEqualTo("[]");
+        assertThatThrownBy(new ThrowingCallable() {
+            @Override
+            public void call() {
+                table.getRow("unknown");
+            }
+        }).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown");
+    }
+
+    private MetricsComponents<JavaClass> importTestGraph() {
+        String graphPackage = getClass().getPackage().getName() + ".testobjects.componentdependency.graph";
+        Set<JavaPackage> packages = new ClassFileImporter().importPackages(graphPackage).getPackage(graphPackage).getSubpackages();
+        return MetricsComponents.fromPackages(packages);
+    }
+}